@@ -0,0 +1,43 @@
+package com.martikan.employeeapi.benchmark;
+
+import com.martikan.employeeapi.domain.Employee;
+import com.martikan.employeeapi.dto.EmployeeDTO;
+
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.IntStream;
+
+/**
+ * Deterministic rows shaped like production data, so runs of different builds are comparable.
+ */
+final class BenchmarkData {
+
+    private BenchmarkData() {
+    }
+
+    static List<Employee> employees(final int count) {
+        return IntStream.range(0, count)
+            .mapToObj(i -> {
+                final var employee = new Employee();
+                employee.setId(new UUID(i, i));
+                employee.setEmail("firstname.lastname" + i + "@example.com");
+                employee.setFirstName("Firstname" + i);
+                employee.setLastName("Lastname" + i);
+                employee.setVersion(i % 5);
+                return employee;
+            })
+            .toList();
+    }
+
+    static List<EmployeeDTO> dtos(final int count) {
+        return IntStream.range(0, count)
+            .mapToObj(i -> EmployeeDTO.builder()
+                .id(new UUID(i, i))
+                .email("firstname.lastname" + i + "@example.com")
+                .firstName("Firstname" + i)
+                .lastName("Lastname" + i)
+                .version((long) (i % 5))
+                .build())
+            .toList();
+    }
+}
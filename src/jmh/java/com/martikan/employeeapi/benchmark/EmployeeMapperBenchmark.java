@@ -0,0 +1,64 @@
+package com.martikan.employeeapi.benchmark;
+
+import com.martikan.employeeapi.domain.Employee;
+import com.martikan.employeeapi.dto.EmployeeDTO;
+import com.martikan.employeeapi.mapper.EmployeeMapper;
+import com.martikan.employeeapi.mapper.EmployeeMapperImpl;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+
+/**
+ * MapStruct mapping of a page of employees, as done for every list response and write.
+ */
+@BenchmarkMode(Mode.Throughput)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class EmployeeMapperBenchmark {
+
+    @Param({"20", "100", "1000"})
+    private int pageSize;
+
+    private final EmployeeMapper mapper = new EmployeeMapperImpl();
+
+    private List<Employee> employees;
+
+    private List<EmployeeDTO> dtos;
+
+    @Setup
+    public void setup() {
+        employees = BenchmarkData.employees(pageSize);
+        dtos = BenchmarkData.dtos(pageSize);
+    }
+
+    @Benchmark
+    public List<EmployeeDTO> toDTO() {
+        return employees.stream().map(mapper::toDTO).toList();
+    }
+
+    @Benchmark
+    public List<Employee> toEntity() {
+        return dtos.stream().map(mapper::toEntity).toList();
+    }
+
+    // Writes the same values on every invocation, so the managed-entity shape of an update is kept.
+    @Benchmark
+    public List<Employee> updateEntity() {
+        for (int i = 0; i < pageSize; i++) {
+            mapper.updateEntity(dtos.get(i), employees.get(i));
+        }
+        return employees;
+    }
+
+}
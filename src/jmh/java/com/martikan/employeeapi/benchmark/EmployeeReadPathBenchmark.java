@@ -0,0 +1,112 @@
+package com.martikan.employeeapi.benchmark;
+
+import com.martikan.employeeapi.EmployeeApiApplication;
+import com.martikan.employeeapi.dto.EmployeeDTO;
+import com.martikan.employeeapi.mapper.EmployeeMapper;
+import com.martikan.employeeapi.repository.EmployeeRepository;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Entity-then-MapStruct reads compared to DTO constructor projections, on an in-memory H2 database so the
+ * difference is not drowned in network latency. Compare the gc.alloc.rate.norm columns for the heap saved.
+ */
+@BenchmarkMode(Mode.Throughput)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class EmployeeReadPathBenchmark {
+
+    private static final int ROWS = 10_000;
+
+    @Param({"20", "100", "1000"})
+    private int pageSize;
+
+    private ConfigurableApplicationContext context;
+
+    private EmployeeRepository repository;
+
+    private EmployeeMapper mapper;
+
+    private TransactionTemplate readOnly;
+
+    private UUID id;
+
+    @Setup
+    public void setup() {
+        context = new SpringApplicationBuilder(EmployeeApiApplication.class)
+            .web(WebApplicationType.NONE)
+            .properties(
+                "spring.datasource.url=jdbc:h2:mem:read-path;MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE",
+                "spring.datasource.username=sa",
+                "spring.datasource.password=",
+                "spring.jpa.hibernate.ddl-auto=create-drop",
+                // Both paths must reach the database, not the query cache
+                "spring.jpa.properties.hibernate.cache.use_second_level_cache=false",
+                "spring.jpa.properties.hibernate.cache.use_query_cache=false",
+                "logging.level.root=WARN")
+            .run();
+        repository = context.getBean(EmployeeRepository.class);
+        mapper = context.getBean(EmployeeMapper.class);
+        readOnly = new TransactionTemplate(context.getBean(PlatformTransactionManager.class));
+        readOnly.setReadOnly(true);
+        final var employees = BenchmarkData.employees(ROWS);
+        context.getBean(JdbcTemplate.class).batchUpdate(
+            "insert into employees (id, email, first_name, last_name, version) values (?, ?, ?, ?, ?)",
+            employees.stream()
+                .map(e -> new Object[] {e.getId(), e.getEmail(), e.getFirstName(), e.getLastName(), e.getVersion()})
+                .toList());
+        id = employees.get(ROWS / 2).getId();
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public List<EmployeeDTO> pageThroughEntities() {
+        return readOnly.execute(status -> {
+            try (var employees = repository.findAllEmployee(PageRequest.of(0, pageSize))) {
+                return employees.map(mapper::toDTO).toList();
+            }
+        });
+    }
+
+    @Benchmark
+    public List<EmployeeDTO> pageThroughProjection() {
+        return readOnly.execute(status -> repository.findAllEmployeeDTO(PageRequest.of(0, pageSize)));
+    }
+
+    @Benchmark
+    public Optional<EmployeeDTO> byIdThroughEntity() {
+        return readOnly.execute(status -> repository.findById(id).map(mapper::toDTO));
+    }
+
+    @Benchmark
+    public Optional<EmployeeDTO> byIdThroughProjection() {
+        return readOnly.execute(status -> repository.findEmployeeDTOById(id));
+    }
+
+}
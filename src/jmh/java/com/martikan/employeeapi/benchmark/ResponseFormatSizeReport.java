@@ -0,0 +1,47 @@
+package com.martikan.employeeapi.benchmark;
+
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Writes the encoded size of the pages of {@link ResponseFormatBenchmark} for each of its parameter combinations to
+ * the file given as the only argument, next to the times reported by JMH. Run by the jmh profile.
+ */
+public final class ResponseFormatSizeReport {
+
+    // The parameters of ResponseFormatBenchmark.
+    private static final List<Integer> PAGE_SIZES = List.of(20, 100, 1000);
+
+    private static final List<String> FORMATS = List.of("json", "cbor", "smile");
+
+    private ResponseFormatSizeReport() {
+    }
+
+    public static void main(final String[] args) throws IOException {
+        final var sizes = new ArrayList<Map<String, Object>>();
+        for (final var pageSize : PAGE_SIZES) {
+            final var page = BenchmarkData.dtos(pageSize);
+            for (final var format : FORMATS) {
+                final var objectMapper = ResponseFormatBenchmark.objectMapper(format);
+                for (final var gzip : List.of(false, true)) {
+                    final var size = new LinkedHashMap<String, Object>();
+                    size.put("pageSize", pageSize);
+                    size.put("format", format);
+                    size.put("gzip", gzip);
+                    size.put("bytes", ResponseFormatBenchmark.serialize(objectMapper, page, gzip).length);
+                    sizes.add(size);
+                }
+            }
+        }
+        final var file = Path.of(args[0]);
+        Files.createDirectories(file.toAbsolutePath().getParent());
+        Jackson2ObjectMapperBuilder.json().build().writerWithDefaultPrettyPrinter().writeValue(file.toFile(), sizes);
+    }
+}
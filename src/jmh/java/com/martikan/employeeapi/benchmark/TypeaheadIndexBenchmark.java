@@ -0,0 +1,65 @@
+package com.martikan.employeeapi.benchmark;
+
+import com.github.javafaker.Faker;
+import com.martikan.employeeapi.common.TypeaheadIndex;
+import com.martikan.employeeapi.dto.EmployeeDTO;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.Locale;
+import java.util.Random;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Typeahead lookups as sent by the people picker on every keystroke, from a short and unselective prefix to
+ * a first and last name pair.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class TypeaheadIndexBenchmark {
+
+    @Param({"100000"})
+    private int employees;
+
+    @Param({"j", "joh", "john sm", "zzz"})
+    private String query;
+
+    private final TypeaheadIndex index = new TypeaheadIndex();
+
+    @Setup
+    public void setup() {
+        final var faker = new Faker(Locale.ENGLISH, new Random(42));
+        for (int i = 0; i < employees; i++) {
+            final var firstName = faker.name().firstName();
+            final var lastName = faker.name().lastName();
+            index.put(EmployeeDTO.builder()
+                .id(new UUID(i, i))
+                .email((firstName + "." + lastName + i + "@example.com").toLowerCase(Locale.ROOT))
+                .firstName(firstName)
+                .lastName(lastName)
+                .version(0L)
+                .build());
+        }
+    }
+
+    @Benchmark
+    public List<EmployeeDTO> suggest() {
+        return index.suggest(query, 10);
+    }
+
+}
@@ -0,0 +1,166 @@
+package com.martikan.employeeapi.common;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.LongSupplier;
+
+/**
+ * Concurrency limit that follows the latency of the calls it admits, after the gradient algorithm of Netflix'
+ * concurrency-limits.
+ * <p>
+ * Latencies are averaged over short windows and compared with their long-term average. While they stay close,
+ * the limit grows by about its square root per window, the queue a healthy backend absorbs. Once they rise, the
+ * limit shrinks in proportion, down to half per window, so calls beyond what the backend currently sustains are
+ * rejected right away instead of queueing for a connection until they time out. The limit only grows when the
+ * calls in flight actually came close to it.
+ * <p>
+ * The limit, the calls in flight and the rejected calls are exported as {@code concurrency.limit},
+ * {@code concurrency.in.flight} and {@code concurrency.rejected}, tagged with the name of the limit.
+ */
+public final class AdaptiveConcurrencyLimit {
+
+    private static final long WINDOW_NANOS = TimeUnit.MILLISECONDS.toNanos(100);
+
+    // Fewer samples carry the window over, a few slow calls alone say nothing about the backend.
+    private static final int MIN_WINDOW_SAMPLES = 10;
+
+    // Number of windows the long-term latency is averaged over.
+    private static final double LONG_WINDOWS = 100;
+
+    // Latency may rise by this factor over its long-term average before the limit shrinks.
+    private static final double TOLERANCE = 1.5;
+
+    private static final double SMOOTHING = 0.2;
+
+    private final int minLimit;
+
+    private final int maxLimit;
+
+    private final LongSupplier nanoClock;
+
+    private final AtomicInteger inFlight = new AtomicInteger();
+
+    private final AtomicInteger peakInFlight = new AtomicInteger();
+
+    private final LongAdder windowRttNanos = new LongAdder();
+
+    private final LongAdder windowSamples = new LongAdder();
+
+    private final ReentrantLock updateLock = new ReentrantLock();
+
+    private final Counter rejected;
+
+    private volatile int limit;
+
+    private volatile long windowEnd;
+
+    // Guarded by the update lock.
+    private double estimatedLimit;
+
+    // Guarded by the update lock, zero until the first window.
+    private double longRttNanos;
+
+    public AdaptiveConcurrencyLimit(final String name, final int initialLimit, final int minLimit, final int maxLimit,
+                                    final MeterRegistry registry) {
+        this(name, initialLimit, minLimit, maxLimit, registry, System::nanoTime);
+    }
+
+    AdaptiveConcurrencyLimit(final String name, final int initialLimit, final int minLimit, final int maxLimit,
+                             final MeterRegistry registry, final LongSupplier nanoClock) {
+        if (minLimit < 1 || minLimit > initialLimit || initialLimit > maxLimit) {
+            throw new IllegalArgumentException("Limits must satisfy 1 <= min <= initial <= max");
+        }
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.nanoClock = nanoClock;
+        limit = initialLimit;
+        estimatedLimit = initialLimit;
+        windowEnd = nanoClock.getAsLong() + WINDOW_NANOS;
+        Gauge.builder("concurrency.limit", this, AdaptiveConcurrencyLimit::getLimit)
+            .description("Current adaptive concurrency limit")
+            .tag("name", name)
+            .register(registry);
+        Gauge.builder("concurrency.in.flight", this, AdaptiveConcurrencyLimit::getInFlight)
+            .description("Calls currently admitted by the concurrency limit")
+            .tag("name", name)
+            .register(registry);
+        rejected = Counter.builder("concurrency.rejected")
+            .description("Calls rejected by the concurrency limit")
+            .tag("name", name)
+            .register(registry);
+    }
+
+    /**
+     * Admits a call unless the limit has been reached. An admitted call must be followed by {@link #release(long)}.
+     */
+    public boolean tryAcquire() {
+        while (true) {
+            final var current = inFlight.get();
+            if (current >= limit) {
+                rejected.increment();
+                return false;
+            } else if (inFlight.compareAndSet(current, current + 1)) {
+                peakInFlight.accumulateAndGet(current + 1, Math::max);
+                return true;
+            }
+        }
+    }
+
+    public void release(final long rttNanos) {
+        inFlight.decrementAndGet();
+        windowRttNanos.add(rttNanos);
+        windowSamples.increment();
+        final var now = nanoClock.getAsLong();
+        // Whoever finishes a window first updates the limit, the others do not wait for it.
+        if (now - windowEnd >= 0 && updateLock.tryLock()) {
+            try {
+                if (now - windowEnd >= 0) {
+                    update();
+                    windowEnd = now + WINDOW_NANOS;
+                }
+            } finally {
+                updateLock.unlock();
+            }
+        }
+    }
+
+    public int getLimit() {
+        return limit;
+    }
+
+    public int getInFlight() {
+        return inFlight.get();
+    }
+
+    private void update() {
+        final var samples = windowSamples.sumThenReset();
+        final var rttNanos = windowRttNanos.sumThenReset();
+        if (samples < MIN_WINDOW_SAMPLES) {
+            windowSamples.add(samples);
+            windowRttNanos.add(rttNanos);
+            return;
+        }
+        final var peak = peakInFlight.getAndSet(inFlight.get());
+        final var shortRtt = (double) rttNanos / samples;
+        longRttNanos = longRttNanos == 0 ? shortRtt : longRttNanos + (shortRtt - longRttNanos) / LONG_WINDOWS;
+        // After a long overload the average has drifted up, let it catch up with recovered latencies faster.
+        if (longRttNanos / shortRtt > 2) {
+            longRttNanos *= 0.95;
+        }
+        // With few calls in flight the latency tells nothing about a higher limit.
+        if (peak < estimatedLimit / 2) {
+            return;
+        }
+        final var gradient = Math.max(0.5, Math.min(1.0, TOLERANCE * longRttNanos / shortRtt));
+        final var newLimit = estimatedLimit * gradient + Math.sqrt(estimatedLimit);
+        estimatedLimit = Math.max(minLimit, Math.min(maxLimit,
+            estimatedLimit * (1 - SMOOTHING) + newLimit * SMOOTHING));
+        limit = (int) estimatedLimit;
+    }
+}
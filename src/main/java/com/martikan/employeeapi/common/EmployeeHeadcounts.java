@@ -0,0 +1,89 @@
+package com.martikan.employeeapi.common;
+
+import com.martikan.employeeapi.dto.EmployeeDTO;
+
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Headcounts in total, by email domain and by the initial of the last name, kept up to date by adding and
+ * removing single employees, so reading them never touches the employees themselves. Groups are keyed the way
+ * the database computes them in {@code EmployeeRepository#countByEmailDomainAndLastNameInitial}, so counts
+ * loaded from there and counts maintained here agree.
+ */
+public final class EmployeeHeadcounts {
+
+    private final LongAdder total = new LongAdder();
+
+    private final ConcurrentHashMap<String, Long> byEmailDomain = new ConcurrentHashMap<>();
+
+    private final ConcurrentHashMap<String, Long> byLastNameInitial = new ConcurrentHashMap<>();
+
+    public void add(final EmployeeDTO employee) {
+        add(emailDomain(employee.getEmail()), lastNameInitial(employee.getLastName()), 1);
+    }
+
+    public void remove(final EmployeeDTO employee) {
+        add(emailDomain(employee.getEmail()), lastNameInitial(employee.getLastName()), -1);
+    }
+
+    public void add(final String emailDomain, final String lastNameInitial, final long count) {
+        total.add(count);
+        adjust(byEmailDomain, emailDomain, count);
+        adjust(byLastNameInitial, lastNameInitial, count);
+    }
+
+    public long getTotal() {
+        return total.sum();
+    }
+
+    public Map<String, Long> getByEmailDomain() {
+        return new TreeMap<>(byEmailDomain);
+    }
+
+    public Map<String, Long> getByLastNameInitial() {
+        return new TreeMap<>(byLastNameInitial);
+    }
+
+    /**
+     * Sum of the absolute differences between the groups of both, counting the total as one group.
+     */
+    public long distance(final EmployeeHeadcounts other) {
+        return Math.abs(getTotal() - other.getTotal())
+            + distance(byEmailDomain, other.byEmailDomain)
+            + distance(byLastNameInitial, other.byLastNameInitial);
+    }
+
+    // Lower-cased part after the first @, the whole email if there is none.
+    public static String emailDomain(final String email) {
+        return email.substring(email.indexOf('@') + 1).toLowerCase(Locale.ROOT);
+    }
+
+    public static String lastNameInitial(final String lastName) {
+        return lastName.isEmpty() ? "" : lastName.substring(0, 1).toUpperCase(Locale.ROOT);
+    }
+
+    // Groups are dropped once empty, so the maps only hold groups that have employees.
+    private static void adjust(final ConcurrentHashMap<String, Long> counts, final String group, final long delta) {
+        counts.compute(group, (key, count) -> {
+            final var adjusted = (count == null ? 0 : count) + delta;
+            return adjusted == 0 ? null : adjusted;
+        });
+    }
+
+    private static long distance(final Map<String, Long> counts, final Map<String, Long> others) {
+        var distance = 0L;
+        for (final var entry : counts.entrySet()) {
+            distance += Math.abs(entry.getValue() - others.getOrDefault(entry.getKey(), 0L));
+        }
+        for (final var entry : others.entrySet()) {
+            if (!counts.containsKey(entry.getKey())) {
+                distance += Math.abs(entry.getValue());
+            }
+        }
+        return distance;
+    }
+}
@@ -0,0 +1,79 @@
+package com.martikan.employeeapi.common;
+
+import com.martikan.employeeapi.exception.BadRequestException;
+
+import java.nio.ByteBuffer;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.UUID;
+
+/**
+ * Encodes and decodes the opaque cursors used by keyset pagination.
+ * A cursor is the URL-safe base64 form of the last seen sort key, the id or, for delta sync, the time of the
+ * change and the id.
+ */
+public final class KeysetCursor {
+
+    private static final Base64.Encoder ENCODER = Base64.getUrlEncoder().withoutPadding();
+
+    private static final Base64.Decoder DECODER = Base64.getUrlDecoder();
+
+    private KeysetCursor() {
+    }
+
+    /**
+     * Position in the changes ordered by time and id.
+     */
+    public record Position(Instant changedAt, UUID id) {
+    }
+
+    public static String encode(final UUID id) {
+        final var buffer = ByteBuffer.allocate(16)
+            .putLong(id.getMostSignificantBits())
+            .putLong(id.getLeastSignificantBits());
+        return ENCODER.encodeToString(buffer.array());
+    }
+
+    public static UUID decode(final String cursor) {
+        final byte[] bytes;
+        try {
+            bytes = DECODER.decode(cursor);
+        } catch (IllegalArgumentException e) {
+            throw new BadRequestException("Invalid cursor");
+        }
+        if (bytes.length != 16) {
+            throw new BadRequestException("Invalid cursor");
+        }
+        final var buffer = ByteBuffer.wrap(bytes);
+        return new UUID(buffer.getLong(), buffer.getLong());
+    }
+
+    public static String encode(final Position position) {
+        final var buffer = ByteBuffer.allocate(28)
+            .putLong(position.changedAt().getEpochSecond())
+            .putInt(position.changedAt().getNano())
+            .putLong(position.id().getMostSignificantBits())
+            .putLong(position.id().getLeastSignificantBits());
+        return ENCODER.encodeToString(buffer.array());
+    }
+
+    public static Position decodePosition(final String cursor) {
+        final byte[] bytes;
+        try {
+            bytes = DECODER.decode(cursor);
+        } catch (IllegalArgumentException e) {
+            throw new BadRequestException("Invalid cursor");
+        }
+        if (bytes.length != 28) {
+            throw new BadRequestException("Invalid cursor");
+        }
+        final var buffer = ByteBuffer.wrap(bytes);
+        final var seconds = buffer.getLong();
+        final var nanos = buffer.getInt();
+        if (seconds < Instant.MIN.getEpochSecond() || seconds > Instant.MAX.getEpochSecond()
+            || nanos < 0 || nanos > 999_999_999) {
+            throw new BadRequestException("Invalid cursor");
+        }
+        return new Position(Instant.ofEpochSecond(seconds, nanos), new UUID(buffer.getLong(), buffer.getLong()));
+    }
+}
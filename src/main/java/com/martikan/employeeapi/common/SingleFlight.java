@@ -0,0 +1,86 @@
+package com.martikan.employeeapi.common;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * Coalesces concurrent calls with the same key: the first caller runs the loader on its own thread and every
+ * caller arriving while it runs waits for and shares its result, or its exception. Nothing is kept once the
+ * loader has finished, a later call runs the loader again.
+ * <p>
+ * Callers receive the same instance, so the shared result must not be modified. Calls are counted in
+ * {@code single.flight.calls} and the ones that did not run the loader in {@code single.flight.coalesced}.
+ */
+public final class SingleFlight<K, V> {
+
+    private final ConcurrentHashMap<K, CompletableFuture<V>> inFlight = new ConcurrentHashMap<>();
+
+    private final Counter calls;
+
+    private final Counter coalesced;
+
+    public SingleFlight(final String name, final MeterRegistry registry) {
+        calls = Counter.builder("single.flight.calls")
+            .description("Calls made through a single-flight group")
+            .tag("name", name)
+            .register(registry);
+        coalesced = Counter.builder("single.flight.coalesced")
+            .description("Calls that shared the result of an identical call already in flight")
+            .tag("name", name)
+            .register(registry);
+    }
+
+    public V execute(final K key, final Supplier<V> loader) {
+        calls.increment();
+        final var future = new CompletableFuture<V>();
+        final var existing = inFlight.putIfAbsent(key, future);
+        if (existing != null) {
+            coalesced.increment();
+            return await(existing);
+        }
+        try {
+            final var value = loader.get();
+            future.complete(value);
+            return value;
+        } catch (RuntimeException | Error e) {
+            future.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(key, future);
+        }
+    }
+
+    /**
+     * Lets the calls from now on run the loader again instead of sharing the one in flight for the key, e.g. as it
+     * started before a write it would miss. Callers already waiting for it still get its result.
+     */
+    public void forget(final K key) {
+        inFlight.remove(key);
+    }
+
+    /**
+     * {@link #forget(Object)} for every key.
+     */
+    public void forgetAll() {
+        inFlight.clear();
+    }
+
+    // Rethrows the exception of the loader as is, so e.g. a NotFoundException still maps to 404 for every caller.
+    private static <V> V await(final CompletableFuture<V> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            } else if (e.getCause() instanceof Error cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+}
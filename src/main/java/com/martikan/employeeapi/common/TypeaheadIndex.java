@@ -0,0 +1,205 @@
+package com.martikan.employeeapi.common;
+
+import com.martikan.employeeapi.dto.EmployeeDTO;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.NavigableMap;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+/**
+ * In-memory prefix index over the first name, last name and email of employees, for typeahead lookups.
+ * <p>
+ * Lower-cased terms are kept in a sorted skip list, so all terms starting with a prefix form one contiguous range
+ * that is found in O(log n) and walked in alphabetical order. Every term maps to the array of employees sharing
+ * it, so a common first name costs one entry however many employees have it; in exchange a write copies the
+ * arrays of its terms, O(k) for a term of k employees. A whole table is therefore loaded through
+ * {@link #of(Stream)}, which allocates every array once. Reads take no locks. Writes of the same employee are serialized by its id, a reader racing
+ * with an update may briefly see the employee under its old terms.
+ */
+public final class TypeaheadIndex {
+
+    // Bounds the work of queries whose other words filter out most of the candidates of the scanned prefix.
+    static final int MAX_SCANNED = 10_000;
+
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+
+    private final ConcurrentSkipListMap<String, EmployeeDTO[]> terms = new ConcurrentSkipListMap<>();
+
+    private final ConcurrentHashMap<UUID, EmployeeDTO> employees = new ConcurrentHashMap<>();
+
+    /**
+     * Builds the index of the employees in one pass, instead of copying the array of a term for each of its k
+     * employees, O(k²) for a common name. The ids must be unique, as read from the table.
+     */
+    public static TypeaheadIndex of(final Stream<EmployeeDTO> employees) {
+        final var index = new TypeaheadIndex();
+        final var grouped = new HashMap<String, List<EmployeeDTO>>();
+        employees.forEach(employee -> {
+            index.employees.put(employee.getId(), employee);
+            for (final var term : termsOf(employee)) {
+                grouped.computeIfAbsent(term, t -> new ArrayList<>(1)).add(employee);
+            }
+        });
+        grouped.forEach((term, entries) -> index.terms.put(term, entries.toArray(EmployeeDTO[]::new)));
+        return index;
+    }
+
+    /**
+     * Adds the employee or replaces the previous state of the employee with the same id, unless that has a newer
+     * version.
+     */
+    public void put(final EmployeeDTO employee) {
+        employees.compute(employee.getId(), (id, previous) -> {
+            if (previous != null && isNewer(previous, employee)) {
+                return previous;
+            }
+            if (previous != null) {
+                for (final var term : termsOf(previous)) {
+                    terms.computeIfPresent(term, (t, entries) -> without(entries, id));
+                }
+            }
+            for (final var term : termsOf(employee)) {
+                terms.merge(term, new EmployeeDTO[] {employee}, (entries, added) -> with(entries, employee));
+            }
+            return employee;
+        });
+    }
+
+    public void remove(final UUID id) {
+        employees.computeIfPresent(id, (key, previous) -> {
+            for (final var term : termsOf(previous)) {
+                terms.computeIfPresent(term, (t, entries) -> without(entries, id));
+            }
+            return null;
+        });
+    }
+
+    /**
+     * Returns up to {@code limit} employees matching every word of the query, ordered by the matched term.
+     * A word matches when the first name, last name or email of the employee starts with it, ignoring case.
+     */
+    public List<EmployeeDTO> suggest(final String query, final int limit) {
+        final var words = WHITESPACE.split(query.trim().toLowerCase(Locale.ROOT));
+        if (limit < 1 || words[0].isEmpty()) {
+            return List.of();
+        }
+        // Only the range of the word with the fewest employees is scanned, the other words filter its candidates.
+        var scanned = range(words[0]);
+        var fewest = words.length == 1 ? 0 : countUpTo(scanned, MAX_SCANNED);
+        for (int i = 1; i < words.length; i++) {
+            final var range = range(words[i]);
+            final var count = countUpTo(range, fewest);
+            if (count < fewest) {
+                scanned = range;
+                fewest = count;
+            }
+        }
+        final var suggestions = new ArrayList<EmployeeDTO>(limit);
+        var visited = 0;
+        for (final var entries : scanned.values()) {
+            for (final var employee : entries) {
+                if (++visited > MAX_SCANNED) {
+                    return suggestions;
+                }
+                if (matchesAll(employee, words) && !suggestions.contains(employee)) {
+                    suggestions.add(employee);
+                    if (suggestions.size() == limit) {
+                        return suggestions;
+                    }
+                }
+            }
+        }
+        return suggestions;
+    }
+
+    public int size() {
+        return employees.size();
+    }
+
+    private static boolean isNewer(final EmployeeDTO employee, final EmployeeDTO other) {
+        return employee.getVersion() != null && other.getVersion() != null
+            && employee.getVersion() > other.getVersion();
+    }
+
+    private NavigableMap<String, EmployeeDTO[]> range(final String prefix) {
+        return terms.subMap(prefix, prefix + Character.MAX_VALUE);
+    }
+
+    // Stops counting at the limit, so picking the narrowest range costs at most a few walks of it.
+    private static int countUpTo(final NavigableMap<String, EmployeeDTO[]> range, final int limit) {
+        var count = 0;
+        for (final var entries : range.values()) {
+            count += entries.length;
+            if (count >= limit) {
+                return limit;
+            }
+        }
+        return count;
+    }
+
+    private static boolean matchesAll(final EmployeeDTO employee, final String[] words) {
+        for (final var word : words) {
+            if (!startsWithIgnoreCase(employee.getFirstName(), word)
+                && !startsWithIgnoreCase(employee.getLastName(), word)
+                && !startsWithIgnoreCase(employee.getEmail(), word)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean startsWithIgnoreCase(final String value, final String prefix) {
+        return value != null && value.regionMatches(true, 0, prefix, 0, prefix.length());
+    }
+
+    private static List<String> termsOf(final EmployeeDTO employee) {
+        final var result = new ArrayList<String>(3);
+        for (final var value : new String[] {employee.getFirstName(), employee.getLastName(), employee.getEmail()}) {
+            if (value != null && !value.isEmpty()) {
+                // toLowerCase returns the same instance when nothing changes, so lower-case emails are not copied.
+                final var term = value.toLowerCase(Locale.ROOT);
+                if (!result.contains(term)) {
+                    result.add(term);
+                }
+            }
+        }
+        return result;
+    }
+
+    private static EmployeeDTO[] with(final EmployeeDTO[] entries, final EmployeeDTO employee) {
+        for (int i = 0; i < entries.length; i++) {
+            if (entries[i].getId().equals(employee.getId())) {
+                final var result = entries.clone();
+                result[i] = employee;
+                return result;
+            }
+        }
+        final var result = Arrays.copyOf(entries, entries.length + 1);
+        result[entries.length] = employee;
+        return result;
+    }
+
+    private static EmployeeDTO[] without(final EmployeeDTO[] entries, final UUID id) {
+        for (int i = 0; i < entries.length; i++) {
+            if (entries[i].getId().equals(id)) {
+                if (entries.length == 1) {
+                    // Removes the term from the index.
+                    return null;
+                }
+                final var result = new EmployeeDTO[entries.length - 1];
+                System.arraycopy(entries, 0, result, 0, i);
+                System.arraycopy(entries, i + 1, result, i, entries.length - i - 1);
+                return result;
+            }
+        }
+        return entries;
+    }
+}
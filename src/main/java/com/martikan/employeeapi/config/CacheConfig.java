@@ -0,0 +1,35 @@
+package com.martikan.employeeapi.config;
+
+import org.springframework.boot.autoconfigure.cache.CacheProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.cache.transaction.TransactionAwareCacheManagerProxy;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.List;
+
+@EnableCaching
+@EnableConfigurationProperties(CacheProperties.class)
+@Configuration
+public class CacheConfig {
+
+    public static final String EMPLOYEES_CACHE = "employees";
+
+    /**
+     * Caffeine caches configured by {@code spring.cache.caffeine.spec}. Puts and evictions made inside a
+     * transaction are applied once it commits, so a rolled back write never touches the cache and an eviction
+     * only happens when the new row is already visible to readers. A reader racing with a write can still cache
+     * the old row, the TTL of the spec bounds how long it is served.
+     */
+    @Bean
+    public CacheManager cacheManager(final CacheProperties cacheProperties) {
+        final var caffeineCacheManager = new CaffeineCacheManager();
+        caffeineCacheManager.setCacheSpecification(cacheProperties.getCaffeine().getSpec());
+        caffeineCacheManager.setCacheNames(List.of(EMPLOYEES_CACHE));
+        return new TransactionAwareCacheManagerProxy(caffeineCacheManager);
+    }
+
+}
@@ -0,0 +1,56 @@
+package com.martikan.employeeapi.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.martikan.employeeapi.service.EmployeeChangeFeed;
+import com.martikan.employeeapi.service.EmployeeDeltaSync;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+@EnableConfigurationProperties(ChangeFeedProperties.class)
+@Configuration
+public class ChangeFeedConfig {
+
+    /**
+     * Without a broker the feed only sees the writes of this instance and is left out unless
+     * {@code employee-api.change-feed.single-instance} is set.
+     */
+    @ConditionalOnExpression("!'${spring.kafka.bootstrap-servers:}'.isEmpty() "
+        + "or ${employee-api.change-feed.single-instance:false}")
+    @Bean
+    public EmployeeChangeFeed employeeChangeFeed(final ObjectMapper objectMapper,
+                                                 final EmployeeDeltaSync deltaSync,
+                                                 final ChangeFeedProperties properties,
+                                                 final MeterRegistry meterRegistry,
+                                                 final Environment environment) {
+        return new EmployeeChangeFeed(objectMapper, deltaSync, writers(properties, environment), properties,
+            meterRegistry);
+    }
+
+    // Subscribers are written to on threads of their own, a client that stops reading blocks a write until it
+    // times out, which must neither delay other subscribers nor the imports and reloads on the application task
+    // executor. Not a bean, which would replace the application task executor of Spring Boot.
+    private static TaskExecutor writers(final ChangeFeedProperties properties, final Environment environment) {
+        if (Threading.VIRTUAL.isActive(environment)) {
+            final var executor = new SimpleAsyncTaskExecutor("change-feed-");
+            executor.setVirtualThreads(true);
+            return executor;
+        }
+        final var executor = new ThreadPoolTaskExecutor();
+        executor.setThreadNamePrefix("change-feed-");
+        executor.setCorePoolSize(properties.getWriters());
+        executor.setMaxPoolSize(properties.getWriters());
+        executor.setQueueCapacity(properties.getWriterQueue());
+        // A write blocked by a stalled client does not hold up the shutdown.
+        executor.setDaemon(true);
+        executor.initialize();
+        return executor;
+    }
+}
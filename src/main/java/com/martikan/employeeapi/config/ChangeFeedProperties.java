@@ -0,0 +1,51 @@
+package com.martikan.employeeapi.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "employee-api.change-feed")
+public class ChangeFeedProperties {
+
+    /**
+     * Recent events kept for subscribers resuming with {@code Last-Event-ID}.
+     */
+    private int history = 10_000;
+
+    /**
+     * Events queued for a single subscriber before it is disconnected as too slow.
+     */
+    private int subscriberBuffer = 1_000;
+
+    /**
+     * Threads writing events to subscribers, each serving one subscriber at a time. With virtual threads enabled
+     * every subscriber gets a virtual thread of its own instead.
+     */
+    private int writers = 16;
+
+    /**
+     * Subscribers waiting for a writer, further ones are disconnected.
+     */
+    private int writerQueue = 10_000;
+
+    /**
+     * A subscriber whose write has been blocked for longer, e.g. because its client stopped reading, is
+     * disconnected with the next heartbeat.
+     */
+    private Duration writeTimeout = Duration.ofSeconds(10);
+
+    /**
+     * After this time a subscription is completed, EventSource clients reconnect and resume on their own.
+     */
+    private Duration timeout = Duration.ofMinutes(30);
+
+    /**
+     * Serves the feed without a broker. It then only carries the writes of its own instance, subscribers of one
+     * instance would miss the writes made on the others.
+     */
+    private boolean singleInstance;
+}
@@ -0,0 +1,45 @@
+package com.martikan.employeeapi.config;
+
+import com.martikan.employeeapi.Routes;
+import com.martikan.employeeapi.common.AdaptiveConcurrencyLimit;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+/**
+ * Sheds load on the employee endpoints once the database slows down, see {@link AdaptiveConcurrencyLimit}.
+ * Exports, imports and the change feed are left out, they run for minutes and would skew the latencies of the
+ * read and write budgets, and so are autocomplete and stats, which are served from memory.
+ */
+@RequiredArgsConstructor
+@EnableConfigurationProperties(ConcurrencyLimitProperties.class)
+@ConditionalOnProperty(prefix = "employee-api.concurrency-limit", name = "enabled", matchIfMissing = true)
+@Configuration
+public class ConcurrencyLimitConfig implements WebMvcConfigurer {
+
+    private final ConcurrencyLimitProperties properties;
+
+    private final MeterRegistry meterRegistry;
+
+    @Override
+    public void addInterceptors(final InterceptorRegistry registry) {
+        final var interceptor = new ConcurrencyLimitInterceptor(
+            limit("employee-reads", properties.getReads()),
+            limit("employee-writes", properties.getWrites()),
+            properties.getRetryAfter());
+        registry.addInterceptor(interceptor)
+            .addPathPatterns(Routes.EMPLOYEE_ROUTE_V1, Routes.EMPLOYEE_ROUTE_V1 + "/**")
+            .excludePathPatterns(Routes.EMPLOYEE_ROUTE_V1 + "/export", Routes.EMPLOYEE_ROUTE_V1 + "/import/**",
+                Routes.EMPLOYEE_ROUTE_V1 + "/import", Routes.EMPLOYEE_ROUTE_V1 + "/autocomplete",
+                Routes.EMPLOYEE_ROUTE_V1 + "/stats", Routes.EMPLOYEE_ROUTE_V1 + "/changes");
+    }
+
+    private AdaptiveConcurrencyLimit limit(final String name, final ConcurrencyLimitProperties.Budget budget) {
+        return new AdaptiveConcurrencyLimit(name, budget.getInitialLimit(), budget.getMinLimit(),
+            budget.getMaxLimit(), meterRegistry);
+    }
+}
@@ -0,0 +1,57 @@
+package com.martikan.employeeapi.config;
+
+import com.martikan.employeeapi.common.AdaptiveConcurrencyLimit;
+import com.martikan.employeeapi.exception.ServiceUnavailableException;
+import jakarta.servlet.DispatcherType;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpMethod;
+import org.springframework.web.servlet.AsyncHandlerInterceptor;
+
+import java.time.Duration;
+
+/**
+ * Admits requests through the read or the write {@link AdaptiveConcurrencyLimit} and rejects the rest with
+ * {@link ServiceUnavailableException} before they reach the controller. The permit is held until the response
+ * has been completed, including the async dispatch of a deferred response.
+ */
+@RequiredArgsConstructor
+public class ConcurrencyLimitInterceptor implements AsyncHandlerInterceptor {
+
+    private static final String PERMIT_ATTRIBUTE = ConcurrencyLimitInterceptor.class.getName() + ".permit";
+
+    private final AdaptiveConcurrencyLimit reads;
+
+    private final AdaptiveConcurrencyLimit writes;
+
+    private final Duration retryAfter;
+
+    @Override
+    public boolean preHandle(final HttpServletRequest request, final HttpServletResponse response,
+                             final Object handler) {
+        // The async dispatch of a deferred response still holds the permit of the initial one.
+        if (request.getDispatcherType() == DispatcherType.ASYNC) {
+            return true;
+        }
+        final var method = request.getMethod();
+        final var limit = HttpMethod.GET.matches(method) || HttpMethod.HEAD.matches(method) ? reads : writes;
+        if (!limit.tryAcquire()) {
+            throw new ServiceUnavailableException("Too many concurrent requests, please retry later", retryAfter);
+        }
+        request.setAttribute(PERMIT_ATTRIBUTE, new Permit(limit, System.nanoTime()));
+        return true;
+    }
+
+    @Override
+    public void afterCompletion(final HttpServletRequest request, final HttpServletResponse response,
+                                final Object handler, final Exception ex) {
+        if (request.getAttribute(PERMIT_ATTRIBUTE) instanceof Permit permit) {
+            request.removeAttribute(PERMIT_ATTRIBUTE);
+            permit.limit().release(System.nanoTime() - permit.startNanos());
+        }
+    }
+
+    private record Permit(AdaptiveConcurrencyLimit limit, long startNanos) {
+    }
+}
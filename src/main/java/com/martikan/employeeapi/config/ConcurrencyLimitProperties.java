@@ -0,0 +1,50 @@
+package com.martikan.employeeapi.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "employee-api.concurrency-limit")
+public class ConcurrencyLimitProperties {
+
+    private boolean enabled = true;
+
+    /**
+     * Budget of GET and HEAD requests.
+     */
+    private Budget reads = new Budget(50, 10, 200);
+
+    /**
+     * Budget of all other requests, kept apart so a burst of reads cannot starve writes and the other way round.
+     */
+    private Budget writes = new Budget(20, 5, 100);
+
+    /**
+     * Sent as {@code Retry-After} with rejected requests.
+     */
+    private Duration retryAfter = Duration.ofSeconds(1);
+
+    @Getter
+    @Setter
+    public static class Budget {
+
+        private int initialLimit;
+
+        private int minLimit;
+
+        private int maxLimit;
+
+        public Budget() {
+        }
+
+        Budget(final int initialLimit, final int minLimit, final int maxLimit) {
+            this.initialLimit = initialLimit;
+            this.minLimit = minLimit;
+            this.maxLimit = maxLimit;
+        }
+    }
+}
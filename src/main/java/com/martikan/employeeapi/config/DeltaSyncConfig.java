@@ -0,0 +1,22 @@
+package com.martikan.employeeapi.config;
+
+import com.martikan.employeeapi.mapper.EmployeeMapper;
+import com.martikan.employeeapi.repository.EmployeeRepository;
+import com.martikan.employeeapi.repository.EmployeeTombstoneRepository;
+import com.martikan.employeeapi.service.EmployeeDeltaSync;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@EnableConfigurationProperties(DeltaSyncProperties.class)
+@Configuration
+public class DeltaSyncConfig {
+
+    @Bean
+    public EmployeeDeltaSync employeeDeltaSync(final EmployeeRepository employeeRepository,
+                                               final EmployeeTombstoneRepository tombstoneRepository,
+                                               final EmployeeMapper mapper,
+                                               final DeltaSyncProperties properties) {
+        return new EmployeeDeltaSync(employeeRepository, tombstoneRepository, mapper, properties);
+    }
+}
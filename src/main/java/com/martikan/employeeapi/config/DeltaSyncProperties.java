@@ -0,0 +1,25 @@
+package com.martikan.employeeapi.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "employee-api.delta-sync")
+public class DeltaSyncProperties {
+
+    /**
+     * Changes younger than this are held back. Timestamps are taken before commit, so a transaction committing
+     * later than this after its change, or an instance whose clock is behind by more, could be skipped.
+     */
+    private Duration settleTime = Duration.ofSeconds(5);
+
+    /**
+     * Tombstones of deleted employees are kept this long. Clients that have not synced for longer get 410 Gone
+     * and have to reload the full list.
+     */
+    private Duration tombstoneRetention = Duration.ofDays(30);
+}
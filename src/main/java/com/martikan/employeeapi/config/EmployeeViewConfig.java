@@ -0,0 +1,82 @@
+package com.martikan.employeeapi.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.martikan.employeeapi.mapper.EmployeeMapper;
+import com.martikan.employeeapi.repository.EmployeeRepository;
+import com.martikan.employeeapi.repository.OutboxEventRepository;
+import com.martikan.employeeapi.repository.OutboxSnapshotRepository;
+import com.martikan.employeeapi.service.EmployeeChangedEvent;
+import com.martikan.employeeapi.service.EmployeeOutboxWriter;
+import com.martikan.employeeapi.service.EmployeeService;
+import com.martikan.employeeapi.service.EmployeeViewSnapshot;
+import com.martikan.employeeapi.service.EmployeeViewTopology;
+import com.martikan.employeeapi.service.MaterializedViewEmployeeService;
+import org.apache.kafka.streams.KafkaStreams;
+import org.apache.kafka.streams.StoreQueryParameters;
+import org.apache.kafka.streams.StreamsBuilder;
+import org.apache.kafka.streams.kstream.GlobalKTable;
+import org.apache.kafka.streams.state.QueryableStoreTypes;
+import org.apache.kafka.streams.state.ReadOnlyKeyValueStore;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.kafka.annotation.EnableKafkaStreams;
+import org.springframework.kafka.config.StreamsBuilderFactoryBean;
+import org.springframework.transaction.PlatformTransactionManager;
+
+/**
+ * Opt-in read mode serving employees from a Kafka Streams view of the change topic instead of the database, see
+ * {@link MaterializedViewEmployeeService}. It replaces the coalescing in front of the reads, the view answers
+ * them from memory and local disk. Needs the broker the outbox relays to, the topic is seeded from the employees
+ * table by {@link EmployeeViewSnapshot}.
+ */
+@EnableKafkaStreams
+@EnableConfigurationProperties(OutboxProperties.class)
+@ConditionalOnExpression("${employee-api.employee-view.enabled:false} "
+    + "and !'${spring.kafka.bootstrap-servers:}'.isEmpty()")
+@Configuration
+public class EmployeeViewConfig {
+
+    @Bean
+    public GlobalKTable<String, EmployeeChangedEvent> employeeView(final StreamsBuilder streamsBuilder,
+                                                                   final OutboxProperties outboxProperties,
+                                                                   final ObjectMapper objectMapper) {
+        return EmployeeViewTopology.addTo(streamsBuilder, outboxProperties.getTopic(), objectMapper);
+    }
+
+    @Bean
+    public EmployeeViewSnapshot employeeViewSnapshot(final EmployeeRepository employeeRepository,
+                                                     final OutboxEventRepository outboxEventRepository,
+                                                     final OutboxSnapshotRepository outboxSnapshotRepository,
+                                                     final EmployeeOutboxWriter outboxWriter,
+                                                     final EmployeeMapper mapper,
+                                                     final PlatformTransactionManager transactionManager,
+                                                     @Qualifier("applicationTaskExecutor")
+                                                     final TaskExecutor taskExecutor,
+                                                     final OutboxProperties outboxProperties) {
+        return new EmployeeViewSnapshot(employeeRepository, outboxEventRepository, outboxSnapshotRepository,
+            outboxWriter, mapper, transactionManager, taskExecutor, outboxProperties);
+    }
+
+    @Primary
+    @Bean
+    public EmployeeService materializedViewEmployeeService(
+        @Qualifier("employeeServiceImpl") final EmployeeService delegate,
+        final StreamsBuilderFactoryBean streamsBuilderFactoryBean,
+        final EmployeeViewSnapshot snapshot) {
+        return new MaterializedViewEmployeeService(delegate, () -> store(streamsBuilderFactoryBean.getKafkaStreams()),
+            snapshot::isCompleted);
+    }
+
+    private static ReadOnlyKeyValueStore<String, EmployeeChangedEvent> store(final KafkaStreams kafkaStreams) {
+        if (kafkaStreams == null || kafkaStreams.state() != KafkaStreams.State.RUNNING) {
+            return null;
+        }
+        return kafkaStreams.store(StoreQueryParameters.fromNameAndType(EmployeeViewTopology.STORE,
+            QueryableStoreTypes.keyValueStore()));
+    }
+}
@@ -0,0 +1,60 @@
+package com.martikan.employeeapi.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.martikan.employeeapi.repository.OutboxEventRepository;
+import com.martikan.employeeapi.service.EmployeeChangeConsumer;
+import com.martikan.employeeapi.service.EmployeeChangeListener;
+import com.martikan.employeeapi.service.EmployeeOutboxRelay;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.apache.kafka.clients.admin.NewTopic;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.kafka.config.TopicBuilder;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.List;
+
+/**
+ * Relays the outbox to Kafka once a broker is configured with {@code spring.kafka.bootstrap-servers}. Without one
+ * no events are written to the outbox either, see {@link com.martikan.employeeapi.service.EmployeeOutboxWriter}.
+ * Every instance also reads the change topic back, for the state it keeps in memory.
+ */
+@EnableConfigurationProperties(OutboxProperties.class)
+@ConditionalOnProperty(prefix = "spring.kafka", name = "bootstrap-servers")
+@Configuration
+public class OutboxConfig {
+
+    @Bean
+    public NewTopic employeeChangesTopic(final OutboxProperties properties) {
+        return TopicBuilder.name(properties.getTopic())
+            .partitions(properties.getPartitions())
+            .replicas(properties.getReplicas())
+            // Keeps the latest event of every employee, which the employee view is rebuilt from
+            .compact()
+            .build();
+    }
+
+    @Bean
+    public EmployeeOutboxRelay employeeOutboxRelay(final OutboxEventRepository outboxEventRepository,
+                                                   final KafkaTemplate<String, String> kafkaTemplate,
+                                                   final PlatformTransactionManager transactionManager,
+                                                   final OutboxProperties properties,
+                                                   final MeterRegistry meterRegistry) {
+        return new EmployeeOutboxRelay(outboxEventRepository, kafkaTemplate, transactionManager, properties,
+            meterRegistry);
+    }
+
+    /**
+     * Replaces {@link com.martikan.employeeapi.service.LocalEmployeeChanges}, so the in-memory state of every
+     * instance follows the writes of all instances.
+     */
+    @Bean
+    public EmployeeChangeConsumer employeeChangeConsumer(final ObjectMapper objectMapper,
+                                                         final List<EmployeeChangeListener> listeners,
+                                                         final OutboxProperties properties) {
+        return new EmployeeChangeConsumer(objectMapper, listeners, properties);
+    }
+}
@@ -0,0 +1,38 @@
+package com.martikan.employeeapi.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "employee-api.outbox")
+public class OutboxProperties {
+
+    /**
+     * Topic of the employee change events, keyed by employee id.
+     */
+    private String topic = "employee-changes";
+
+    private int partitions = 6;
+
+    private int replicas = 1;
+
+    /**
+     * Events sent to Kafka and deleted from the outbox per transaction.
+     */
+    private int batchSize = 500;
+
+    /**
+     * How long a batch waits for the acknowledgements of Kafka before it is rolled back and retried.
+     */
+    private Duration sendTimeout = Duration.ofSeconds(10);
+
+    /**
+     * How far before its start every instance begins reading the change topic, at least the longest delay of the
+     * relay behind a commit.
+     */
+    private Duration replay = Duration.ofMinutes(1);
+}
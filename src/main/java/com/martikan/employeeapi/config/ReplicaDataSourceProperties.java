@@ -0,0 +1,40 @@
+package com.martikan.employeeapi.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "employee-api.datasource")
+public class ReplicaDataSourceProperties {
+
+    /**
+     * Read replicas serving read-only transactions, the primary is configured by {@code spring.datasource}.
+     */
+    private List<Replica> replicas = new ArrayList<>();
+
+    /**
+     * Replicas lagging behind the primary by more than this are skipped until they catch up.
+     */
+    private Duration maxReplicationLag = Duration.ofSeconds(10);
+
+    private Duration healthCheckInterval = Duration.ofSeconds(5);
+
+    @Getter
+    @Setter
+    public static class Replica {
+
+        private String url;
+
+        private String username;
+
+        private String password;
+
+        private int maximumPoolSize = 10;
+    }
+}
@@ -0,0 +1,138 @@
+package com.martikan.employeeapi.config;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Sends read-only transactions to a healthy replica, round robin, and everything else to the primary.
+ * <p>
+ * A replica is unhealthy when its replication lag exceeds the tolerated maximum or a connection to it cannot be
+ * opened; read-only transactions then fall back to the primary until the next health check succeeds. It must be
+ * wrapped in a {@link org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy}, the read-only flag of a
+ * transaction is only known after the transaction manager asked for the connection.
+ */
+@Slf4j
+public class ReplicaRoutingDataSource extends AbstractRoutingDataSource implements AutoCloseable {
+
+    static final String PRIMARY = "primary";
+
+    // Zero when the replica has replayed everything it received, otherwise the age of the last replayed commit.
+    private static final String REPLICATION_LAG_QUERY = """
+        select case when not pg_is_in_recovery() or pg_last_wal_receive_lsn() = pg_last_wal_replay_lsn() then 0
+                    else extract(epoch from now() - pg_last_xact_replay_timestamp()) end""";
+
+    private final DataSource primary;
+
+    private final List<Replica> replicas;
+
+    private final Duration maxReplicationLag;
+
+    private final AtomicInteger next = new AtomicInteger();
+
+    public ReplicaRoutingDataSource(final DataSource primary, final Map<String, DataSource> replicas,
+                                    final Duration maxReplicationLag) {
+        this.primary = primary;
+        this.replicas = replicas.entrySet().stream()
+            .map(e -> new Replica(e.getKey(), e.getValue()))
+            .toList();
+        this.maxReplicationLag = maxReplicationLag;
+        final var targets = new HashMap<Object, Object>(replicas);
+        targets.put(PRIMARY, primary);
+        setTargetDataSources(targets);
+        setDefaultTargetDataSource(primary);
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            return PRIMARY;
+        }
+        for (int attempt = 0; attempt < replicas.size(); attempt++) {
+            final var replica = replicas.get(Math.floorMod(next.getAndIncrement(), replicas.size()));
+            if (replica.healthy) {
+                return replica.name;
+            }
+        }
+        return PRIMARY;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        final var key = determineCurrentLookupKey();
+        if (PRIMARY.equals(key)) {
+            return primary.getConnection();
+        }
+        final var replica = replicas.stream().filter(r -> r.name.equals(key)).findFirst().orElseThrow();
+        try {
+            return replica.dataSource.getConnection();
+        } catch (SQLException e) {
+            log.warn("Replica {} is unreachable, falling back to the primary", replica.name, e);
+            replica.healthy = false;
+            return primary.getConnection();
+        }
+    }
+
+    /**
+     * Re-evaluates the health of every replica from its replication lag.
+     */
+    @Scheduled(fixedDelayString = "${employee-api.datasource.health-check-interval:5s}")
+    public void checkReplicas() {
+        for (final var replica : replicas) {
+            final var wasHealthy = replica.healthy;
+            try (var connection = replica.dataSource.getConnection();
+                 var statement = connection.createStatement();
+                 var result = statement.executeQuery(REPLICATION_LAG_QUERY)) {
+                result.next();
+                final var lag = Duration.ofMillis(Math.round(result.getDouble(1) * 1000));
+                replica.healthy = lag.compareTo(maxReplicationLag) <= 0;
+                if (!replica.healthy) {
+                    log.warn("Replica {} lags {} behind the primary, reads fall back to the primary", replica.name, lag);
+                }
+            } catch (SQLException e) {
+                log.warn("Replica {} health check failed, reads fall back to the primary", replica.name, e);
+                replica.healthy = false;
+            }
+            if (!wasHealthy && replica.healthy) {
+                log.info("Replica {} is healthy again", replica.name);
+            }
+        }
+    }
+
+    boolean isHealthy(final String replicaName) {
+        return replicas.stream().anyMatch(r -> r.name.equals(replicaName) && r.healthy);
+    }
+
+    @Override
+    public void close() throws Exception {
+        for (final var replica : replicas) {
+            if (replica.dataSource instanceof AutoCloseable closeable) {
+                closeable.close();
+            }
+        }
+    }
+
+    private static final class Replica {
+
+        private final String name;
+
+        private final DataSource dataSource;
+
+        private volatile boolean healthy = true;
+
+        private Replica(final String name, final DataSource dataSource) {
+            this.name = name;
+            this.dataSource = dataSource;
+        }
+    }
+}
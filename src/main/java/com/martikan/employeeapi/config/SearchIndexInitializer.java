@@ -0,0 +1,96 @@
+package com.martikan.employeeapi.config;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.JdbcUtils;
+import org.springframework.stereotype.Component;
+
+import java.sql.DatabaseMetaData;
+import java.util.List;
+
+/**
+ * Creates the expression indexes behind the employee search, which JPA cannot declare. They are built
+ * concurrently in the background after startup, so neither startup nor writes wait for them, and statements
+ * that fail, e.g. without the privilege to create the pg_trgm extension, only leave their filter unindexed.
+ * A concurrent build that failed or was interrupted, e.g. by a restart, leaves an invalid index that is
+ * maintained on every write but never used, and that {@code if not exists} would keep: such an index is dropped
+ * and built again. Other databases than PostgreSQL are skipped.
+ */
+@Slf4j
+@RequiredArgsConstructor
+@Component
+public class SearchIndexInitializer {
+
+    static final String EXTENSION = "create extension if not exists pg_trgm";
+
+    static final List<SearchIndex> INDEXES = List.of(
+        // Prefix filters, lower(column) like 'abc%'
+        new SearchIndex("employees_first_name_prefix_idx", "on employees (lower(first_name) text_pattern_ops)"),
+        new SearchIndex("employees_last_name_prefix_idx", "on employees (lower(last_name) text_pattern_ops)"),
+        // Email domain and substring filters, lower(column) like '%abc%'
+        new SearchIndex("employees_email_trgm_idx", "on employees using gin (lower(email) gin_trgm_ops)"),
+        new SearchIndex("employees_first_name_trgm_idx", "on employees using gin (lower(first_name) gin_trgm_ops)"),
+        new SearchIndex("employees_last_name_trgm_idx", "on employees using gin (lower(last_name) gin_trgm_ops)"));
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Qualifier("applicationTaskExecutor")
+    private final AsyncTaskExecutor taskExecutor;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void createSearchIndexes() {
+        taskExecutor.execute(() -> {
+            if (!isPostgres()) {
+                log.info("Search indexes are only created on PostgreSQL, skipping");
+                return;
+            }
+            try {
+                jdbcTemplate.execute(EXTENSION);
+            } catch (DataAccessException e) {
+                log.warn("Could not create the pg_trgm extension, the substring filters fall back to a scan", e);
+            }
+            for (final var index : INDEXES) {
+                try {
+                    if (isInvalid(index)) {
+                        log.warn("Search index {} has been left invalid by an earlier build, rebuilding it",
+                            index.name());
+                        jdbcTemplate.execute("drop index concurrently if exists " + index.name());
+                    }
+                    jdbcTemplate.execute(index.createStatement());
+                } catch (DataAccessException e) {
+                    log.warn("Could not create search index, the filter falls back to a scan: {}",
+                        index.createStatement(), e);
+                }
+            }
+            log.info("Search indexes are ready");
+        });
+    }
+
+    private boolean isInvalid(final SearchIndex index) {
+        return !jdbcTemplate.queryForList("select indisvalid from pg_index where indexrelid = to_regclass(?)",
+            Boolean.class, index.name()).stream().allMatch(Boolean.TRUE::equals);
+    }
+
+    private boolean isPostgres() {
+        try {
+            return "PostgreSQL".equals(JdbcUtils.extractDatabaseMetaData(jdbcTemplate.getDataSource(),
+                DatabaseMetaData::getDatabaseProductName));
+        } catch (Exception e) {
+            log.warn("Could not determine the database product, skipping search indexes", e);
+            return false;
+        }
+    }
+
+    record SearchIndex(String name, String definition) {
+
+        String createStatement() {
+            return "create index concurrently if not exists " + name + " " + definition;
+        }
+    }
+}
@@ -1,14 +1,34 @@
 package com.martikan.employeeapi.controller;
 
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
 import com.martikan.employeeapi.Routes;
 import com.martikan.employeeapi.dto.ApiResponse;
+import com.martikan.employeeapi.dto.BatchGetResultDTO;
+import com.martikan.employeeapi.dto.BulkItemResultDTO;
+import com.martikan.employeeapi.dto.EmployeeChangeDTO;
 import com.martikan.employeeapi.dto.EmployeeDTO;
+import com.martikan.employeeapi.dto.EmployeeSearchDTO;
+import com.martikan.employeeapi.dto.EmployeeStatsDTO;
+import com.martikan.employeeapi.dto.ImportJobDTO;
+import com.martikan.employeeapi.dto.SlicePage;
+import com.martikan.employeeapi.exception.BadRequestException;
+import com.martikan.employeeapi.service.EmployeeChangeFeed;
+import com.martikan.employeeapi.service.EmployeeDeltaSync;
+import com.martikan.employeeapi.service.EmployeeImportService;
 import com.martikan.employeeapi.service.EmployeeService;
+import com.martikan.employeeapi.service.EmployeeStatsService;
+import com.martikan.employeeapi.service.EmployeeSuggestionService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.data.domain.Pageable;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -16,9 +36,19 @@ import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.time.Instant;
 import java.util.List;
 import java.util.UUID;
 
@@ -28,32 +58,166 @@ import java.util.UUID;
 @RestController
 public class EmployeeController {
 
+    private static final int MAX_BULK_SIZE = 10_000;
+
+    private static final int MAX_BATCH_GET_SIZE = 1_000;
+
+    private static final int MAX_AUTOCOMPLETE_LIMIT = 50;
+
     private final EmployeeService employeeService;
 
+    private final EmployeeImportService employeeImportService;
+
+    private final EmployeeSuggestionService employeeSuggestionService;
+
+    private final EmployeeStatsService employeeStatsService;
+
+    private final ObjectProvider<EmployeeChangeFeed> employeeChangeFeed;
+
+    private final EmployeeDeltaSync employeeDeltaSync;
+
+    private final ObjectMapper objectMapper;
+
     @GetMapping
-    public ResponseEntity<ApiResponse<List<EmployeeDTO>>> getAllEmployees(final Pageable pageable) {
+    public ResponseEntity<ApiResponse<List<EmployeeDTO>>> getAllEmployees(final Pageable pageable,
+                                                                          @RequestParam(required = false) final String cursor) {
         log.info("called - get /api/v1/employees");
+        // Any cursor parameter, even an empty one for the first page, switches to keyset pagination.
+        if (cursor != null) {
+            final var page = employeeService.getAllEmployees(cursor, pageable.getPageSize());
+            final var res = new ApiResponse<>(HttpStatus.OK.name(), page.getItems(), page.getNext());
+            return ResponseEntity.ok(res);
+        }
         final var employees = employeeService.getAllEmployees(pageable);
         final var res = new ApiResponse<>(HttpStatus.OK.name(), employees);
         return ResponseEntity.ok(res);
     }
 
+    // The list filtered to the changes since the given ISO-8601 instant, deletes included. The cursor takes over
+    // from changedSince for the following pages.
+    @GetMapping(params = "changedSince")
+    public ResponseEntity<ApiResponse<List<EmployeeChangeDTO>>> getEmployeeChanges(
+        @RequestParam final Instant changedSince,
+        @RequestParam(required = false) final String cursor,
+        final Pageable pageable) {
+        log.info("called - get /api/v1/employees?changedSince");
+        final var page = employeeDeltaSync.getChanges(changedSince, cursor, pageable.getPageSize());
+        final var res = new ApiResponse<>(HttpStatus.OK.name(), page.getItems(), page.getNext());
+        return ResponseEntity.ok(res);
+    }
+
+    @GetMapping("/search")
+    public ResponseEntity<ApiResponse<SlicePage<EmployeeDTO>>> searchEmployees(
+        @RequestParam(required = false) final String emailDomain,
+        @RequestParam(required = false) final String firstName,
+        @RequestParam(required = false) final String lastName,
+        @RequestParam(name = "q", required = false) final String contains,
+        final Pageable pageable) {
+        log.info("called - get /api/v1/employees/search");
+        final var search = EmployeeSearchDTO.builder()
+            .emailDomain(emailDomain)
+            .firstNamePrefix(firstName)
+            .lastNamePrefix(lastName)
+            .contains(contains)
+            .build();
+        final var slice = employeeService.searchEmployees(search, pageable);
+        final var page = new SlicePage<>(slice.getContent(), slice.getNumber(), slice.getSize(), slice.hasNext());
+        final var res = new ApiResponse<>(HttpStatus.OK.name(), page);
+        return ResponseEntity.ok(res);
+    }
+
+    @GetMapping("/autocomplete")
+    public ResponseEntity<ApiResponse<List<EmployeeDTO>>> autocompleteEmployees(
+        @RequestParam("q") final String query,
+        @RequestParam(defaultValue = "10") final int limit) {
+        // Called on every keystroke of the people picker, so it is only logged at debug level.
+        log.debug("called - get /api/v1/employees/autocomplete");
+        if (limit < 1 || limit > MAX_AUTOCOMPLETE_LIMIT) {
+            throw new BadRequestException("Limit must be between 1 and " + MAX_AUTOCOMPLETE_LIMIT);
+        }
+        final var employees = employeeSuggestionService.suggestEmployees(query, limit);
+        final var res = new ApiResponse<>(HttpStatus.OK.name(), employees);
+        return ResponseEntity.ok(res);
+    }
+
+    @GetMapping("/stats")
+    public ResponseEntity<ApiResponse<EmployeeStatsDTO>> getEmployeeStats() {
+        log.info("called - get /api/v1/employees/stats");
+        final var res = new ApiResponse<>(HttpStatus.OK.name(), employeeStatsService.getStats());
+        return ResponseEntity.ok(res);
+    }
+
+    @GetMapping(path = "/changes", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public ResponseEntity<SseEmitter> streamChanges(
+        @RequestHeader(name = "Last-Event-ID", required = false) final String lastEventId) {
+        log.info("called - get /api/v1/employees/changes");
+        final var feed = employeeChangeFeed.getIfAvailable();
+        // Without a broker the feed only exists for a single instance, see ChangeFeedConfig.
+        if (feed == null) {
+            return ResponseEntity.notFound().build();
+        }
+        return ResponseEntity.ok(feed.subscribe(lastEventId));
+    }
+
+    @GetMapping(path = "/export", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> exportEmployees() {
+        log.info("called - get /api/v1/employees/export");
+        // Rows are flushed by the generator buffer instead of one by one.
+        final var writer = objectMapper.writerFor(EmployeeDTO.class)
+            .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+        final StreamingResponseBody body = out -> {
+            try (var generator = objectMapper.createGenerator(out)) {
+                generator.setRootValueSeparator(null);
+                employeeService.exportEmployees(dto -> writeLine(writer, generator, dto));
+            }
+        };
+        return ResponseEntity.ok()
+            .contentType(MediaType.APPLICATION_NDJSON)
+            .body(body);
+    }
+
     @GetMapping("/{id}")
-    public ResponseEntity<ApiResponse<EmployeeDTO>> getEmployeeById(@PathVariable final UUID id) {
+    public ResponseEntity<ApiResponse<EmployeeDTO>> getEmployeeById(@PathVariable final UUID id,
+                                                                    final WebRequest request) {
         log.info("called - get /api/v1/employees/{}", id.toString());
+        // Usually served from the cache, a revalidation then costs no query and the employee is not serialized.
         final var employee = employeeService.getEmployeeById(id);
+        final var eTag = String.valueOf(employee.getVersion());
+        if (request.checkNotModified(eTag)) {
+            return null;
+        }
         final var res = new ApiResponse<>(HttpStatus.OK.name(), employee);
+        return ResponseEntity.ok()
+            .eTag(eTag)
+            .body(res);
+    }
+
+    @PostMapping("/batch-get")
+    public ResponseEntity<ApiResponse<BatchGetResultDTO>> getEmployeesByIds(@RequestBody final List<UUID> ids) {
+        log.info("called - post /api/v1/employees/batch-get with {} ids", ids.size());
+        if (ids.isEmpty() || ids.size() > MAX_BATCH_GET_SIZE) {
+            throw new BadRequestException("Batch get must contain between 1 and " + MAX_BATCH_GET_SIZE + " ids");
+        }
+        final var employees = employeeService.getEmployeesByIds(ids);
+        final var res = new ApiResponse<>(HttpStatus.OK.name(), employees);
         return ResponseEntity.ok(res);
     }
 
     @PutMapping("/{id}")
     public ResponseEntity<ApiResponse<String>> updateEmployee(@PathVariable final UUID id,
-                                                              @Valid @RequestBody final EmployeeDTO dto) {
+                                                              @Valid @RequestBody final EmployeeDTO dto,
+                                                              @RequestHeader(name = HttpHeaders.IF_MATCH, required = false)
+                                                              final String ifMatch) {
         log.info("called - put /api/v1/employees/{}", id.toString());
         dto.setId(id);
+        dto.setVersion(parseIfMatch(ifMatch));
         employeeService.updateEmployee(dto);
         final var res = new ApiResponse<>(HttpStatus.NO_CONTENT.name(), "Employee has been updated");
-        return ResponseEntity.status(HttpStatus.NO_CONTENT).body(res);
+        final var response = ResponseEntity.status(HttpStatus.NO_CONTENT);
+        if (dto.getVersion() != null) {
+            response.eTag(String.valueOf(dto.getVersion() + 1));
+        }
+        return response.body(res);
     }
 
     @PostMapping
@@ -64,12 +228,75 @@ public class EmployeeController {
         return ResponseEntity.status(HttpStatus.CREATED).body(res);
     }
 
+    @PostMapping("/bulk")
+    public ResponseEntity<ApiResponse<List<BulkItemResultDTO>>> saveEmployees(@RequestBody final List<EmployeeDTO> dtos) {
+        log.info("called - post /api/v1/employees/bulk with {} items", dtos.size());
+        if (dtos.isEmpty() || dtos.size() > MAX_BULK_SIZE) {
+            throw new BadRequestException("Bulk request must contain between 1 and " + MAX_BULK_SIZE + " employees");
+        }
+        final var results = employeeService.saveEmployees(dtos);
+        final var res = new ApiResponse<>(HttpStatus.OK.name(), results);
+        return ResponseEntity.ok(res);
+    }
+
+    @PostMapping(path = "/import", consumes = "text/csv")
+    public ResponseEntity<ApiResponse<ImportJobDTO>> importEmployees(final InputStream csv) {
+        log.info("called - post /api/v1/employees/import");
+        final var job = employeeImportService.startImport(csv);
+        final var res = new ApiResponse<>(HttpStatus.ACCEPTED.name(), job);
+        return ResponseEntity.accepted()
+            .location(URI.create(Routes.EMPLOYEE_ROUTE_V1 + "/import/" + job.getId()))
+            .body(res);
+    }
+
+    @GetMapping("/import/{jobId}")
+    public ResponseEntity<ApiResponse<ImportJobDTO>> getImportJob(@PathVariable final UUID jobId) {
+        log.info("called - get /api/v1/employees/import/{}", jobId.toString());
+        final var job = employeeImportService.getImportJob(jobId);
+        final var res = new ApiResponse<>(HttpStatus.OK.name(), job);
+        return ResponseEntity.ok(res);
+    }
+
     @DeleteMapping("/{id}")
-    public ResponseEntity<ApiResponse<String>> deleteEmployee(@PathVariable final UUID id) {
+    public ResponseEntity<ApiResponse<String>> deleteEmployee(@PathVariable final UUID id,
+                                                              @RequestHeader(name = HttpHeaders.IF_MATCH, required = false)
+                                                              final String ifMatch) {
         log.info("called - delete /api/v1/employees/{}", id.toString());
-        employeeService.deleteEmployeeById(id);
+        final var version = parseIfMatch(ifMatch);
+        if (version == null) {
+            employeeService.deleteEmployeeById(id);
+        } else {
+            employeeService.deleteEmployeeById(id, version);
+        }
         final var res = new ApiResponse<>(HttpStatus.NO_CONTENT.name(), "Employee has been deleted");
         return ResponseEntity.status(HttpStatus.NO_CONTENT).body(res);
     }
 
+    /**
+     * Returns the version of an {@code If-Match} header, or {@code null} when the write is unconditional.
+     */
+    private static Long parseIfMatch(final String ifMatch) {
+        if (ifMatch == null || ifMatch.isBlank() || ifMatch.trim().equals("*")) {
+            return null;
+        }
+        var etag = ifMatch.trim();
+        if (etag.startsWith("W/")) {
+            etag = etag.substring(2);
+        }
+        try {
+            return Long.parseLong(etag.replace("\"", ""));
+        } catch (NumberFormatException e) {
+            throw new BadRequestException("If-Match must contain a single ETag of the employee");
+        }
+    }
+
+    private void writeLine(final ObjectWriter writer, final JsonGenerator generator, final Object value) {
+        try {
+            writer.writeValue(generator, value);
+            generator.writeRaw('\n');
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
 }
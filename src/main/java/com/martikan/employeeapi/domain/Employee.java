@@ -1,15 +1,20 @@
 package com.martikan.employeeapi.domain;
 
+import com.martikan.employeeapi.common.GeneratedUuidV7;
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
-import jakarta.persistence.GeneratedValue;
-import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.Table;
+import jakarta.persistence.Version;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
+import org.hibernate.annotations.ColumnDefault;
+import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.UpdateTimestamp;
 
+import java.time.Instant;
 import java.util.UUID;
 
 
@@ -17,11 +22,12 @@ import java.util.UUID;
 @Getter
 @Setter
 @Entity
-@Table(name = "employees")
+// Delta sync seeks on this index in the order of its keyset, (updated_at, id).
+@Table(name = "employees", indexes = @Index(name = "employees_updated_at_id_idx", columnList = "updated_at, id"))
 public class Employee {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.UUID)
+    @GeneratedUuidV7
     private UUID id;
 
     @Column(nullable = false, unique = true)
@@ -33,4 +39,22 @@ public class Employee {
     @Column(nullable = false, length = 100)
     private String lastName;
 
+    // Primitive, so new entities are still told apart by their id; existing rows start at 0.
+    @Version
+    @ColumnDefault("0")
+    @Column(nullable = false)
+    private long version;
+
+    // Existing rows start at the time the columns are added, so the first delta sync after the upgrade returns them.
+    @CreationTimestamp
+    @ColumnDefault("current_timestamp")
+    @Column(nullable = false, updatable = false)
+    private Instant createdAt;
+
+    // Bulk updates bypass @UpdateTimestamp and set it themselves, see EmployeeRepository#updateEmployee.
+    @UpdateTimestamp
+    @ColumnDefault("current_timestamp")
+    @Column(nullable = false)
+    private Instant updatedAt;
+
 }
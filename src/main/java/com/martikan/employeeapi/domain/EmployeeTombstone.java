@@ -0,0 +1,34 @@
+package com.martikan.employeeapi.domain;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * Marks a deleted employee for delta sync, so clients learn about deletes without the employees table keeping
+ * deleted rows that every other query would have to filter out. Purged after the tombstone retention.
+ */
+@NoArgsConstructor
+@Getter
+@Setter
+@Entity
+@Table(name = "employee_tombstones",
+    indexes = @Index(name = "employee_tombstones_deleted_at_id_idx", columnList = "deleted_at, id"))
+public class EmployeeTombstone {
+
+    // Id of the deleted employee.
+    @Id
+    private UUID id;
+
+    @Column(nullable = false)
+    private Instant deletedAt;
+
+}
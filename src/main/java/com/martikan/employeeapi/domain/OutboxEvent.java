@@ -0,0 +1,48 @@
+package com.martikan.employeeapi.domain;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.SequenceGenerator;
+import jakarta.persistence.Table;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * Change event written in the transaction of the change itself and relayed to Kafka afterwards, so an event is
+ * published if and only if its change has been committed.
+ */
+@NoArgsConstructor
+@Getter
+@Setter
+@Entity
+@Table(name = "employee_outbox")
+public class OutboxEvent {
+
+    // The order of ids is the relay order. Not pooled: every instance would draw ids from its own block, and a
+    // later change of an employee on one instance could get a lower id than an earlier one on another. Writes of
+    // an employee are serialized by its row lock, so ids drawn one at a time follow their commit order.
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "employee_outbox_seq")
+    @SequenceGenerator(name = "employee_outbox_seq", sequenceName = "employee_outbox_seq", allocationSize = 1)
+    private Long id;
+
+    @Column(nullable = false)
+    private UUID employeeId;
+
+    @Column(nullable = false, length = 20)
+    private String type;
+
+    @Column(nullable = false, length = 2000)
+    private String payload;
+
+    @Column(nullable = false)
+    private Instant createdAt;
+
+}
@@ -0,0 +1,35 @@
+package com.martikan.employeeapi.domain;
+
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * Progress of the one-off snapshot of all employees into the outbox, one row per change topic. Every instance
+ * continues from it, so a snapshot interrupted by a restart is resumed rather than started over.
+ */
+@NoArgsConstructor
+@Getter
+@Setter
+@Entity
+@Table(name = "employee_outbox_snapshots")
+public class OutboxSnapshot {
+
+    @Id
+    private String topic;
+
+    // Id of the last employee written to the outbox, the next batch starts after it.
+    private UUID lastEmployeeId;
+
+    // Id of the last outbox event of the snapshot, null when there were no employees to write.
+    private Long lastEventId;
+
+    private Instant completedAt;
+
+}
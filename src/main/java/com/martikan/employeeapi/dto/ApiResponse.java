@@ -1,6 +1,7 @@
 package com.martikan.employeeapi.dto;
 
 
+import com.fasterxml.jackson.annotation.JsonInclude;
 import lombok.Getter;
 
 import java.time.ZonedDateTime;
@@ -15,9 +16,20 @@ public class ApiResponse<T> {
 
     private final String time;
 
+    /**
+     * Opaque cursor of the next page in keyset pagination mode, {@code null} on the last page.
+     */
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private final String next;
+
     public ApiResponse(final String status, final T message) {
+        this(status, message, null);
+    }
+
+    public ApiResponse(final String status, final T message, final String next) {
         this.status = status;
         this.message = message;
         this.time = ZonedDateTime.now().format(DateTimeFormatter.ISO_DATE_TIME);
+        this.next = next;
     }
 }
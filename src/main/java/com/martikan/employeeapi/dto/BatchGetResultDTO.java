@@ -0,0 +1,24 @@
+package com.martikan.employeeapi.dto;
+
+import lombok.Builder;
+import lombok.Data;
+
+import java.io.Serial;
+import java.io.Serializable;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Employees resolved by a batch lookup, in the order of the requested ids, and the ids that do not exist.
+ */
+@Builder
+@Data
+public class BatchGetResultDTO implements Serializable {
+
+    @Serial
+    private static final long serialVersionUID = 8830633036264380870L;
+
+    private List<EmployeeDTO> found;
+
+    private List<UUID> missing;
+}
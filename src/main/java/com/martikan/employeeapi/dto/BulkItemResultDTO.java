@@ -0,0 +1,32 @@
+package com.martikan.employeeapi.dto;
+
+import lombok.Builder;
+import lombok.Data;
+
+import java.io.Serial;
+import java.io.Serializable;
+import java.util.UUID;
+
+/**
+ * Outcome of one item of a bulk request, {@code index} is the position of the item in the request.
+ */
+@Builder
+@Data
+public class BulkItemResultDTO implements Serializable {
+
+    @Serial
+    private static final long serialVersionUID = -3171942052316497185L;
+
+    private int index;
+
+    private UUID id;
+
+    private Status status;
+
+    private String message;
+
+    public enum Status {
+        CREATED,
+        REJECTED
+    }
+}
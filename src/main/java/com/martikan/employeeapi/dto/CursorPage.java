@@ -0,0 +1,24 @@
+package com.martikan.employeeapi.dto;
+
+import lombok.Getter;
+
+import java.util.List;
+
+/**
+ * One page of a keyset (cursor) paginated result.
+ */
+@Getter
+public class CursorPage<T> {
+
+    private final List<T> items;
+
+    /**
+     * Opaque cursor pointing after the last item, {@code null} if there are no more items.
+     */
+    private final String next;
+
+    public CursorPage(final List<T> items, final String next) {
+        this.items = items;
+        this.next = next;
+    }
+}
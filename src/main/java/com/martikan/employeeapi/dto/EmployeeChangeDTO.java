@@ -0,0 +1,35 @@
+package com.martikan.employeeapi.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.Builder;
+import lombok.Data;
+
+import java.io.Serial;
+import java.io.Serializable;
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * Data of an event of the change feed, whose name tells the kind of the change, or an item of a delta sync.
+ */
+@Builder
+@Data
+public class EmployeeChangeDTO implements Serializable {
+
+    @Serial
+    private static final long serialVersionUID = 8115482705213563392L;
+
+    private UUID id;
+
+    /**
+     * State after the change, {@code null} for deletes.
+     */
+    private EmployeeDTO employee;
+
+    /**
+     * Time of the change, a delta sync resumes from the latest one. Not set on the change feed for changes relayed
+     * without it.
+     */
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private Instant changedAt;
+}
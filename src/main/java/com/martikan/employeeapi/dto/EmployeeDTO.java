@@ -1,8 +1,10 @@
 package com.martikan.employeeapi.dto;
 
+import com.fasterxml.jackson.annotation.JsonProperty;
 import jakarta.validation.constraints.Email;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import org.springframework.validation.annotation.Validated;
@@ -13,6 +15,7 @@ import java.util.UUID;
 
 @Builder
 @Data
+@AllArgsConstructor
 @Validated
 public class EmployeeDTO implements Serializable {
 
@@ -33,4 +36,10 @@ public class EmployeeDTO implements Serializable {
     @NotBlank
     @Size(max = 100)
     private String lastName;
+
+    /**
+     * Optimistic locking version, also served as the ETag. Clients send it back through {@code If-Match}.
+     */
+    @JsonProperty(access = JsonProperty.Access.READ_ONLY)
+    private Long version;
 }
@@ -0,0 +1,32 @@
+package com.martikan.employeeapi.dto;
+
+import lombok.Builder;
+import lombok.Data;
+
+import java.io.Serial;
+import java.io.Serializable;
+
+/**
+ * Filters of an employee search, all optional and combined with AND. Matching is case-insensitive.
+ */
+@Builder
+@Data
+public class EmployeeSearchDTO implements Serializable {
+
+    @Serial
+    private static final long serialVersionUID = -3129402183647460921L;
+
+    /**
+     * Domain part of the email, e.g. {@code example.com}.
+     */
+    private String emailDomain;
+
+    private String firstNamePrefix;
+
+    private String lastNamePrefix;
+
+    /**
+     * Substring of the first name, last name or email.
+     */
+    private String contains;
+}
@@ -0,0 +1,31 @@
+package com.martikan.employeeapi.dto;
+
+import lombok.Builder;
+import lombok.Data;
+
+import java.io.Serial;
+import java.io.Serializable;
+import java.time.Instant;
+import java.util.Map;
+
+/**
+ * Headcounts of all employees, see {@code EmployeeStatsService}.
+ */
+@Builder
+@Data
+public class EmployeeStatsDTO implements Serializable {
+
+    @Serial
+    private static final long serialVersionUID = -4431823395566460221L;
+
+    private long total;
+
+    private Map<String, Long> byEmailDomain;
+
+    private Map<String, Long> byLastNameInitial;
+
+    /**
+     * When the counts have last been reconciled with the database, {@code null} before the first reconciliation.
+     */
+    private Instant reconciledAt;
+}
@@ -0,0 +1,62 @@
+package com.martikan.employeeapi.dto;
+
+import lombok.Builder;
+import lombok.Data;
+
+import java.io.Serial;
+import java.io.Serializable;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Snapshot of the progress of a CSV import job.
+ */
+@Builder
+@Data
+public class ImportJobDTO implements Serializable {
+
+    @Serial
+    private static final long serialVersionUID = 6011570345279465920L;
+
+    private UUID id;
+
+    private Status status;
+
+    private long processedRows;
+
+    private long createdRows;
+
+    private long rejectedRows;
+
+    /**
+     * The first rejected rows, capped so that a broken file cannot exhaust the heap.
+     */
+    private List<RowError> errors;
+
+    /**
+     * Reason of the failure when the job stopped before the end of the file.
+     */
+    private String message;
+
+    public enum Status {
+        PENDING,
+        RUNNING,
+        COMPLETED,
+        FAILED
+    }
+
+    @Builder
+    @Data
+    public static class RowError implements Serializable {
+
+        @Serial
+        private static final long serialVersionUID = -1742925049911424541L;
+
+        /**
+         * 1-based number of the data row, the header is not counted.
+         */
+        private long row;
+
+        private String message;
+    }
+}
@@ -0,0 +1,27 @@
+package com.martikan.employeeapi.dto;
+
+import lombok.Getter;
+
+import java.util.List;
+
+/**
+ * One page of an offset paginated result that tells whether a next page exists instead of counting all rows.
+ */
+@Getter
+public class SlicePage<T> {
+
+    private final List<T> items;
+
+    private final int page;
+
+    private final int size;
+
+    private final boolean hasNext;
+
+    public SlicePage(final List<T> items, final int page, final int size, final boolean hasNext) {
+        this.items = items;
+        this.page = page;
+        this.size = size;
+        this.hasNext = hasNext;
+    }
+}
@@ -1,6 +1,7 @@
 package com.martikan.employeeapi.exception;
 
 import com.martikan.employeeapi.dto.ApiResponse;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.ControllerAdvice;
@@ -21,4 +22,24 @@ public class GlobalExceptionHandler {
         return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(res);
     }
 
+    @ExceptionHandler({PreconditionFailedException.class})
+    public ResponseEntity<ApiResponse<String>> handlePreconditionFailedException(final PreconditionFailedException e) {
+        final var res = new ApiResponse<>(HttpStatus.PRECONDITION_FAILED.name(), e.getMessage());
+        return ResponseEntity.status(HttpStatus.PRECONDITION_FAILED).body(res);
+    }
+
+    @ExceptionHandler({GoneException.class})
+    public ResponseEntity<ApiResponse<String>> handleGoneException(final GoneException e) {
+        final var res = new ApiResponse<>(HttpStatus.GONE.name(), e.getMessage());
+        return ResponseEntity.status(HttpStatus.GONE).body(res);
+    }
+
+    @ExceptionHandler({ServiceUnavailableException.class})
+    public ResponseEntity<ApiResponse<String>> handleServiceUnavailableException(final ServiceUnavailableException e) {
+        final var res = new ApiResponse<>(HttpStatus.SERVICE_UNAVAILABLE.name(), e.getMessage());
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+            .header(HttpHeaders.RETRY_AFTER, String.valueOf(e.getRetryAfterSeconds()))
+            .body(res);
+    }
+
 }
@@ -0,0 +1,16 @@
+package com.martikan.employeeapi.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+import java.io.Serial;
+
+@ResponseStatus(HttpStatus.GONE)
+public class GoneException extends RuntimeException {
+    @Serial
+    private static final long serialVersionUID = 3318740125662374921L;
+
+    public GoneException(final String message) {
+        super(message);
+    }
+}
@@ -4,7 +4,20 @@ import com.martikan.employeeapi.common.BaseMapper;
 import com.martikan.employeeapi.domain.Employee;
 import com.martikan.employeeapi.dto.EmployeeDTO;
 import org.mapstruct.Mapper;
+import org.mapstruct.Mapping;
+import org.mapstruct.MappingTarget;
 
 @Mapper(componentModel = "spring")
 public interface EmployeeMapper extends BaseMapper<Employee, EmployeeDTO> {
+
+    // The timestamps are set by Hibernate and the repository, never by clients.
+    @Override
+    @Mapping(target = "createdAt", ignore = true)
+    @Mapping(target = "updatedAt", ignore = true)
+    Employee toEntity(EmployeeDTO source);
+
+    @Override
+    @Mapping(target = "createdAt", ignore = true)
+    @Mapping(target = "updatedAt", ignore = true)
+    Employee updateEntity(EmployeeDTO source, @MappingTarget Employee target);
 }
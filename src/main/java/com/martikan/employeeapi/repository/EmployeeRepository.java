@@ -1,15 +1,84 @@
 package com.martikan.employeeapi.repository;
 
 import com.martikan.employeeapi.domain.Employee;
+import com.martikan.employeeapi.dto.EmployeeDTO;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
 import java.util.stream.Stream;
 
-public interface EmployeeRepository extends JpaRepository<Employee, UUID> {
+import static org.hibernate.jpa.HibernateHints.HINT_CACHEABLE;
+import static org.hibernate.jpa.HibernateHints.HINT_FETCH_SIZE;
+import static org.hibernate.jpa.HibernateHints.HINT_READ_ONLY;
+
+public interface EmployeeRepository extends JpaRepository<Employee, UUID>, EmployeeSearchRepository,
+    EmployeeWriteRepository {
+    // Reads select straight into DTOs: no managed entities, no dirty-checking snapshots, no mapping step.
+    String SELECT_EMPLOYEE_DTO = "select new com.martikan.employeeapi.dto.EmployeeDTO("
+        + "e.id, e.email, e.firstName, e.lastName, e.version) ";
+
+    // Rows are pulled through a forward-only cursor in fixed size chunks, so an unpaged stream never
+    // materializes the whole table; the entities are loaded read-only to skip dirty-checking snapshots.
+    @QueryHints({
+        @QueryHint(name = HINT_FETCH_SIZE, value = "500"),
+        @QueryHint(name = HINT_READ_ONLY, value = "true")
+    })
     @Query("from Employee")
     Stream<Employee> findAllEmployee(final Pageable pageable);
+
+    // Pages are served from the query cache until the next write to the employees table, including the bulk
+    // updates and deletes below. The cached results are the projected column values, no entity cache is involved.
+    @QueryHints(@QueryHint(name = HINT_CACHEABLE, value = "true"))
+    @Query(SELECT_EMPLOYEE_DTO + "from Employee e")
+    List<EmployeeDTO> findAllEmployeeDTO(final Pageable pageable);
+    @Query(SELECT_EMPLOYEE_DTO + "from Employee e where e.id = :id")
+    Optional<EmployeeDTO> findEmployeeDTOById(final UUID id);
+    @QueryHints(@QueryHint(name = HINT_FETCH_SIZE, value = "500"))
+    @Query(SELECT_EMPLOYEE_DTO + "from Employee e")
+    Stream<EmployeeDTO> streamAllEmployeeDTO();
+
+    // Locked for share until the transaction commits: a write to one of the rows waits, so its outbox event is
+    // ordered after the snapshot of the row, and a snapshot of a row being written waits for the write.
+    @Lock(LockModeType.PESSIMISTIC_READ)
+    @QueryHints(@QueryHint(name = HINT_READ_ONLY, value = "true"))
+    @Query("from Employee e where e.id > :after order by e.id")
+    List<Employee> findAfterForShare(final UUID after, final Limit limit);
+
+    // Keyset pagination seeks on the primary key index, so every page costs the same regardless of its depth.
+    @QueryHints(@QueryHint(name = HINT_CACHEABLE, value = "true"))
+    @Query(SELECT_EMPLOYEE_DTO + "from Employee e order by e.id")
+    List<EmployeeDTO> findFirstEmployeeDTOs(final Limit limit);
+    @QueryHints(@QueryHint(name = HINT_CACHEABLE, value = "true"))
+    @Query(SELECT_EMPLOYEE_DTO + "from Employee e where e.id > :after order by e.id")
+    List<EmployeeDTO> findEmployeeDTOsAfter(final UUID after, final Limit limit);
+
+    // Delta sync, keyset paginated on (updatedAt, id) from the given position up to the given time. The first
+    // condition bounds the scan of employees_updated_at_id_idx, the second skips the rows up to the position.
+    @QueryHints(@QueryHint(name = HINT_READ_ONLY, value = "true"))
+    @Query("from Employee e where e.updatedAt >= :since and (e.updatedAt > :since or e.id > :after) "
+        + "and e.updatedAt < :until order by e.updatedAt, e.id")
+    List<Employee> findChangedSince(final Instant since, final UUID after, final Instant until, final Limit limit);
+
     boolean existsEmployeeByEmail(final String email);
+    @Query("select e.email from Employee e where e.email in :emails")
+    Set<String> findExistingEmails(final Collection<String> emails);
+
+    // Scans the table, only used to reconcile the headcounts kept in memory. Rows are email domain, last name
+    // initial and headcount, grouped the way EmployeeHeadcounts groups employees.
+    @Query("select lower(substring(e.email, locate('@', e.email) + 1)), upper(substring(e.lastName, 1, 1)), count(e) "
+        + "from Employee e "
+        + "group by lower(substring(e.email, locate('@', e.email) + 1)), upper(substring(e.lastName, 1, 1))")
+    List<Object[]> countByEmailDomainAndLastNameInitial();
 }
@@ -0,0 +1,10 @@
+package com.martikan.employeeapi.repository;
+
+import com.martikan.employeeapi.dto.EmployeeDTO;
+import com.martikan.employeeapi.dto.EmployeeSearchDTO;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+
+public interface EmployeeSearchRepository {
+    Slice<EmployeeDTO> searchEmployees(final EmployeeSearchDTO search, final Pageable pageable);
+}
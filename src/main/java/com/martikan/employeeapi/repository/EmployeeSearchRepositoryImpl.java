@@ -0,0 +1,93 @@
+package com.martikan.employeeapi.repository;
+
+import com.martikan.employeeapi.domain.Employee;
+import com.martikan.employeeapi.domain.Employee_;
+import com.martikan.employeeapi.dto.EmployeeDTO;
+import com.martikan.employeeapi.dto.EmployeeSearchDTO;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.Expression;
+import jakarta.persistence.criteria.Predicate;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.repository.query.QueryUtils;
+
+import java.util.ArrayList;
+import java.util.Locale;
+
+/**
+ * Dynamic employee search. Every filter compares {@code lower(column)} so that it can use the expression
+ * indexes created by {@link com.martikan.employeeapi.config.SearchIndexInitializer}: prefixes the
+ * {@code text_pattern_ops} B-tree indexes, domain and substring matches the trigram indexes.
+ */
+@RequiredArgsConstructor
+public class EmployeeSearchRepositoryImpl implements EmployeeSearchRepository {
+
+    private static final char ESCAPE = '\\';
+
+    private final EntityManager entityManager;
+
+    @Override
+    public Slice<EmployeeDTO> searchEmployees(final EmployeeSearchDTO search, final Pageable pageable) {
+        final var cb = entityManager.getCriteriaBuilder();
+        final var query = cb.createQuery(EmployeeDTO.class);
+        final var employee = query.from(Employee.class);
+        query.select(cb.construct(EmployeeDTO.class,
+            employee.get(Employee_.id),
+            employee.get(Employee_.email),
+            employee.get(Employee_.firstName),
+            employee.get(Employee_.lastName),
+            employee.get(Employee_.version)));
+
+        final var email = cb.lower(employee.get(Employee_.email));
+        final var firstName = cb.lower(employee.get(Employee_.firstName));
+        final var lastName = cb.lower(employee.get(Employee_.lastName));
+        final var predicates = new ArrayList<Predicate>();
+        if (hasText(search.getEmailDomain())) {
+            predicates.add(like(cb, email, "%@" + escape(search.getEmailDomain())));
+        }
+        if (hasText(search.getFirstNamePrefix())) {
+            predicates.add(like(cb, firstName, escape(search.getFirstNamePrefix()) + "%"));
+        }
+        if (hasText(search.getLastNamePrefix())) {
+            predicates.add(like(cb, lastName, escape(search.getLastNamePrefix()) + "%"));
+        }
+        if (hasText(search.getContains())) {
+            final var pattern = "%" + escape(search.getContains()) + "%";
+            predicates.add(cb.or(like(cb, firstName, pattern), like(cb, lastName, pattern), like(cb, email, pattern)));
+        }
+        query.where(predicates.toArray(Predicate[]::new));
+        // A stable order is required for offset pages not to skip or repeat rows.
+        query.orderBy(QueryUtils.toOrders(pageable.getSort().and(Sort.by(Employee_.ID)), employee, cb));
+
+        // One extra row tells whether there is a next page, no COUNT(*) is needed.
+        final var content = new ArrayList<>(entityManager.createQuery(query)
+            .setFirstResult((int) pageable.getOffset())
+            .setMaxResults(pageable.getPageSize() + 1)
+            .getResultList());
+        final var hasNext = content.size() > pageable.getPageSize();
+        if (hasNext) {
+            content.remove(pageable.getPageSize());
+        }
+        return new SliceImpl<>(content, pageable, hasNext);
+    }
+
+    private static Predicate like(final CriteriaBuilder cb, final Expression<String> column, final String pattern) {
+        return cb.like(column, pattern, ESCAPE);
+    }
+
+    private static boolean hasText(final String value) {
+        return value != null && !value.isBlank();
+    }
+
+    // User input is matched literally, its LIKE wildcards and the escape character itself are escaped.
+    private static String escape(final String value) {
+        return value.trim().toLowerCase(Locale.ROOT)
+            .replace("\\", "\\\\")
+            .replace("%", "\\%")
+            .replace("_", "\\_");
+    }
+}
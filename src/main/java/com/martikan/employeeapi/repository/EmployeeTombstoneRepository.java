@@ -0,0 +1,28 @@
+package com.martikan.employeeapi.repository;
+
+import com.martikan.employeeapi.domain.EmployeeTombstone;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+
+public interface EmployeeTombstoneRepository extends JpaRepository<EmployeeTombstone, UUID> {
+    // Same keyset as EmployeeRepository#findChangedSince, on employee_tombstones_deleted_at_id_idx.
+    @Query("from EmployeeTombstone t where t.deletedAt >= :since and (t.deletedAt > :since or t.id > :after) "
+        + "and t.deletedAt < :until order by t.deletedAt, t.id")
+    List<EmployeeTombstone> findDeletedSince(final Instant since, final UUID after, final Instant until,
+                                             final Limit limit);
+
+    // A single insert, save would select the assigned id first to tell a new tombstone from an existing one.
+    @Modifying
+    @Query("insert into EmployeeTombstone (id, deletedAt) values (:id, :deletedAt)")
+    void insertTombstone(final UUID id, final Instant deletedAt);
+
+    @Modifying
+    @Query("delete from EmployeeTombstone t where t.deletedAt < :before")
+    int deleteDeletedBefore(final Instant before);
+}
@@ -0,0 +1,15 @@
+package com.martikan.employeeapi.repository;
+
+import com.martikan.employeeapi.dto.EmployeeDTO;
+
+import java.time.Instant;
+import java.util.Optional;
+import java.util.UUID;
+
+public interface EmployeeWriteRepository {
+    // Both return the state the write replaced, empty when no row matched: the employee does not exist or, when
+    // a version is given, has been modified since.
+    Optional<EmployeeDTO> updateEmployee(final UUID id, final Long version, final String email,
+                                         final String firstName, final String lastName, final Instant updatedAt);
+    Optional<EmployeeDTO> deleteEmployeeById(final UUID id, final Long version);
+}
@@ -0,0 +1,94 @@
+package com.martikan.employeeapi.repository;
+
+import com.martikan.employeeapi.domain.Employee;
+import com.martikan.employeeapi.dto.EmployeeDTO;
+import jakarta.persistence.EntityManager;
+import lombok.RequiredArgsConstructor;
+import org.hibernate.action.internal.BulkOperationCleanupAction;
+import org.hibernate.dialect.PostgreSQLDialect;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.query.NativeQuery;
+
+import java.time.Instant;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Updates and deletes as single statements that return the row they replaced, so the previous state published
+ * with a change costs no extra round trip and no lock is held between a read and the write. PostgreSQL returns it
+ * through {@code RETURNING}, an update joins the row it locks to read the old values. H2, which the tests run on,
+ * has no {@code RETURNING} and reads them from the {@code old table} of the statement instead.
+ */
+@RequiredArgsConstructor
+public class EmployeeWriteRepositoryImpl implements EmployeeWriteRepository {
+
+    private static final String VERSION_PREDICATE = " and version = :version";
+
+    private static final String UPDATE_POSTGRES = "update employees e set email = :email, first_name = :firstName, "
+        + "last_name = :lastName, version = e.version + 1, updated_at = :updatedAt "
+        + "from (select id, email, first_name, last_name, version from employees where id = :id%s for update) previous "
+        + "where e.id = previous.id returning previous.id, previous.email, previous.first_name, previous.last_name, "
+        + "previous.version";
+
+    private static final String DELETE_POSTGRES = "delete from employees where id = :id%s "
+        + "returning id, email, first_name, last_name, version";
+
+    private static final String UPDATE_H2 = "select id, email, first_name, last_name, version from old table ("
+        + "update employees set email = :email, first_name = :firstName, last_name = :lastName, "
+        + "version = version + 1, updated_at = :updatedAt where id = :id%s)";
+
+    private static final String DELETE_H2 = "select id, email, first_name, last_name, version from old table ("
+        + "delete from employees where id = :id%s)";
+
+    private final EntityManager entityManager;
+
+    @Override
+    public Optional<EmployeeDTO> updateEmployee(final UUID id, final Long version, final String email,
+                                                final String firstName, final String lastName,
+                                                final Instant updatedAt) {
+        return write(isPostgres() ? UPDATE_POSTGRES : UPDATE_H2, id, version, Map.of(
+            "email", email,
+            "firstName", firstName,
+            "lastName", lastName,
+            "updatedAt", updatedAt));
+    }
+
+    @Override
+    public Optional<EmployeeDTO> deleteEmployeeById(final UUID id, final Long version) {
+        return write(isPostgres() ? DELETE_POSTGRES : DELETE_H2, id, version, Map.of());
+    }
+
+    @SuppressWarnings("unchecked")
+    private Optional<EmployeeDTO> write(final String statement, final UUID id, final Long version,
+                                        final Map<String, Object> parameters) {
+        final var session = entityManager.unwrap(SharedSessionContractImplementor.class);
+        final var query = (NativeQuery<Object[]>) session.createNativeQuery(
+                String.format(statement, version == null ? "" : VERSION_PREDICATE))
+            .addScalar("id", UUID.class)
+            .addScalar("email", String.class)
+            .addScalar("first_name", String.class)
+            .addScalar("last_name", String.class)
+            .addScalar("version", Long.class)
+            .addSynchronizedEntityClass(Employee.class)
+            .setParameter("id", id);
+        if (version != null) {
+            query.setParameter("version", version);
+        }
+        parameters.forEach(query::setParameter);
+        final var rows = query.getResultList();
+        // Runs as a query, so the cached query results over employees are dropped here, as for any bulk write.
+        BulkOperationCleanupAction.schedule(session,
+            session.getFactory().getMappingMetamodel().getEntityDescriptor(Employee.class));
+        return rows.stream()
+            .findFirst()
+            .map(row -> new EmployeeDTO((UUID) row[0], (String) row[1], (String) row[2], (String) row[3],
+                (Long) row[4]));
+    }
+
+    private boolean isPostgres() {
+        return entityManager.getEntityManagerFactory().unwrap(SessionFactoryImplementor.class)
+            .getJdbcServices().getDialect() instanceof PostgreSQLDialect;
+    }
+}
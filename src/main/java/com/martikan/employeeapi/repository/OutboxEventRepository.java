@@ -0,0 +1,19 @@
+package com.martikan.employeeapi.repository;
+
+import com.martikan.employeeapi.domain.OutboxEvent;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+
+import java.util.List;
+
+public interface OutboxEventRepository extends JpaRepository<OutboxEvent, Long> {
+    // Not SKIP LOCKED: a relay on another instance has to wait for the running one, or it could send later events
+    // of the same employee before the earlier ones.
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("from OutboxEvent e order by e.id")
+    List<OutboxEvent> findOldestForUpdate(final Limit limit);
+    boolean existsByIdLessThanEqual(final Long id);
+}
@@ -0,0 +1,16 @@
+package com.martikan.employeeapi.repository;
+
+import com.martikan.employeeapi.domain.OutboxSnapshot;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+
+import java.util.Optional;
+
+public interface OutboxSnapshotRepository extends JpaRepository<OutboxSnapshot, String> {
+    // Serializes the batches of instances snapshotting at the same time.
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("from OutboxSnapshot s where s.topic = :topic")
+    Optional<OutboxSnapshot> findByTopicForUpdate(final String topic);
+}
@@ -0,0 +1,128 @@
+package com.martikan.employeeapi.service;
+
+import com.martikan.employeeapi.common.SingleFlight;
+import com.martikan.employeeapi.dto.BatchGetResultDTO;
+import com.martikan.employeeapi.dto.BulkItemResultDTO;
+import com.martikan.employeeapi.dto.CursorPage;
+import com.martikan.employeeapi.dto.EmployeeDTO;
+import com.martikan.employeeapi.dto.EmployeeSearchDTO;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.context.annotation.Primary;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.stereotype.Service;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.Consumer;
+
+/**
+ * Puts a {@link SingleFlight} in front of the hot reads of {@link EmployeeServiceImpl}, so concurrent identical
+ * requests, e.g. for a popular employee, share one query. It sits outside of the transaction and the cache of
+ * the delegate, waiting callers hold no database connection. Once a write through it has committed, the reads in
+ * flight it affects are forgotten, so its client and every caller after it read the write rather than share a
+ * read that started before it. Writes of other instances are seen by the reads starting after they commit, like
+ * without coalescing. Everything else is delegated as is. Not used while the employee view serves the reads, see
+ * {@code EmployeeViewConfig}.
+ */
+@ConditionalOnExpression("!${employee-api.employee-view.enabled:false} "
+    + "or '${spring.kafka.bootstrap-servers:}'.isEmpty()")
+@Primary
+@Service
+public class CoalescingEmployeeService implements EmployeeService {
+
+    private final EmployeeService delegate;
+
+    private final SingleFlight<UUID, EmployeeDTO> employeeById;
+
+    private final SingleFlight<Pageable, List<EmployeeDTO>> employeePages;
+
+    private final SingleFlight<CursorKey, CursorPage<EmployeeDTO>> employeeCursorPages;
+
+    public CoalescingEmployeeService(@Qualifier("employeeServiceImpl") final EmployeeService delegate,
+                                     final MeterRegistry meterRegistry) {
+        this.delegate = delegate;
+        employeeById = new SingleFlight<>("employee-by-id", meterRegistry);
+        employeePages = new SingleFlight<>("employee-pages", meterRegistry);
+        employeeCursorPages = new SingleFlight<>("employee-cursor-pages", meterRegistry);
+    }
+
+    @Override
+    public List<EmployeeDTO> getAllEmployees(final Pageable pageable) {
+        return employeePages.execute(pageable, () -> delegate.getAllEmployees(pageable));
+    }
+
+    @Override
+    public CursorPage<EmployeeDTO> getAllEmployees(final String cursor, final int size) {
+        return employeeCursorPages.execute(new CursorKey(cursor == null ? "" : cursor, size),
+            () -> delegate.getAllEmployees(cursor, size));
+    }
+
+    @Override
+    public Slice<EmployeeDTO> searchEmployees(final EmployeeSearchDTO search, final Pageable pageable) {
+        return delegate.searchEmployees(search, pageable);
+    }
+
+    @Override
+    public void exportEmployees(final Consumer<EmployeeDTO> consumer) {
+        delegate.exportEmployees(consumer);
+    }
+
+    @Override
+    public EmployeeDTO getEmployeeById(final UUID id) {
+        return employeeById.execute(id, () -> delegate.getEmployeeById(id));
+    }
+
+    @Override
+    public BatchGetResultDTO getEmployeesByIds(final Collection<UUID> ids) {
+        return delegate.getEmployeesByIds(ids);
+    }
+
+    @Override
+    public void updateEmployee(final EmployeeDTO dto) {
+        delegate.updateEmployee(dto);
+        forget(dto.getId());
+    }
+
+    @Override
+    public void saveEmployee(final EmployeeDTO dto) {
+        delegate.saveEmployee(dto);
+        forgetPages();
+    }
+
+    @Override
+    public List<BulkItemResultDTO> saveEmployees(final List<EmployeeDTO> dtos) {
+        final var results = delegate.saveEmployees(dtos);
+        forgetPages();
+        return results;
+    }
+
+    @Override
+    public void deleteEmployeeById(final UUID id) {
+        delegate.deleteEmployeeById(id);
+        forget(id);
+    }
+
+    @Override
+    public void deleteEmployeeById(final UUID id, final long version) {
+        delegate.deleteEmployeeById(id, version);
+        forget(id);
+    }
+
+    // The delegate has committed, nothing is coalesced across a transaction of the caller.
+    private void forget(final UUID id) {
+        employeeById.forget(id);
+        forgetPages();
+    }
+
+    private void forgetPages() {
+        employeePages.forgetAll();
+        employeeCursorPages.forgetAll();
+    }
+
+    private record CursorKey(String cursor, int size) {
+    }
+}
@@ -0,0 +1,109 @@
+package com.martikan.employeeapi.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.martikan.employeeapi.config.OutboxProperties;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.common.TopicPartition;
+import org.apache.kafka.common.errors.SerializationException;
+import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.kafka.listener.ConsumerSeekAware;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Passes the employee changes of all instances from the change topic to the {@link EmployeeChangeListener}s.
+ * <p>
+ * Every instance reads all partitions in a consumer group of its own. It starts {@code employee-api.outbox.replay}
+ * before it was created, so changes committed before the listeners loaded their state but relayed after are not
+ * missed; listeners have to tolerate seeing such a change again. Events the relay sent twice are skipped by the
+ * version of their employee: a change is only passed on when it is newer than the last one passed on for the same
+ * employee, and a delete is newer than any update of the version it deletes. Event ids cannot be used for that, they
+ * are assigned when the change is written, not when it commits. Tombstones are skipped as the delete before them
+ * has been passed on already, and so are the snapshots of {@link EmployeeViewSnapshot}, which are no changes.
+ */
+@Slf4j
+public class EmployeeChangeConsumer implements ConsumerSeekAware {
+
+    private final EmployeeChangedEventDeserializer deserializer;
+
+    private final List<EmployeeChangeListener> listeners;
+
+    private final Instant start;
+
+    // Versions are only remembered for the replay window: the relay sends a batch again within seconds, and older
+    // changes are only read again after a restart, which starts with an empty cache anyway. Only used by the thread
+    // of the listener container.
+    private final Cache<UUID, Long> passedVersions;
+
+    public EmployeeChangeConsumer(final ObjectMapper objectMapper, final List<EmployeeChangeListener> listeners,
+                                  final OutboxProperties properties) {
+        this.deserializer = new EmployeeChangedEventDeserializer(objectMapper);
+        this.listeners = listeners;
+        this.start = Instant.now().minus(properties.getReplay());
+        this.passedVersions = Caffeine.newBuilder()
+            .expireAfterWrite(properties.getReplay())
+            .build();
+    }
+
+    @KafkaListener(
+        topics = "${employee-api.outbox.topic:employee-changes}",
+        groupId = "employee-api-#{T(java.util.UUID).randomUUID()}",
+        properties = {
+            "auto.offset.reset=latest",
+            "value.deserializer=org.apache.kafka.common.serialization.ByteArrayDeserializer"
+        })
+    public void onRecord(final ConsumerRecord<String, byte[]> record) {
+        if (record.value() == null) {
+            return;
+        }
+        final EmployeeChangedEvent event;
+        try {
+            event = deserializer.deserialize(record.topic(), record.value());
+        } catch (SerializationException e) {
+            log.warn("Skipping malformed employee change at offset {} of partition {}", record.offset(),
+                record.partition(), e);
+            return;
+        }
+        // Snapshots only seed the view, they are no changes.
+        if (event.type() == EmployeeChangedEvent.Type.SNAPSHOT || isDuplicate(event)) {
+            return;
+        }
+        listeners.forEach(listener -> listener.onEmployeeChanged(event));
+    }
+
+    @Override
+    public void onPartitionsAssigned(final Map<TopicPartition, Long> assignments,
+                                     final ConsumerSeekCallback callback) {
+        callback.seekToTimestamp(assignments.keySet(), start.toEpochMilli());
+    }
+
+    private boolean isDuplicate(final EmployeeChangedEvent event) {
+        final var version = versionOf(event);
+        if (version == null) {
+            return false;
+        }
+        final var last = passedVersions.getIfPresent(event.id());
+        if (last != null && last >= version) {
+            return true;
+        }
+        passedVersions.put(event.id(), version);
+        return false;
+    }
+
+    // Doubled, so the delete of a version ranks above the update that wrote it.
+    private static Long versionOf(final EmployeeChangedEvent event) {
+        final var employee = event.type() == EmployeeChangedEvent.Type.DELETED ? event.previous() : event.employee();
+        if (employee == null || employee.getVersion() == null) {
+            return null;
+        }
+        return event.type() == EmployeeChangedEvent.Type.DELETED
+            ? employee.getVersion() * 2 + 1
+            : employee.getVersion() * 2;
+    }
+}
@@ -0,0 +1,426 @@
+package com.martikan.employeeapi.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.martikan.employeeapi.common.KeysetCursor;
+import com.martikan.employeeapi.config.ChangeFeedProperties;
+import com.martikan.employeeapi.dto.EmployeeChangeDTO;
+import com.martikan.employeeapi.exception.BadRequestException;
+import com.martikan.employeeapi.exception.GoneException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter.DataWithMediaType;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Pushes the committed writes of {@link EmployeeService} to Server-Sent Events subscribers.
+ * <p>
+ * As an {@link EmployeeChangeListener} it follows the writes of all instances from the change topic when a broker
+ * is configured, subscribing right after startup may then repeat the changes of the replay window of
+ * {@link EmployeeChangeConsumer}. Without a broker it only sees the writes of its own instance, so it is only
+ * created for a single instance, see {@code ChangeFeedConfig}.
+ * <p>
+ * A subscription is an async request, an idle subscriber holds a connection but no thread. Each event is
+ * rendered once and queued to every subscriber; a subscriber with queued events gets a task on the executor that
+ * writes them out and ends once the queue is empty. A subscriber whose queue reaches the buffer size, whose write
+ * has been blocked for longer than the write timeout, or that finds the executor saturated is disconnected instead
+ * of slowing down the others, and is counted by {@code employee.changes.disconnected}. A blocked write holds the
+ * emitter, so such a subscriber is completed by its writing task once the write returns, never by the caller.
+ * <p>
+ * Event ids are the delta sync cursors of the changes, their time and employee id, so they mean the same on every
+ * instance. The latest events are kept, so a client reconnecting with {@code Last-Event-ID}, e.g. after being
+ * disconnected as slow, gets what it missed. When the id is not among them, e.g. as the client was subscribed to
+ * another instance, the changes after it are read from {@link EmployeeDeltaSync}, sent as {@code updated} or
+ * {@code deleted}, followed by the newer kept events; a change may be sent twice around that point. Only when
+ * there are more changes than the history holds, they are gone, or the id is malformed, the client gets a
+ * {@code reset} event and has to reload the employees before following the feed.
+ */
+public class EmployeeChangeFeed implements EmployeeChangeListener {
+
+    static final String RESET_EVENT = "reset";
+
+    private final ObjectMapper objectMapper;
+
+    private final EmployeeDeltaSync deltaSync;
+
+    private final Executor executor;
+
+    private final ChangeFeedProperties properties;
+
+    private final Counter disconnected;
+
+    private final Set<Subscriber> subscribers = ConcurrentHashMap.newKeySet();
+
+    // Not synchronized: writers would pin their virtual threads while waiting for the lock.
+    private final Lock lock = new ReentrantLock();
+
+    // Guarded by the lock, in the order the events were sent.
+    private final ArrayDeque<Entry> history = new ArrayDeque<>();
+
+    public EmployeeChangeFeed(final ObjectMapper objectMapper, final EmployeeDeltaSync deltaSync,
+                              final Executor executor, final ChangeFeedProperties properties,
+                              final MeterRegistry meterRegistry) {
+        this.objectMapper = objectMapper;
+        this.deltaSync = deltaSync;
+        this.executor = executor;
+        this.properties = properties;
+        Gauge.builder("employee.changes.subscribers", subscribers, Set::size)
+            .description("Subscribers of the employee change feed")
+            .register(meterRegistry);
+        disconnected = Counter.builder("employee.changes.disconnected")
+            .description("Subscribers of the employee change feed disconnected for falling behind or stalling")
+            .register(meterRegistry);
+    }
+
+    /**
+     * Subscribes to the events after {@code lastEventId}, or to the events from now on if it is {@code null}.
+     */
+    public SseEmitter subscribe(final String lastEventId) {
+        final var subscriber = new Subscriber(createEmitter());
+        subscriber.emitter.onCompletion(() -> subscribers.remove(subscriber));
+        subscriber.emitter.onTimeout(() -> subscribers.remove(subscriber));
+        subscriber.emitter.onError(e -> subscribers.remove(subscriber));
+        if (!join(subscriber, lastEventId == null || lastEventId.isEmpty() ? null : lastEventId)) {
+            catchUp(subscriber, lastEventId);
+        }
+        subscriber.flush();
+        return subscriber.emitter;
+    }
+
+    @Override
+    public void onEmployeeChanged(final EmployeeChangedEvent event) {
+        final var position = event.changedAt() == null
+            ? null
+            : new KeysetCursor.Position(event.changedAt(), event.id());
+        final var rendered = render(position, event.type().name().toLowerCase(Locale.ROOT), EmployeeChangeDTO.builder()
+            .id(event.id())
+            .employee(event.employee())
+            .changedAt(event.changedAt())
+            .build());
+        final var slow = new ArrayList<Subscriber>();
+        lock.lock();
+        try {
+            history.addLast(new Entry(position, rendered));
+            if (history.size() > properties.getHistory()) {
+                history.removeFirst();
+            }
+            for (final var subscriber : subscribers) {
+                if (!subscriber.offer(rendered)) {
+                    slow.add(subscriber);
+                }
+            }
+        } finally {
+            lock.unlock();
+        }
+        slow.forEach(this::disconnect);
+    }
+
+    /**
+     * Keeps proxies from closing idle subscriptions and finds the ones whose client is gone or has stopped reading.
+     */
+    @Scheduled(fixedDelayString = "${employee-api.change-feed.heartbeat-interval:PT15S}")
+    public void heartbeat() {
+        final var comment = SseEmitter.event().comment("heartbeat").build();
+        final var now = System.nanoTime();
+        for (final var subscriber : subscribers) {
+            if (subscriber.isStalled(now) || !subscriber.offer(comment)) {
+                disconnect(subscriber);
+            }
+        }
+    }
+
+    public int getSubscriberCount() {
+        return subscribers.size();
+    }
+
+    SseEmitter createEmitter() {
+        return new SseEmitter(properties.getTimeout().toMillis());
+    }
+
+    private void disconnect(final Subscriber subscriber) {
+        if (subscribers.remove(subscriber)) {
+            disconnected.increment();
+            subscriber.close();
+        }
+    }
+
+    // Replays the kept events after lastEventId and joins, under the lock, so no event is missed or sent twice in
+    // between. Returns false without joining when lastEventId is not among the kept events.
+    private boolean join(final Subscriber subscriber, final String lastEventId) {
+        lock.lock();
+        try {
+            if (lastEventId != null) {
+                final var after = positionOf(lastEventId);
+                var found = false;
+                for (final var entry : history) {
+                    if (found) {
+                        subscriber.replay(entry.event());
+                    } else {
+                        found = after != null && after.equals(entry.position());
+                    }
+                }
+                if (!found) {
+                    subscriber.clear();
+                    return false;
+                }
+            }
+            subscribers.add(subscriber);
+            return true;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // The changes are read outside of the lock, not to hold up the events meanwhile. Those arrive in the history,
+    // so the kept events after the position are sent after the changes from the database.
+    private void catchUp(final Subscriber subscriber, final String lastEventId) {
+        final var after = positionOf(lastEventId);
+        final var changes = after == null ? null : changesAfter(lastEventId);
+        lock.lock();
+        try {
+            if (changes == null) {
+                subscriber.replay(render(history.isEmpty() ? null : history.getLast().position(), RESET_EVENT,
+                    RESET_EVENT));
+            } else {
+                final var sent = new HashSet<KeysetCursor.Position>();
+                for (final var change : changes) {
+                    final var position = new KeysetCursor.Position(change.getChangedAt(), change.getId());
+                    subscriber.replay(render(position, change.getEmployee() == null ? "deleted" : "updated", change));
+                    sent.add(position);
+                }
+                for (final var entry : history) {
+                    if (entry.position() != null && isAfter(entry.position(), after)
+                        && !sent.contains(entry.position())) {
+                        subscriber.replay(entry.event());
+                    }
+                }
+            }
+            subscribers.add(subscriber);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // Null when the client has to reload: the changes are gone or more than the history would hold.
+    private List<EmployeeChangeDTO> changesAfter(final String lastEventId) {
+        try {
+            final var page = deltaSync.getChanges(null, lastEventId, properties.getHistory());
+            return page.getNext() == null ? page.getItems() : null;
+        } catch (GoneException e) {
+            return null;
+        }
+    }
+
+    private Set<DataWithMediaType> render(final KeysetCursor.Position position, final String name,
+                                          final Object data) {
+        final var event = SseEmitter.event().name(name);
+        if (position != null) {
+            event.id(KeysetCursor.encode(position));
+        }
+        if (data instanceof String text) {
+            event.data(text);
+        } else {
+            try {
+                event.data(objectMapper.writeValueAsString(data), MediaType.APPLICATION_JSON);
+            } catch (JsonProcessingException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+        return event.build();
+    }
+
+    // Null for a malformed id, e.g. from before event ids were positions.
+    private static KeysetCursor.Position positionOf(final String eventId) {
+        try {
+            return KeysetCursor.decodePosition(eventId);
+        } catch (BadRequestException e) {
+            return null;
+        }
+    }
+
+    private static boolean isAfter(final KeysetCursor.Position position, final KeysetCursor.Position other) {
+        final var byTime = position.changedAt().compareTo(other.changedAt());
+        return byTime > 0 || byTime == 0 && position.id().compareTo(other.id()) > 0;
+    }
+
+    // Position is null for events relayed without the time of their change, which cannot be resumed from.
+    private record Entry(KeysetCursor.Position position, Set<DataWithMediaType> event) {
+    }
+
+    private final class Subscriber {
+
+        private final SseEmitter emitter;
+
+        private final Lock lock = new ReentrantLock();
+
+        // Guarded by the lock.
+        private final ArrayDeque<Set<DataWithMediaType>> queue = new ArrayDeque<>();
+
+        // Guarded by the lock, true while a task is writing out the queue.
+        private boolean draining;
+
+        // Guarded by the lock, System.nanoTime() at the start of the running write, 0 if there is none.
+        private long writeStarted;
+
+        // Guarded by the lock.
+        private boolean closed;
+
+        Subscriber(final SseEmitter emitter) {
+            this.emitter = emitter;
+        }
+
+        // Bounded by the history rather than the buffer, the subscriber is not reading yet.
+        void replay(final Set<DataWithMediaType> event) {
+            lock.lock();
+            try {
+                queue.addLast(event);
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        // Drops the replayed events, before the subscriber has joined.
+        void clear() {
+            lock.lock();
+            try {
+                queue.clear();
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        /**
+         * Queues the event, or returns {@code false} if the subscriber has fallen too far behind.
+         */
+        boolean offer(final Set<DataWithMediaType> event) {
+            lock.lock();
+            try {
+                if (closed) {
+                    return true;
+                } else if (queue.size() >= properties.getSubscriberBuffer()) {
+                    return false;
+                }
+                queue.addLast(event);
+            } finally {
+                lock.unlock();
+            }
+            flush();
+            return true;
+        }
+
+        void flush() {
+            lock.lock();
+            try {
+                if (draining || closed || queue.isEmpty()) {
+                    return;
+                }
+                draining = true;
+            } finally {
+                lock.unlock();
+            }
+            try {
+                executor.execute(this::drain);
+            } catch (RejectedExecutionException e) {
+                lock.lock();
+                try {
+                    draining = false;
+                } finally {
+                    lock.unlock();
+                }
+                disconnect(this);
+            }
+        }
+
+        boolean isStalled(final long now) {
+            lock.lock();
+            try {
+                return writeStarted != 0 && now - writeStarted > properties.getWriteTimeout().toNanos();
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        /**
+         * Drops the queued events and completes the emitter, or leaves that to the running write, which holds the
+         * emitter until it returns.
+         */
+        void close() {
+            lock.lock();
+            try {
+                if (closed) {
+                    return;
+                }
+                closed = true;
+                queue.clear();
+                if (writeStarted != 0) {
+                    return;
+                }
+            } finally {
+                lock.unlock();
+            }
+            emitter.complete();
+        }
+
+        private void drain() {
+            while (true) {
+                final Set<DataWithMediaType> next;
+                lock.lock();
+                try {
+                    next = closed ? null : queue.pollFirst();
+                    if (next == null) {
+                        draining = false;
+                        return;
+                    }
+                    writeStarted = System.nanoTime();
+                } finally {
+                    lock.unlock();
+                }
+                var failed = false;
+                try {
+                    emitter.send(next);
+                } catch (IOException | IllegalStateException e) {
+                    // The client is gone or the emitter has completed, the container completes the request.
+                    subscribers.remove(this);
+                    failed = true;
+                }
+                final boolean closedWhileWriting;
+                lock.lock();
+                try {
+                    writeStarted = 0;
+                    closedWhileWriting = closed;
+                    if (failed || closed) {
+                        closed = true;
+                        queue.clear();
+                        draining = false;
+                    }
+                } finally {
+                    lock.unlock();
+                }
+                if (failed) {
+                    return;
+                } else if (closedWhileWriting) {
+                    // Disconnected during the write, see close().
+                    emitter.complete();
+                    return;
+                }
+            }
+        }
+    }
+}
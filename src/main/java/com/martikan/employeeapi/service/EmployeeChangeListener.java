@@ -0,0 +1,13 @@
+package com.martikan.employeeapi.service;
+
+/**
+ * In-memory state derived from the committed employee changes, e.g. the typeahead index.
+ * <p>
+ * With a broker configured every instance reads the changes of all instances from the change topic through
+ * {@link EmployeeChangeConsumer}, about one outbox poll after they commit. Without one only the writes of this
+ * instance are seen, through {@link LocalEmployeeChanges}, which is only correct when running a single instance.
+ */
+public interface EmployeeChangeListener {
+
+    void onEmployeeChanged(EmployeeChangedEvent event);
+}
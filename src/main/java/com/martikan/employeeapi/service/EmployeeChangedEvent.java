@@ -0,0 +1,49 @@
+package com.martikan.employeeapi.service;
+
+import com.martikan.employeeapi.dto.EmployeeDTO;
+
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * Published by {@link EmployeeService} for every written employee. Listeners that keep derived state should
+ * use {@code @TransactionalEventListener}, so they only see writes that have been committed.
+ *
+ * @param type      kind of the write
+ * @param id        id of the employee
+ * @param employee  state after the write, {@code null} for deletes
+ * @param previous  state before the write, {@code null} for creates and snapshots
+ * @param changedAt time of the write as stored with the employee, {@code updatedAt} or the time of its tombstone,
+ *                  so the change has the same position in the delta sync
+ */
+public record EmployeeChangedEvent(Type type, UUID id, EmployeeDTO employee, EmployeeDTO previous,
+                                   Instant changedAt) {
+
+    public enum Type {
+        CREATED,
+        UPDATED,
+        DELETED,
+        /**
+         * Not a write: the current state of an employee, written to the outbox by {@link EmployeeViewSnapshot} to
+         * seed the change topic. Never published in the application.
+         */
+        SNAPSHOT
+    }
+
+    public static EmployeeChangedEvent created(final EmployeeDTO employee, final Instant changedAt) {
+        return new EmployeeChangedEvent(Type.CREATED, employee.getId(), employee, null, changedAt);
+    }
+
+    public static EmployeeChangedEvent updated(final EmployeeDTO employee, final EmployeeDTO previous,
+                                               final Instant changedAt) {
+        return new EmployeeChangedEvent(Type.UPDATED, employee.getId(), employee, previous, changedAt);
+    }
+
+    public static EmployeeChangedEvent snapshot(final EmployeeDTO employee, final Instant changedAt) {
+        return new EmployeeChangedEvent(Type.SNAPSHOT, employee.getId(), employee, null, changedAt);
+    }
+
+    public static EmployeeChangedEvent deleted(final EmployeeDTO previous, final Instant changedAt) {
+        return new EmployeeChangedEvent(Type.DELETED, previous.getId(), null, previous, changedAt);
+    }
+}
@@ -0,0 +1,46 @@
+package com.martikan.employeeapi.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.martikan.employeeapi.dto.EmployeeDTO;
+import org.apache.kafka.common.serialization.Deserializer;
+import org.springframework.kafka.support.serializer.JsonDeserializer;
+
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * Reads the events of the change topic, as sent by {@link EmployeeOutboxRelay}. Tombstones are read as
+ * {@code null}.
+ * <p>
+ * The relay sends plain JSON without type headers. It is read through a record of its own, as the version of
+ * EmployeeDTO is read-only for clients.
+ */
+final class EmployeeChangedEventDeserializer implements Deserializer<EmployeeChangedEvent> {
+
+    private final JsonDeserializer<Payload> payloads;
+
+    EmployeeChangedEventDeserializer(final ObjectMapper objectMapper) {
+        payloads = new JsonDeserializer<>(Payload.class, objectMapper, false);
+    }
+
+    @Override
+    public EmployeeChangedEvent deserialize(final String topic, final byte[] data) {
+        return data == null ? null : payloads.deserialize(topic, data).toEvent();
+    }
+
+    private record Payload(EmployeeChangedEvent.Type type, UUID id, Employee employee, Employee previous,
+                           Instant changedAt) {
+
+        private record Employee(UUID id, String email, String firstName, String lastName, Long version) {
+
+            EmployeeDTO toDTO() {
+                return new EmployeeDTO(id, email, firstName, lastName, version);
+            }
+        }
+
+        EmployeeChangedEvent toEvent() {
+            return new EmployeeChangedEvent(type, id, employee == null ? null : employee.toDTO(),
+                previous == null ? null : previous.toDTO(), changedAt);
+        }
+    }
+}
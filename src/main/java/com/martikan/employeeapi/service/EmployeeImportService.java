@@ -0,0 +1,11 @@
+package com.martikan.employeeapi.service;
+
+import com.martikan.employeeapi.dto.ImportJobDTO;
+
+import java.io.InputStream;
+import java.util.UUID;
+
+public interface EmployeeImportService {
+    ImportJobDTO startImport(final InputStream csv);
+    ImportJobDTO getImportJob(final UUID jobId);
+}
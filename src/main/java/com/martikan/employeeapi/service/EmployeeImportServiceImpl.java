@@ -0,0 +1,233 @@
+package com.martikan.employeeapi.service;
+
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.dataformat.csv.CsvMapper;
+import com.fasterxml.jackson.dataformat.csv.CsvParser;
+import com.martikan.employeeapi.dto.BulkItemResultDTO;
+import com.martikan.employeeapi.dto.EmployeeDTO;
+import com.martikan.employeeapi.dto.ImportJobDTO;
+import com.martikan.employeeapi.exception.BadRequestException;
+import com.martikan.employeeapi.exception.NotFoundException;
+import com.martikan.employeeapi.exception.ServiceUnavailableException;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Queue;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Imports employees from CSV files with an {@code email,firstName,lastName} header.
+ * <p>
+ * The request body is spooled to a temporary file, so the upload does not have to wait for the database, and
+ * the file is then parsed row by row on a worker thread. Rows are committed in chunks, each chunk in its own
+ * transaction through {@link EmployeeService#saveEmployees(List)}, so a bad row only rejects itself and memory
+ * stays bounded by the chunk size whatever the size of the file is.
+ */
+@Slf4j
+@RequiredArgsConstructor
+@Service
+public class EmployeeImportServiceImpl implements EmployeeImportService {
+
+    static final int CHUNK_SIZE = 500;
+
+    // Jobs kept for polling. The oldest finished ones make room for new jobs, running ones are never dropped, so
+    // once this many are running new imports are rejected.
+    static final int MAX_RETAINED_JOBS = 100;
+
+    private static final Duration RETRY_AFTER = Duration.ofSeconds(30);
+
+    private static final ObjectReader CSV_READER = new CsvMapper()
+        .enable(CsvParser.Feature.WRAP_AS_ARRAY)
+        .enable(CsvParser.Feature.SKIP_EMPTY_LINES)
+        .enable(CsvParser.Feature.TRIM_SPACES)
+        .readerFor(String[].class);
+
+    private final EmployeeService employeeService;
+
+    @Qualifier("applicationTaskExecutor")
+    private final AsyncTaskExecutor taskExecutor;
+
+    private final Map<UUID, ImportJob> jobs = new ConcurrentHashMap<>();
+
+    // Not synchronized: callers would pin their virtual threads while waiting for the lock.
+    private final Lock jobsLock = new ReentrantLock();
+
+    // Guarded by the jobs lock, ids in the order the jobs have been started.
+    private final Queue<UUID> jobOrder = new ArrayDeque<>();
+
+    @Override
+    public ImportJobDTO startImport(final InputStream csv) {
+        final var job = new ImportJob();
+        // Registered before the upload is spooled, so a rejected import does not take disk space first.
+        register(job);
+        Path file = null;
+        try {
+            file = Files.createTempFile("employee-import-", ".csv");
+            Files.copy(csv, file, StandardCopyOption.REPLACE_EXISTING);
+            final var spooled = file;
+            taskExecutor.execute(() -> runImport(job, spooled));
+        } catch (IOException e) {
+            abandon(job, file);
+            throw new UncheckedIOException("Could not spool the import file", e);
+        } catch (RuntimeException e) {
+            // E.g. RejectedExecutionException, the job would never run nor delete its file.
+            abandon(job, file);
+            throw e;
+        }
+        return job.toDTO();
+    }
+
+    @Override
+    public ImportJobDTO getImportJob(final UUID jobId) {
+        final var job = jobs.get(jobId);
+        if (job == null) {
+            throw new NotFoundException("Import job has been not found with the given id");
+        }
+        return job.toDTO();
+    }
+
+    private void register(final ImportJob job) {
+        jobsLock.lock();
+        try {
+            final var oldest = jobOrder.iterator();
+            while (jobOrder.size() >= MAX_RETAINED_JOBS && oldest.hasNext()) {
+                final var id = oldest.next();
+                if (jobs.get(id).isFinished()) {
+                    oldest.remove();
+                    jobs.remove(id);
+                }
+            }
+            if (jobOrder.size() >= MAX_RETAINED_JOBS) {
+                throw new ServiceUnavailableException("Too many imports are running, please retry later",
+                    RETRY_AFTER);
+            }
+            jobs.put(job.getId(), job);
+            jobOrder.add(job.getId());
+        } finally {
+            jobsLock.unlock();
+        }
+    }
+
+    private void abandon(final ImportJob job, final Path file) {
+        jobsLock.lock();
+        try {
+            jobOrder.remove(job.getId());
+            jobs.remove(job.getId());
+        } finally {
+            jobsLock.unlock();
+        }
+        deleteFile(file);
+    }
+
+    private void runImport(final ImportJob job, final Path file) {
+        job.start();
+        try (var reader = Files.newBufferedReader(file, StandardCharsets.UTF_8);
+             var rows = CSV_READER.<String[]>readValues(reader)) {
+            if (!rows.hasNextValue()) {
+                throw new BadRequestException("The file is empty");
+            }
+            final var columns = resolveColumns(rows.nextValue());
+            final var chunk = new ArrayList<EmployeeDTO>(CHUNK_SIZE);
+            final var chunkRows = new ArrayList<Long>(CHUNK_SIZE);
+            long row = 0;
+            while (rows.hasNextValue()) {
+                final var values = rows.nextValue();
+                row++;
+                if (values.length != columns.width()) {
+                    job.rejected(row, "Expected " + columns.width() + " columns but found " + values.length);
+                    continue;
+                }
+                chunk.add(EmployeeDTO.builder()
+                    .email(values[columns.email()])
+                    .firstName(values[columns.firstName()])
+                    .lastName(values[columns.lastName()])
+                    .build());
+                chunkRows.add(row);
+                if (chunk.size() == CHUNK_SIZE) {
+                    commitChunk(job, chunk, chunkRows);
+                }
+            }
+            commitChunk(job, chunk, chunkRows);
+            job.complete();
+        } catch (Exception e) {
+            log.warn("Import job {} failed", job.getId(), e);
+            job.fail(e.getMessage());
+        } finally {
+            deleteFile(file);
+        }
+    }
+
+    private static void deleteFile(final Path file) {
+        if (file == null) {
+            return;
+        }
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException e) {
+            log.warn("Could not delete import file {}", file, e);
+        }
+    }
+
+    private void commitChunk(final ImportJob job, final List<EmployeeDTO> chunk, final List<Long> chunkRows) {
+        if (chunk.isEmpty()) {
+            return;
+        }
+        try {
+            for (final var result : employeeService.saveEmployees(chunk)) {
+                if (result.getStatus() == BulkItemResultDTO.Status.CREATED) {
+                    job.created();
+                } else {
+                    job.rejected(chunkRows.get(result.getIndex()), result.getMessage());
+                }
+            }
+        } catch (RuntimeException e) {
+            // Only this chunk has been rolled back, e.g. when the same email was inserted concurrently.
+            log.warn("Import job {} could not commit a chunk", job.getId(), e);
+            chunkRows.forEach(row -> job.rejected(row, "Chunk has been rolled back: " + e.getMessage()));
+        }
+        chunk.clear();
+        chunkRows.clear();
+    }
+
+    private static Columns resolveColumns(final String[] header) {
+        int email = -1;
+        int firstName = -1;
+        int lastName = -1;
+        for (int i = 0; i < header.length; i++) {
+            switch (header[i].replace("_", "").toLowerCase(Locale.ROOT)) {
+                case "email" -> email = i;
+                case "firstname" -> firstName = i;
+                case "lastname" -> lastName = i;
+                default -> {
+                    // extra columns are ignored
+                }
+            }
+        }
+        if (email < 0 || firstName < 0 || lastName < 0) {
+            throw new BadRequestException("The header must contain email, firstName and lastName columns");
+        }
+        return new Columns(header.length, email, firstName, lastName);
+    }
+
+    private record Columns(int width, int email, int firstName, int lastName) {
+    }
+}
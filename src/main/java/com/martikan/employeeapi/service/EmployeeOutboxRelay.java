@@ -0,0 +1,118 @@
+package com.martikan.employeeapi.service;
+
+import com.martikan.employeeapi.config.OutboxProperties;
+import com.martikan.employeeapi.domain.OutboxEvent;
+import com.martikan.employeeapi.repository.OutboxEventRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.springframework.data.domain.Limit;
+import org.springframework.kafka.KafkaException;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Drains the outbox written by {@link EmployeeOutboxWriter} to Kafka in batches.
+ * <p>
+ * A batch is the oldest events of the outbox, locked, sent with the employee id as key and deleted in one
+ * transaction. All sends of a batch are in flight together; events of the same employee land in the same partition
+ * in the order of the outbox, which the idempotent producer keeps across retries. A batch that is not fully
+ * acknowledged is rolled back and sent again, so delivery is at least once and consumers drop duplicates by the
+ * version of the employee. A delete is followed by a tombstone, a record without value or headers, so compaction
+ * drops the deleted employee from the topic instead of keeping its last event forever. Relayed events are counted
+ * by {@code outbox.relayed}.
+ */
+@Slf4j
+public class EmployeeOutboxRelay {
+
+    static final String EVENT_ID_HEADER = "event-id";
+
+    static final String EVENT_TYPE_HEADER = "event-type";
+
+    private final OutboxEventRepository outboxEventRepository;
+
+    private final KafkaTemplate<String, String> kafkaTemplate;
+
+    private final TransactionTemplate transactionTemplate;
+
+    private final OutboxProperties properties;
+
+    private final Counter relayed;
+
+    public EmployeeOutboxRelay(final OutboxEventRepository outboxEventRepository,
+                               final KafkaTemplate<String, String> kafkaTemplate,
+                               final PlatformTransactionManager transactionManager,
+                               final OutboxProperties properties,
+                               final MeterRegistry meterRegistry) {
+        this.outboxEventRepository = outboxEventRepository;
+        this.kafkaTemplate = kafkaTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.properties = properties;
+        relayed = Counter.builder("outbox.relayed")
+            .description("Employee change events relayed from the outbox to Kafka")
+            .register(meterRegistry);
+    }
+
+    @Scheduled(fixedDelayString = "${employee-api.outbox.poll-interval:PT0.5S}")
+    public void relay() {
+        try {
+            int sent;
+            do {
+                sent = transactionTemplate.execute(status -> relayBatch());
+            } while (sent == properties.getBatchSize());
+        } catch (RuntimeException e) {
+            log.warn("Could not relay the outbox, retrying with the next poll", e);
+        }
+    }
+
+    private int relayBatch() {
+        final var events = outboxEventRepository.findOldestForUpdate(
+            Limit.of(properties.getBatchSize()));
+        if (events.isEmpty()) {
+            return 0;
+        }
+        final var sends = new ArrayList<CompletableFuture<?>>(events.size());
+        for (final var event : events) {
+            sends.add(kafkaTemplate.send(toRecord(event)));
+            if (EmployeeChangedEvent.Type.DELETED.name().equals(event.getType())) {
+                sends.add(kafkaTemplate.send(properties.getTopic(), event.getEmployeeId().toString(), null));
+            }
+        }
+        try {
+            CompletableFuture.allOf(sends.toArray(CompletableFuture[]::new))
+                .get(properties.getSendTimeout().toMillis(), TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new KafkaException("Interrupted while relaying the outbox", e);
+        } catch (ExecutionException | TimeoutException e) {
+            throw new KafkaException("Could not send a batch of " + events.size() + " employee change events", e);
+        }
+        outboxEventRepository.deleteAllByIdInBatch(ids(events));
+        relayed.increment(events.size());
+        return events.size();
+    }
+
+    private ProducerRecord<String, String> toRecord(final OutboxEvent event) {
+        final var record = new ProducerRecord<>(properties.getTopic(), event.getEmployeeId().toString(),
+            event.getPayload());
+        record.headers()
+            .add(EVENT_ID_HEADER, event.getId().toString().getBytes(StandardCharsets.UTF_8))
+            .add(EVENT_TYPE_HEADER, event.getType().getBytes(StandardCharsets.UTF_8));
+        return record;
+    }
+
+    private static List<Long> ids(final List<OutboxEvent> events) {
+        return events.stream().map(OutboxEvent::getId).toList();
+    }
+}
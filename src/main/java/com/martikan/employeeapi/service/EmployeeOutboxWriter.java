@@ -0,0 +1,49 @@
+package com.martikan.employeeapi.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.martikan.employeeapi.domain.OutboxEvent;
+import com.martikan.employeeapi.repository.OutboxEventRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.UncheckedIOException;
+import java.time.Instant;
+
+/**
+ * Writes every {@link EmployeeChangedEvent} to the outbox, in the transaction of the write that published it.
+ * The event is rolled back with the write, and a failing insert fails the write. Only active under the same
+ * condition as the relay in {@code OutboxConfig}, without a broker nothing would ever drain the outbox.
+ */
+@RequiredArgsConstructor
+@ConditionalOnProperty(prefix = "spring.kafka", name = "bootstrap-servers")
+@Component
+public class EmployeeOutboxWriter {
+
+    private final OutboxEventRepository outboxEventRepository;
+
+    private final ObjectMapper objectMapper;
+
+    @EventListener
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void onEmployeeChanged(final EmployeeChangedEvent event) {
+        outboxEventRepository.save(toOutboxEvent(event));
+    }
+
+    OutboxEvent toOutboxEvent(final EmployeeChangedEvent event) {
+        final var outboxEvent = new OutboxEvent();
+        outboxEvent.setEmployeeId(event.id());
+        outboxEvent.setType(event.type().name());
+        outboxEvent.setCreatedAt(Instant.now());
+        try {
+            outboxEvent.setPayload(objectMapper.writeValueAsString(event));
+        } catch (JsonProcessingException e) {
+            throw new UncheckedIOException(e);
+        }
+        return outboxEvent;
+    }
+}
@@ -1,15 +1,28 @@
 package com.martikan.employeeapi.service;
 
+import com.martikan.employeeapi.dto.BatchGetResultDTO;
+import com.martikan.employeeapi.dto.BulkItemResultDTO;
+import com.martikan.employeeapi.dto.CursorPage;
 import com.martikan.employeeapi.dto.EmployeeDTO;
+import com.martikan.employeeapi.dto.EmployeeSearchDTO;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.UUID;
+import java.util.function.Consumer;
 
 public interface EmployeeService {
     List<EmployeeDTO> getAllEmployees(final Pageable pageable);
+    CursorPage<EmployeeDTO> getAllEmployees(final String cursor, final int size);
+    Slice<EmployeeDTO> searchEmployees(final EmployeeSearchDTO search, final Pageable pageable);
+    void exportEmployees(final Consumer<EmployeeDTO> consumer);
     EmployeeDTO getEmployeeById(final UUID id);
+    BatchGetResultDTO getEmployeesByIds(final Collection<UUID> ids);
     void updateEmployee(final EmployeeDTO dto);
     void saveEmployee(final EmployeeDTO dto);
+    List<BulkItemResultDTO> saveEmployees(final List<EmployeeDTO> dtos);
     void deleteEmployeeById(final UUID id);
+    void deleteEmployeeById(final UUID id, final long version);
 }
@@ -1,48 +1,153 @@
 package com.martikan.employeeapi.service;
 
+import com.martikan.employeeapi.common.KeysetCursor;
+import com.martikan.employeeapi.config.CacheConfig;
+import com.martikan.employeeapi.domain.Employee;
+import com.martikan.employeeapi.dto.BatchGetResultDTO;
+import com.martikan.employeeapi.dto.BulkItemResultDTO;
+import com.martikan.employeeapi.dto.CursorPage;
 import com.martikan.employeeapi.dto.EmployeeDTO;
+import com.martikan.employeeapi.dto.EmployeeSearchDTO;
 import com.martikan.employeeapi.exception.BadRequestException;
 import com.martikan.employeeapi.exception.NotFoundException;
+import com.martikan.employeeapi.exception.PreconditionFailedException;
 import com.martikan.employeeapi.mapper.EmployeeMapper;
 import com.martikan.employeeapi.repository.EmployeeRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.validation.Validator;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Set;
 import java.util.UUID;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
 
 @RequiredArgsConstructor
 @Service
 @Transactional
 public class EmployeeServiceImpl implements EmployeeService {
 
+    // Matches hibernate.jdbc.batch_size, so every flush sends full JDBC batches.
+    private static final int INSERT_BATCH_SIZE = 50;
+
+    // Keeps the IN list of the email check well below the bind parameter limit of the driver.
+    private static final int EMAIL_CHECK_CHUNK_SIZE = 1000;
+
+    private static final int ID_LOOKUP_CHUNK_SIZE = 500;
+
     private final EmployeeRepository employeeRepository;
 
     private final EmployeeMapper mapper;
 
+    private final EntityManager entityManager;
+
+    private final Validator validator;
+
+    private final ApplicationEventPublisher eventPublisher;
+
     @Override
+    @Transactional(readOnly = true)
     public List<EmployeeDTO> getAllEmployees(final Pageable pageable) {
-        return employeeRepository.findAllEmployee(pageable)
-            .map(mapper::toDTO)
-            .toList();
+        return employeeRepository.findAllEmployeeDTO(pageable);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public CursorPage<EmployeeDTO> getAllEmployees(final String cursor, final int size) {
+        // One extra row is fetched to find out whether there is a next page without a COUNT query.
+        final var limit = Limit.of(size + 1);
+        final var employees = cursor == null || cursor.isEmpty()
+            ? employeeRepository.findFirstEmployeeDTOs(limit)
+            : employeeRepository.findEmployeeDTOsAfter(KeysetCursor.decode(cursor), limit);
+        if (employees.size() <= size) {
+            return new CursorPage<>(employees, null);
+        }
+        final var page = employees.subList(0, size);
+        return new CursorPage<>(page, KeysetCursor.encode(page.get(size - 1).getId()));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Slice<EmployeeDTO> searchEmployees(final EmployeeSearchDTO search, final Pageable pageable) {
+        return employeeRepository.searchEmployees(search, pageable);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public void exportEmployees(final Consumer<EmployeeDTO> consumer) {
+        try (var employees = employeeRepository.findAllEmployee(Pageable.unpaged())) {
+            employees.forEach(e -> {
+                consumer.accept(mapper.toDTO(e));
+                // Detached entities can be collected right away, so heap use does not grow with the table.
+                entityManager.detach(e);
+            });
+        }
     }
 
+    // Not sync = true: the loader would run inside ConcurrentHashMap.compute and pin virtual threads on the query.
+    // Not read-only, the entry is only evicted by the next write, a lagging replica would keep serving the old state.
     @Override
+    @Cacheable(cacheNames = CacheConfig.EMPLOYEES_CACHE, key = "#id")
     public EmployeeDTO getEmployeeById(final UUID id) {
-        return employeeRepository.findById(id)
-            .map(mapper::toDTO)
+        return employeeRepository.findEmployeeDTOById(id)
             .orElseThrow(() -> new NotFoundException("Employee has been not found with the given id"));
     }
 
     @Override
+    @Transactional(readOnly = true)
+    public BatchGetResultDTO getEmployeesByIds(final Collection<UUID> ids) {
+        final var requested = new ArrayList<>(new LinkedHashSet<>(ids));
+        final var employees = new HashMap<UUID, EmployeeDTO>(requested.size());
+        for (int from = 0; from < requested.size(); from += ID_LOOKUP_CHUNK_SIZE) {
+            final var chunk = requested.subList(from, Math.min(from + ID_LOOKUP_CHUNK_SIZE, requested.size()));
+            employeeRepository.findAllById(chunk).forEach(e -> employees.put(e.getId(), mapper.toDTO(e)));
+        }
+        final var found = new ArrayList<EmployeeDTO>(employees.size());
+        final var missing = new ArrayList<UUID>();
+        for (final var id : requested) {
+            final var employee = employees.get(id);
+            if (employee != null) {
+                found.add(employee);
+            } else {
+                missing.add(id);
+            }
+        }
+        return BatchGetResultDTO.builder()
+            .found(found)
+            .missing(missing)
+            .build();
+    }
+
+    @Override
+    @CacheEvict(cacheNames = CacheConfig.EMPLOYEES_CACHE, key = "#dto.id")
     public void updateEmployee(final EmployeeDTO dto) {
-        employeeRepository.findById(dto.getId())
-            .ifPresentOrElse(e -> {
-                final var employee = mapper.updateEntity(dto, e);
-                employeeRepository.save(employee);
-            }, () -> {throw new NotFoundException("Employee has been not found with the given id");});
+        final var updatedAt = now();
+        final var previous = employeeRepository.updateEmployee(dto.getId(), dto.getVersion(), dto.getEmail(),
+                dto.getFirstName(), dto.getLastName(), updatedAt)
+            .orElseThrow(() -> versionMismatchOrNotFound(dto.getId(), dto.getVersion()));
+        eventPublisher.publishEvent(EmployeeChangedEvent.updated(EmployeeDTO.builder()
+            .id(dto.getId())
+            .email(dto.getEmail())
+            .firstName(dto.getFirstName())
+            .lastName(dto.getLastName())
+            .version(previous.getVersion() + 1)
+            .build(), previous, updatedAt));
     }
 
     @Override
@@ -52,13 +157,119 @@ public class EmployeeServiceImpl implements EmployeeService {
         } else if (employeeRepository.existsEmployeeByEmail(dto.getEmail())) {
             throw new BadRequestException("Email is already exist");
         }
-        employeeRepository.save(mapper.toEntity(dto));
+        final var employee = employeeRepository.save(mapper.toEntity(dto));
+        eventPublisher.publishEvent(EmployeeChangedEvent.created(mapper.toDTO(employee), employee.getUpdatedAt()));
     }
 
     @Override
+    public List<BulkItemResultDTO> saveEmployees(final List<EmployeeDTO> dtos) {
+        final var results = new BulkItemResultDTO[dtos.size()];
+        final var accepted = new ArrayList<Integer>(dtos.size());
+        final var emails = new HashSet<String>();
+        for (int i = 0; i < dtos.size(); i++) {
+            final var rejection = validateForSave(dtos.get(i), emails);
+            if (rejection != null) {
+                results[i] = rejected(i, rejection);
+            } else {
+                accepted.add(i);
+            }
+        }
+
+        final var existingEmails = findExistingEmails(accepted.stream().map(i -> dtos.get(i).getEmail()).toList());
+        final var toInsert = new ArrayList<Integer>(accepted.size());
+        for (final var i : accepted) {
+            if (existingEmails.contains(dtos.get(i).getEmail())) {
+                results[i] = rejected(i, "Email is already exist");
+            } else {
+                toInsert.add(i);
+            }
+        }
+
+        for (int from = 0; from < toInsert.size(); from += INSERT_BATCH_SIZE) {
+            final var chunk = toInsert.subList(from, Math.min(from + INSERT_BATCH_SIZE, toInsert.size()));
+            final var employees = new ArrayList<Employee>(chunk.size());
+            for (final var i : chunk) {
+                employees.add(mapper.toEntity(dtos.get(i)));
+            }
+            employeeRepository.saveAll(employees);
+            // Sends the chunk as one JDBC batch and keeps the persistence context small.
+            entityManager.flush();
+            entityManager.clear();
+            for (int j = 0; j < chunk.size(); j++) {
+                final int i = chunk.get(j);
+                eventPublisher.publishEvent(EmployeeChangedEvent.created(mapper.toDTO(employees.get(j)),
+                    employees.get(j).getUpdatedAt()));
+                results[i] = BulkItemResultDTO.builder()
+                    .index(i)
+                    .id(employees.get(j).getId())
+                    .status(BulkItemResultDTO.Status.CREATED)
+                    .build();
+            }
+        }
+        return List.of(results);
+    }
+
+    @Override
+    @CacheEvict(cacheNames = CacheConfig.EMPLOYEES_CACHE, key = "#id")
     public void deleteEmployeeById(final UUID id) {
-        employeeRepository.findById(id)
-                .ifPresentOrElse(e -> employeeRepository.deleteById(id),
-                    () -> {throw new NotFoundException("Employee has been not found with the given id");});
+        final var previous = employeeRepository.deleteEmployeeById(id, null)
+            .orElseThrow(() -> versionMismatchOrNotFound(id, null));
+        eventPublisher.publishEvent(EmployeeChangedEvent.deleted(previous, now()));
+    }
+
+    @Override
+    @CacheEvict(cacheNames = CacheConfig.EMPLOYEES_CACHE, key = "#id")
+    public void deleteEmployeeById(final UUID id, final long version) {
+        final var previous = employeeRepository.deleteEmployeeById(id, version)
+            .orElseThrow(() -> versionMismatchOrNotFound(id, version));
+        eventPublisher.publishEvent(EmployeeChangedEvent.deleted(previous, now()));
+    }
+
+    // Truncated to the precision of the timestamp columns, so events carry the time as stored.
+    private static Instant now() {
+        return Instant.now().truncatedTo(ChronoUnit.MICROS);
+    }
+
+    // Only called after a write matched no row, to tell a stale version from a missing employee.
+    private RuntimeException versionMismatchOrNotFound(final UUID id, final Long version) {
+        if (version != null && employeeRepository.existsById(id)) {
+            return new PreconditionFailedException("Employee has been modified since the given version");
+        }
+        return new NotFoundException("Employee has been not found with the given id");
+    }
+
+    private String validateForSave(final EmployeeDTO dto, final Set<String> emailsInRequest) {
+        if (dto == null) {
+            return "Employee must not be null";
+        } else if (dto.getId() != null) {
+            return "Employee Id must be null for saving";
+        }
+        final var violations = validator.validate(dto);
+        if (!violations.isEmpty()) {
+            return violations.stream()
+                .map(v -> v.getPropertyPath() + ": " + v.getMessage())
+                .sorted()
+                .collect(Collectors.joining(", "));
+        } else if (!emailsInRequest.add(dto.getEmail())) {
+            return "Email is duplicated in the request";
+        }
+        return null;
+    }
+
+    private Set<String> findExistingEmails(final List<String> emails) {
+        final var existing = new HashSet<String>();
+        for (int from = 0; from < emails.size(); from += EMAIL_CHECK_CHUNK_SIZE) {
+            existing.addAll(employeeRepository.findExistingEmails(
+                emails.subList(from, Math.min(from + EMAIL_CHECK_CHUNK_SIZE, emails.size()))));
+        }
+        return existing;
+    }
+
+    private static BulkItemResultDTO rejected(final int index, final String message) {
+        return BulkItemResultDTO.builder()
+            .index(index)
+            .status(BulkItemResultDTO.Status.REJECTED)
+            .message(message)
+            .build();
     }
 }
@@ -0,0 +1,7 @@
+package com.martikan.employeeapi.service;
+
+import com.martikan.employeeapi.dto.EmployeeStatsDTO;
+
+public interface EmployeeStatsService {
+    EmployeeStatsDTO getStats();
+}
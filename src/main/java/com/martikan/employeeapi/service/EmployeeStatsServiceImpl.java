@@ -0,0 +1,147 @@
+package com.martikan.employeeapi.service;
+
+import com.martikan.employeeapi.common.EmployeeHeadcounts;
+import com.martikan.employeeapi.dto.EmployeeStatsDTO;
+import com.martikan.employeeapi.repository.EmployeeRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Serves headcounts kept in memory as {@link EmployeeHeadcounts}, so dashboards never scan the employees table.
+ * <p>
+ * As an {@link EmployeeChangeListener} every committed write moves its employee between groups through the
+ * previous and new state of its {@link EmployeeChangedEvent}, the writes of all instances when a broker is
+ * configured, otherwise only those of this one. The counts are reconciled with a GROUP BY over the table when the
+ * application starts and then periodically, always on the primary: a lagging replica would miss writes committed
+ * before the load, and those are not among the replayed events either. This repairs drift from writes bypassing
+ * the service and, without a broker, from other instances; the difference found is counted by
+ * {@code employee.stats.drift}. Events arriving while the counts are loading are replayed on top of them, an
+ * event committed right before the load, e.g. from the replay window of {@link EmployeeChangeConsumer} at
+ * startup, may be counted twice until the next reconciliation.
+ */
+@Slf4j
+@Service
+public class EmployeeStatsServiceImpl implements EmployeeStatsService, EmployeeChangeListener {
+
+    private final EmployeeRepository employeeRepository;
+
+    private final TransactionTemplate transactionTemplate;
+
+    private final Counter drift;
+
+    // Not synchronized: writers would pin their virtual threads while waiting for the lock.
+    private final Lock lock = new ReentrantLock();
+
+    // Held for a whole reconciliation, so a second one waits for the running one.
+    private final Lock reconcileLock = new ReentrantLock();
+
+    private volatile EmployeeHeadcounts headcounts = new EmployeeHeadcounts();
+
+    private volatile Instant reconciledAt;
+
+    // Guarded by the lock, not null while the counts are loading.
+    private List<EmployeeChangedEvent> pending;
+
+    public EmployeeStatsServiceImpl(final EmployeeRepository employeeRepository,
+                                    final PlatformTransactionManager transactionManager,
+                                    final MeterRegistry meterRegistry) {
+        this.employeeRepository = employeeRepository;
+        // Not read-only, so it is not routed to a replica.
+        transactionTemplate = new TransactionTemplate(transactionManager);
+        drift = Counter.builder("employee.stats.drift")
+            .description("Headcount differences repaired by reconciling with the database")
+            .register(meterRegistry);
+    }
+
+    @Override
+    public EmployeeStatsDTO getStats() {
+        final var counts = headcounts;
+        return EmployeeStatsDTO.builder()
+            .total(counts.getTotal())
+            .byEmailDomain(counts.getByEmailDomain())
+            .byLastNameInitial(counts.getByLastNameInitial())
+            .reconciledAt(reconciledAt)
+            .build();
+    }
+
+    @Override
+    public void onEmployeeChanged(final EmployeeChangedEvent event) {
+        lock.lock();
+        try {
+            if (pending != null) {
+                pending.add(event);
+                return;
+            }
+        } finally {
+            lock.unlock();
+        }
+        apply(headcounts, event);
+    }
+
+    @Scheduled(fixedDelayString = "${employee-api.stats.reconcile-interval:PT15M}")
+    public void reconcile() {
+        reconcileLock.lock();
+        try {
+            doReconcile();
+        } finally {
+            reconcileLock.unlock();
+        }
+    }
+
+    private void doReconcile() {
+        lock.lock();
+        try {
+            pending = new ArrayList<>();
+        } finally {
+            lock.unlock();
+        }
+        EmployeeHeadcounts loaded = null;
+        try {
+            loaded = transactionTemplate.execute(status -> {
+                final var fresh = new EmployeeHeadcounts();
+                for (final var group : employeeRepository.countByEmailDomainAndLastNameInitial()) {
+                    fresh.add((String) group[0], (String) group[1], (Long) group[2]);
+                }
+                return fresh;
+            });
+        } catch (RuntimeException e) {
+            log.warn("Could not reconcile the employee headcounts, keeping the incremental ones", e);
+        }
+        lock.lock();
+        try {
+            final var target = loaded != null ? loaded : headcounts;
+            if (loaded != null) {
+                // Events queued meanwhile are missing from both, so they do not count as drift.
+                drift.increment(loaded.distance(headcounts));
+            }
+            pending.forEach(event -> apply(target, event));
+            headcounts = target;
+            pending = null;
+        } finally {
+            lock.unlock();
+        }
+        if (loaded != null) {
+            reconciledAt = Instant.now();
+        }
+    }
+
+    private static void apply(final EmployeeHeadcounts headcounts, final EmployeeChangedEvent event) {
+        if (event.previous() != null) {
+            headcounts.remove(event.previous());
+        }
+        if (event.employee() != null) {
+            headcounts.add(event.employee());
+        }
+    }
+}
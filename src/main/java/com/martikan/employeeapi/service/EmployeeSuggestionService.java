@@ -0,0 +1,9 @@
+package com.martikan.employeeapi.service;
+
+import com.martikan.employeeapi.dto.EmployeeDTO;
+
+import java.util.List;
+
+public interface EmployeeSuggestionService {
+    List<EmployeeDTO> suggestEmployees(final String query, final int limit);
+}
@@ -0,0 +1,140 @@
+package com.martikan.employeeapi.service;
+
+import com.martikan.employeeapi.common.TypeaheadIndex;
+import com.martikan.employeeapi.dto.EmployeeDTO;
+import com.martikan.employeeapi.repository.EmployeeRepository;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Serves typeahead suggestions from a {@link TypeaheadIndex} held in memory, so a keystroke never reaches the
+ * database.
+ * <p>
+ * The index is loaded in the background once the application is ready and then follows the committed writes
+ * as an {@link EmployeeChangeListener}: of all instances with a broker configured, otherwise only of this one.
+ * Events received while the index is loading are queued and replayed on top of it, so a write racing with the
+ * load is not lost; an older state received late does not replace a newer one. Until the load has finished
+ * suggestions only contain the employees written since startup.
+ */
+@Slf4j
+@RequiredArgsConstructor
+@Service
+public class EmployeeSuggestionServiceImpl implements EmployeeSuggestionService, EmployeeChangeListener, MeterBinder {
+
+    private final EmployeeRepository employeeRepository;
+
+    private final PlatformTransactionManager transactionManager;
+
+    @Qualifier("applicationTaskExecutor")
+    private final AsyncTaskExecutor taskExecutor;
+
+    // Not synchronized: writers would pin their virtual threads while waiting for the lock.
+    private final Lock lock = new ReentrantLock();
+
+    private volatile TypeaheadIndex index = new TypeaheadIndex();
+
+    // Held for a whole load, so a second load waits for the running one.
+    private final Lock reloadLock = new ReentrantLock();
+
+    // Guarded by the lock, not null while the index is loading.
+    private List<EmployeeChangedEvent> pending;
+
+    @Override
+    public List<EmployeeDTO> suggestEmployees(final String query, final int limit) {
+        return index.suggest(query, limit);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadIndex() {
+        taskExecutor.execute(this::reload);
+    }
+
+    @Override
+    public void onEmployeeChanged(final EmployeeChangedEvent event) {
+        lock.lock();
+        try {
+            if (pending != null) {
+                pending.add(event);
+                return;
+            }
+        } finally {
+            lock.unlock();
+        }
+        apply(index, event);
+    }
+
+    @Override
+    public void bindTo(final MeterRegistry registry) {
+        Gauge.builder("employee.typeahead.size", this, service -> service.index.size())
+            .description("Employees held by the typeahead index")
+            .register(registry);
+    }
+
+    void reload() {
+        reloadLock.lock();
+        try {
+            doReload();
+        } finally {
+            reloadLock.unlock();
+        }
+    }
+
+    private void doReload() {
+        lock.lock();
+        try {
+            pending = new ArrayList<>();
+        } finally {
+            lock.unlock();
+        }
+        final var start = System.nanoTime();
+        TypeaheadIndex loaded = null;
+        try {
+            final var template = new TransactionTemplate(transactionManager);
+            template.setReadOnly(true);
+            loaded = template.execute(status -> {
+                try (var employees = employeeRepository.streamAllEmployeeDTO()) {
+                    return TypeaheadIndex.of(employees);
+                }
+            });
+        } catch (RuntimeException e) {
+            log.warn("Could not load the typeahead index, suggestions only contain employees written since", e);
+        }
+        lock.lock();
+        try {
+            final var target = loaded != null ? loaded : index;
+            pending.forEach(event -> apply(target, event));
+            index = target;
+            pending = null;
+        } finally {
+            lock.unlock();
+        }
+        if (loaded != null) {
+            log.info("Typeahead index loaded with {} employees in {} ms", loaded.size(),
+                TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+        }
+    }
+
+    private static void apply(final TypeaheadIndex index, final EmployeeChangedEvent event) {
+        if (event.type() == EmployeeChangedEvent.Type.DELETED) {
+            index.remove(event.id());
+        } else {
+            index.put(event.employee());
+        }
+    }
+}
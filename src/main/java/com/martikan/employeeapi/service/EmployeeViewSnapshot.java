@@ -0,0 +1,153 @@
+package com.martikan.employeeapi.service;
+
+import com.martikan.employeeapi.config.OutboxProperties;
+import com.martikan.employeeapi.domain.Employee;
+import com.martikan.employeeapi.domain.OutboxEvent;
+import com.martikan.employeeapi.domain.OutboxSnapshot;
+import com.martikan.employeeapi.mapper.EmployeeMapper;
+import com.martikan.employeeapi.repository.EmployeeRepository;
+import com.martikan.employeeapi.repository.OutboxEventRepository;
+import com.martikan.employeeapi.repository.OutboxSnapshotRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.dao.DataAccessException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Limit;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.UUID;
+
+/**
+ * Seeds the change topic with a {@link EmployeeChangedEvent.Type#SNAPSHOT} event for every employee, once per
+ * topic, so the employee view also holds the employees that have not changed since before the outbox existed.
+ * <p>
+ * The snapshot runs in the background after startup, in batches of {@code employee-api.outbox.batch-size}
+ * employees in id order, each written to the outbox in one transaction together with the progress in
+ * {@link OutboxSnapshot}. Instances starting at the same time take turns on that row, and an instance stopped
+ * halfway is resumed by the next one to start. The snapshot is complete once all of its events have left the
+ * outbox; until then the view is missing employees and must not serve lists.
+ */
+@Slf4j
+public class EmployeeViewSnapshot {
+
+    private static final UUID FIRST = new UUID(0, 0);
+
+    private final EmployeeRepository employeeRepository;
+
+    private final OutboxEventRepository outboxEventRepository;
+
+    private final OutboxSnapshotRepository outboxSnapshotRepository;
+
+    private final EmployeeOutboxWriter outboxWriter;
+
+    private final EmployeeMapper mapper;
+
+    private final TransactionTemplate transactionTemplate;
+
+    private final TaskExecutor taskExecutor;
+
+    private final OutboxProperties properties;
+
+    // Only ever goes from false to true, once seen complete the snapshot is not looked up again.
+    private volatile boolean completed;
+
+    public EmployeeViewSnapshot(final EmployeeRepository employeeRepository,
+                                final OutboxEventRepository outboxEventRepository,
+                                final OutboxSnapshotRepository outboxSnapshotRepository,
+                                final EmployeeOutboxWriter outboxWriter,
+                                final EmployeeMapper mapper,
+                                final PlatformTransactionManager transactionManager,
+                                final TaskExecutor taskExecutor,
+                                final OutboxProperties properties) {
+        this.employeeRepository = employeeRepository;
+        this.outboxEventRepository = outboxEventRepository;
+        this.outboxSnapshotRepository = outboxSnapshotRepository;
+        this.outboxWriter = outboxWriter;
+        this.mapper = mapper;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.taskExecutor = taskExecutor;
+        this.properties = properties;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void runInBackground() {
+        taskExecutor.execute(() -> {
+            try {
+                run();
+            } catch (DataAccessException e) {
+                log.warn("Could not snapshot the employees into the outbox, retrying with the next start", e);
+            }
+        });
+    }
+
+    /**
+     * Writes the employees not snapshotted yet to the outbox, returns once all of them are written.
+     */
+    public void run() {
+        begin(properties.getTopic());
+        boolean written;
+        do {
+            written = Boolean.TRUE.equals(transactionTemplate.execute(status -> writeBatch(properties.getTopic())));
+        } while (written);
+        log.info("Employee snapshot of topic {} is written to the outbox", properties.getTopic());
+    }
+
+    /**
+     * Whether all events of the snapshot have been relayed to the change topic.
+     */
+    public boolean isCompleted() {
+        if (!completed) {
+            completed = Boolean.TRUE.equals(transactionTemplate.execute(status ->
+                outboxSnapshotRepository.findById(properties.getTopic())
+                    .filter(snapshot -> snapshot.getCompletedAt() != null)
+                    .map(snapshot -> snapshot.getLastEventId() == null
+                        || !outboxEventRepository.existsByIdLessThanEqual(snapshot.getLastEventId()))
+                    .orElse(false)));
+        }
+        return completed;
+    }
+
+    private void begin(final String topic) {
+        if (outboxSnapshotRepository.existsById(topic)) {
+            return;
+        }
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                final var snapshot = new OutboxSnapshot();
+                snapshot.setTopic(topic);
+                snapshot.setLastEmployeeId(FIRST);
+                outboxSnapshotRepository.saveAndFlush(snapshot);
+            });
+        } catch (DataIntegrityViolationException e) {
+            // Another instance started the snapshot at the same time, the batches continue from its row.
+        }
+    }
+
+    // Returns whether there may be more employees to write.
+    private boolean writeBatch(final String topic) {
+        final var snapshot = outboxSnapshotRepository.findByTopicForUpdate(topic).orElseThrow();
+        if (snapshot.getCompletedAt() != null) {
+            return false;
+        }
+        final var employees = employeeRepository.findAfterForShare(snapshot.getLastEmployeeId(),
+            Limit.of(properties.getBatchSize()));
+        if (employees.isEmpty()) {
+            snapshot.setCompletedAt(Instant.now());
+            return false;
+        }
+        final var events = new ArrayList<OutboxEvent>(employees.size());
+        for (final Employee employee : employees) {
+            events.add(outboxWriter.toOutboxEvent(EmployeeChangedEvent.snapshot(mapper.toDTO(employee),
+                employee.getUpdatedAt())));
+        }
+        outboxEventRepository.saveAll(events);
+        snapshot.setLastEmployeeId(employees.get(employees.size() - 1).getId());
+        snapshot.setLastEventId(events.get(events.size() - 1).getId());
+        return true;
+    }
+}
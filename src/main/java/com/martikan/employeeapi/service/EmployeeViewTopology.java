@@ -0,0 +1,44 @@
+package com.martikan.employeeapi.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.apache.kafka.common.serialization.Serde;
+import org.apache.kafka.common.serialization.Serdes;
+import org.apache.kafka.common.utils.Bytes;
+import org.apache.kafka.streams.StreamsBuilder;
+import org.apache.kafka.streams.kstream.Consumed;
+import org.apache.kafka.streams.kstream.GlobalKTable;
+import org.apache.kafka.streams.kstream.Materialized;
+import org.apache.kafka.streams.state.KeyValueStore;
+import org.springframework.kafka.support.serializer.JsonSerializer;
+
+/**
+ * Materializes the change topic written by {@link EmployeeOutboxRelay} into a local RocksDB store.
+ * <p>
+ * The store is global, every instance holds all employees and answers any read from its own disk. It keeps the
+ * latest event of every employee as is, because global stores are restored by copying the topic without running
+ * any processor. A {@link EmployeeChangedEvent.Type#DELETED} event is treated as absent by readers until the
+ * tombstone the relay sends right after it removes the employee from the store, and compaction from the topic.
+ * Keys are the lower-case employee ids, so the byte order of the store is the order of the ids in
+ * Postgres and cursors are interchangeable between both.
+ */
+public final class EmployeeViewTopology {
+
+    public static final String STORE = "employee-view";
+
+    private EmployeeViewTopology() {
+    }
+
+    public static GlobalKTable<String, EmployeeChangedEvent> addTo(final StreamsBuilder builder, final String topic,
+                                                                   final ObjectMapper objectMapper) {
+        final var events = events(objectMapper);
+        return builder.globalTable(topic, Consumed.with(Serdes.String(), events),
+            Materialized.<String, EmployeeChangedEvent, KeyValueStore<Bytes, byte[]>>as(STORE)
+                .withKeySerde(Serdes.String())
+                .withValueSerde(events));
+    }
+
+    private static Serde<EmployeeChangedEvent> events(final ObjectMapper objectMapper) {
+        return Serdes.serdeFrom(new JsonSerializer<EmployeeChangedEvent>(objectMapper).noTypeInfo(),
+            new EmployeeChangedEventDeserializer(objectMapper));
+    }
+}
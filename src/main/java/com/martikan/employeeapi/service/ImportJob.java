@@ -0,0 +1,73 @@
+package com.martikan.employeeapi.service;
+
+import com.martikan.employeeapi.dto.ImportJobDTO;
+
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Mutable progress of one import job. It is written by the worker thread and read by pollers.
+ */
+class ImportJob {
+
+    static final int MAX_REPORTED_ERRORS = 1000;
+
+    private final UUID id = UUID.randomUUID();
+
+    private final AtomicLong createdRows = new AtomicLong();
+
+    private final AtomicLong rejectedRows = new AtomicLong();
+
+    private final List<ImportJobDTO.RowError> errors = new CopyOnWriteArrayList<>();
+
+    private volatile ImportJobDTO.Status status = ImportJobDTO.Status.PENDING;
+
+    private volatile String message;
+
+    UUID getId() {
+        return id;
+    }
+
+    boolean isFinished() {
+        return status == ImportJobDTO.Status.COMPLETED || status == ImportJobDTO.Status.FAILED;
+    }
+
+    void start() {
+        status = ImportJobDTO.Status.RUNNING;
+    }
+
+    void created() {
+        createdRows.incrementAndGet();
+    }
+
+    void rejected(final long row, final String reason) {
+        if (rejectedRows.incrementAndGet() <= MAX_REPORTED_ERRORS) {
+            errors.add(ImportJobDTO.RowError.builder().row(row).message(reason).build());
+        }
+    }
+
+    void complete() {
+        status = ImportJobDTO.Status.COMPLETED;
+    }
+
+    void fail(final String reason) {
+        message = reason;
+        status = ImportJobDTO.Status.FAILED;
+    }
+
+    ImportJobDTO toDTO() {
+        final var created = createdRows.get();
+        final var rejected = rejectedRows.get();
+        return ImportJobDTO.builder()
+            .id(id)
+            .status(status)
+            .processedRows(created + rejected)
+            .createdRows(created)
+            .rejectedRows(rejected)
+            .errors(List.copyOf(errors))
+            .message(message)
+            .build();
+    }
+}
@@ -0,0 +1,25 @@
+package com.martikan.employeeapi.service;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.List;
+
+/**
+ * Passes the committed writes of this instance to the {@link EmployeeChangeListener}s when no broker is
+ * configured. Writes of other instances are never seen.
+ */
+@RequiredArgsConstructor
+@ConditionalOnExpression("'${spring.kafka.bootstrap-servers:}'.isEmpty()")
+@Component
+public class LocalEmployeeChanges {
+
+    private final List<EmployeeChangeListener> listeners;
+
+    @TransactionalEventListener
+    public void onEmployeeChanged(final EmployeeChangedEvent event) {
+        listeners.forEach(listener -> listener.onEmployeeChanged(event));
+    }
+}
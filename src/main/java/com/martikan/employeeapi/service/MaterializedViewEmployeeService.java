@@ -0,0 +1,151 @@
+package com.martikan.employeeapi.service;
+
+import com.martikan.employeeapi.common.KeysetCursor;
+import com.martikan.employeeapi.dto.BatchGetResultDTO;
+import com.martikan.employeeapi.dto.BulkItemResultDTO;
+import com.martikan.employeeapi.dto.CursorPage;
+import com.martikan.employeeapi.dto.EmployeeDTO;
+import com.martikan.employeeapi.dto.EmployeeSearchDTO;
+import org.apache.kafka.streams.state.KeyValueIterator;
+import org.apache.kafka.streams.state.ReadOnlyKeyValueStore;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.BooleanSupplier;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+/**
+ * Serves employees by id and the unsorted pages of all employees from the local store of
+ * {@link EmployeeViewTopology}, so these reads never reach the database. Everything else, and every read while
+ * the store is not queryable, e.g. during the restore after a start, is delegated as is. So are the pages until
+ * the {@link EmployeeViewSnapshot} has brought the employees that never changed since before the outbox into the
+ * topic, the view would be missing them.
+ * <p>
+ * The view lags behind the database by the poll interval of the outbox relay, a client may not see its own
+ * write right away. An employee missing from the view is looked up in the database, as it may just have been
+ * created or not be snapshotted yet, and so is an employee whose event carries no version, whose ETag the view
+ * does not know.
+ */
+public class MaterializedViewEmployeeService implements EmployeeService {
+
+    private final EmployeeService delegate;
+
+    private final Supplier<ReadOnlyKeyValueStore<String, EmployeeChangedEvent>> store;
+
+    private final BooleanSupplier complete;
+
+    /**
+     * @param store    returns the store of the view, or {@code null} while it cannot be queried
+     * @param complete whether the view holds all employees, see {@link EmployeeViewSnapshot#isCompleted()}
+     */
+    public MaterializedViewEmployeeService(final EmployeeService delegate,
+                                           final Supplier<ReadOnlyKeyValueStore<String, EmployeeChangedEvent>> store,
+                                           final BooleanSupplier complete) {
+        this.delegate = delegate;
+        this.store = store;
+        this.complete = complete;
+    }
+
+    @Override
+    public List<EmployeeDTO> getAllEmployees(final Pageable pageable) {
+        final var view = pages();
+        if (view == null || pageable.getSort().isSorted()) {
+            return delegate.getAllEmployees(pageable);
+        }
+        final var employees = new ArrayList<EmployeeDTO>(pageable.isPaged() ? pageable.getPageSize() : 16);
+        try (var events = view.all()) {
+            var skipped = 0L;
+            while (events.hasNext() && (pageable.isUnpaged() || employees.size() < pageable.getPageSize())) {
+                final var employee = events.next().value.employee();
+                if (employee != null && (pageable.isUnpaged() || skipped++ >= pageable.getOffset())) {
+                    employees.add(employee);
+                }
+            }
+        }
+        return employees;
+    }
+
+    @Override
+    public CursorPage<EmployeeDTO> getAllEmployees(final String cursor, final int size) {
+        final var view = pages();
+        if (view == null) {
+            return delegate.getAllEmployees(cursor, size);
+        }
+        final var after = cursor == null || cursor.isEmpty() ? null : KeysetCursor.decode(cursor).toString();
+        final var employees = new ArrayList<EmployeeDTO>(size);
+        // Range bounds are inclusive, the employee of the cursor itself is skipped.
+        try (KeyValueIterator<String, EmployeeChangedEvent> events = view.range(after, null)) {
+            while (events.hasNext()) {
+                final var event = events.next();
+                if (event.value.employee() == null || event.key.equals(after)) {
+                    continue;
+                }
+                if (employees.size() == size) {
+                    return new CursorPage<>(employees, KeysetCursor.encode(employees.get(size - 1).getId()));
+                }
+                employees.add(event.value.employee());
+            }
+        }
+        return new CursorPage<>(employees, null);
+    }
+
+    @Override
+    public Slice<EmployeeDTO> searchEmployees(final EmployeeSearchDTO search, final Pageable pageable) {
+        return delegate.searchEmployees(search, pageable);
+    }
+
+    @Override
+    public void exportEmployees(final Consumer<EmployeeDTO> consumer) {
+        delegate.exportEmployees(consumer);
+    }
+
+    @Override
+    public EmployeeDTO getEmployeeById(final UUID id) {
+        final var view = store.get();
+        final var event = view == null ? null : view.get(id.toString());
+        if (event == null || event.employee() == null || event.employee().getVersion() == null) {
+            return delegate.getEmployeeById(id);
+        }
+        return event.employee();
+    }
+
+    @Override
+    public BatchGetResultDTO getEmployeesByIds(final Collection<UUID> ids) {
+        return delegate.getEmployeesByIds(ids);
+    }
+
+    @Override
+    public void updateEmployee(final EmployeeDTO dto) {
+        delegate.updateEmployee(dto);
+    }
+
+    @Override
+    public void saveEmployee(final EmployeeDTO dto) {
+        delegate.saveEmployee(dto);
+    }
+
+    @Override
+    public List<BulkItemResultDTO> saveEmployees(final List<EmployeeDTO> dtos) {
+        return delegate.saveEmployees(dtos);
+    }
+
+    @Override
+    public void deleteEmployeeById(final UUID id) {
+        delegate.deleteEmployeeById(id);
+    }
+
+    @Override
+    public void deleteEmployeeById(final UUID id, final long version) {
+        delegate.deleteEmployeeById(id, version);
+    }
+
+    // The store to page through, null when pages have to come from the database.
+    private ReadOnlyKeyValueStore<String, EmployeeChangedEvent> pages() {
+        return complete.getAsBoolean() ? store.get() : null;
+    }
+}
@@ -0,0 +1,137 @@
+package com.martikan.employeeapi;
+
+import lombok.SneakyThrows;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledForJreRange;
+import org.junit.jupiter.api.condition.JRE;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import org.testcontainers.utility.DockerImageName;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.sql.Connection;
+import java.util.ArrayList;
+import java.util.concurrent.Callable;
+import java.util.concurrent.Executors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Drives the same blocking workload against the application with and without the virtual-threads profile.
+ * Every statement is delayed to simulate a slow database, so with platform threads the Tomcat pool runs out
+ * long before the connection pool does.
+ */
+@Slf4j
+@Tag("benchmark")
+@Testcontainers
+@EnabledForJreRange(min = JRE.JAVA_21)
+class VirtualThreadsLoadBenchmarkITest {
+
+    private static final int TOMCAT_THREADS = 20;
+
+    private static final int CONNECTION_POOL_SIZE = 80;
+
+    private static final int CONCURRENCY = 400;
+
+    private static final int REQUESTS_PER_CLIENT = 20;
+
+    private static final long SIMULATED_DB_LATENCY_MILLIS = 20;
+
+    @Container
+    static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>(DockerImageName.parse("postgres:16-bookworm"))
+        .withCommand("postgres", "-c", "max_connections=200");
+
+    @Test
+    void testThroughput_whenVirtualThreadsEnabled_thenScaleBeyondTomcatThreadPool() {
+        final var platformThroughput = measureThroughput(false);
+        final var virtualThroughput = measureThroughput(true);
+
+        log.info("throughput at concurrency {} - platform threads: {} req/sec, virtual threads: {} req/sec",
+            CONCURRENCY, Math.round(platformThroughput), Math.round(virtualThroughput));
+        assertTrue(virtualThroughput > platformThroughput * 1.5,
+            "virtual threads should not be limited by the Tomcat thread pool");
+    }
+
+    @SneakyThrows
+    private double measureThroughput(final boolean virtualThreads) {
+        try (var context = new SpringApplicationBuilder(EmployeeApiApplication.class, SimulatedLatencyConfig.class)
+            .profiles(virtualThreads ? "virtual-threads" : "default")
+            .properties(
+                "server.port=0",
+                "server.tomcat.threads.max=" + TOMCAT_THREADS,
+                "spring.datasource.url=" + postgres.getJdbcUrl(),
+                "spring.datasource.username=" + postgres.getUsername(),
+                "spring.datasource.password=" + postgres.getPassword(),
+                "spring.datasource.hikari.maximum-pool-size=" + CONNECTION_POOL_SIZE)
+            .run()) {
+            final var uri = URI.create("http://localhost:" + context.getEnvironment().getProperty("local.server.port")
+                + Routes.EMPLOYEE_ROUTE_V1 + "?cursor=&size=20");
+            final var client = HttpClient.newHttpClient();
+            final var clients = Executors.newFixedThreadPool(CONCURRENCY);
+            try {
+                final var tasks = new ArrayList<Callable<Void>>(CONCURRENCY);
+                for (int i = 0; i < CONCURRENCY; i++) {
+                    tasks.add(() -> {
+                        for (int j = 0; j < REQUESTS_PER_CLIENT; j++) {
+                            final var response = client.send(HttpRequest.newBuilder(uri).GET().build(),
+                                HttpResponse.BodyHandlers.discarding());
+                            assertEquals(200, response.statusCode());
+                        }
+                        return null;
+                    });
+                }
+                final var start = System.nanoTime();
+                for (final var future : clients.invokeAll(tasks)) {
+                    future.get();
+                }
+                return CONCURRENCY * REQUESTS_PER_CLIENT * 1e9 / (System.nanoTime() - start);
+            } finally {
+                clients.shutdownNow();
+            }
+        }
+    }
+
+    @TestConfiguration
+    static class SimulatedLatencyConfig {
+
+        @Bean
+        static BeanPostProcessor simulatedLatencyDataSourcePostProcessor() {
+            return new BeanPostProcessor() {
+                @Override
+                public Object postProcessAfterInitialization(final Object bean, final String beanName) {
+                    return bean instanceof DataSource dataSource ? withLatency(dataSource, DataSource.class) : bean;
+                }
+            };
+        }
+
+        @SuppressWarnings("unchecked")
+        private static <T> T withLatency(final T target, final Class<T> type) {
+            return (T) Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[] {type}, (proxy, method, args) -> {
+                if (method.getName().startsWith("prepare")) {
+                    Thread.sleep(SIMULATED_DB_LATENCY_MILLIS);
+                }
+                try {
+                    final var result = method.invoke(target, args);
+                    return result instanceof Connection connection ? withLatency(connection, Connection.class) : result;
+                } catch (InvocationTargetException e) {
+                    throw e.getCause();
+                }
+            });
+        }
+    }
+
+}
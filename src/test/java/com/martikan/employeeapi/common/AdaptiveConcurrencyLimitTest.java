@@ -0,0 +1,98 @@
+package com.martikan.employeeapi.common;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class AdaptiveConcurrencyLimitTest {
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+
+    private final AtomicLong clock = new AtomicLong();
+
+    @Test
+    void testTryAcquire_whenLimitReached_thenRejectUntilReleased() {
+        final var limit = new AdaptiveConcurrencyLimit("test", 2, 1, 10, registry, clock::get);
+
+        assertTrue(limit.tryAcquire());
+        assertTrue(limit.tryAcquire());
+        assertFalse(limit.tryAcquire());
+        limit.release(TimeUnit.MILLISECONDS.toNanos(5));
+
+        assertTrue(limit.tryAcquire());
+        assertEquals(1, registry.get("concurrency.rejected").tag("name", "test").counter().count());
+        assertEquals(2, registry.get("concurrency.in.flight").tag("name", "test").gauge().value());
+    }
+
+    @Test
+    void testRelease_whenSaturatedAtSteadyLatency_thenGrowLimitUpToMax() {
+        final var limit = new AdaptiveConcurrencyLimit("test", 20, 5, 60, registry, clock::get);
+
+        for (int i = 0; i < 50; i++) {
+            saturatedWindow(limit, 10);
+        }
+
+        assertEquals(60, limit.getLimit());
+        assertEquals(60, registry.get("concurrency.limit").tag("name", "test").gauge().value());
+    }
+
+    @Test
+    void testRelease_whenLatencyRises_thenShrinkLimitButNotBelowMin() {
+        final var limit = new AdaptiveConcurrencyLimit("test", 40, 5, 100, registry, clock::get);
+        for (int i = 0; i < 5; i++) {
+            saturatedWindow(limit, 10);
+        }
+        final var healthyLimit = limit.getLimit();
+
+        saturatedWindow(limit, 100);
+        saturatedWindow(limit, 100);
+
+        assertTrue(limit.getLimit() < healthyLimit, limit.getLimit() + " < " + healthyLimit);
+        for (int i = 0; i < 20; i++) {
+            saturatedWindow(limit, 1_000);
+            assertTrue(limit.getLimit() >= 5);
+        }
+        assertTrue(limit.getLimit() < healthyLimit / 3, limit.getLimit() + " < " + healthyLimit / 3);
+    }
+
+    @Test
+    void testRelease_whenFarBelowLimit_thenKeepLimit() {
+        final var limit = new AdaptiveConcurrencyLimit("test", 20, 5, 100, registry, clock::get);
+
+        for (int window = 0; window < 10; window++) {
+            for (int i = 0; i < 20; i++) {
+                assertTrue(limit.tryAcquire());
+                limit.release(TimeUnit.MILLISECONDS.toNanos(10));
+            }
+            clock.addAndGet(TimeUnit.MILLISECONDS.toNanos(100));
+        }
+
+        assertEquals(20, limit.getLimit());
+    }
+
+    @Test
+    void testConstructor_whenLimitsInconsistent_thenThrowIllegalArgumentException() {
+        assertThrows(IllegalArgumentException.class,
+            () -> new AdaptiveConcurrencyLimit("test", 5, 10, 20, registry, clock::get));
+    }
+
+    // Fills the limit, lets a window pass and completes all calls with the given latency.
+    private void saturatedWindow(final AdaptiveConcurrencyLimit limit, final long rttMillis) {
+        final var admitted = limit.getLimit();
+        for (int i = 0; i < admitted; i++) {
+            assertTrue(limit.tryAcquire());
+        }
+        clock.addAndGet(TimeUnit.MILLISECONDS.toNanos(100));
+        for (int i = 0; i < admitted; i++) {
+            limit.release(TimeUnit.MILLISECONDS.toNanos(rttMillis));
+        }
+    }
+
+}
@@ -0,0 +1,110 @@
+package com.martikan.employeeapi.common;
+
+import com.martikan.employeeapi.exception.NotFoundException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import lombok.SneakyThrows;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static org.awaitility.Awaitility.await;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class SingleFlightTest {
+
+    private static final int FOLLOWERS = 8;
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+
+    private final SingleFlight<String, Object> singleFlight = new SingleFlight<>("test", registry);
+
+    private final ExecutorService executor = Executors.newFixedThreadPool(FOLLOWERS + 1);
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    @SneakyThrows
+    void testExecute_whenCalledConcurrentlyWithSameKey_thenRunLoaderOnceAndShareResult() {
+        final var release = new CountDownLatch(1);
+        final var loads = new AtomicInteger();
+        final var result = new Object();
+
+        final var futures = callConcurrently(() -> {
+            loads.incrementAndGet();
+            awaitQuietly(release);
+            return result;
+        });
+        release.countDown();
+
+        for (final var future : futures) {
+            assertSame(result, future.get());
+        }
+        assertEquals(1, loads.get());
+        assertEquals(FOLLOWERS + 1, registry.get("single.flight.calls").tag("name", "test").counter().count());
+    }
+
+    @Test
+    @SneakyThrows
+    void testExecute_whenLoaderThrows_thenRethrowSameExceptionToEveryCaller() {
+        final var release = new CountDownLatch(1);
+
+        final var futures = callConcurrently(() -> {
+            awaitQuietly(release);
+            throw new NotFoundException("Employee has been not found with the given id");
+        });
+        release.countDown();
+
+        for (final var future : futures) {
+            final var e = assertThrows(ExecutionException.class, future::get);
+            assertInstanceOf(NotFoundException.class, e.getCause());
+        }
+    }
+
+    @Test
+    void testExecute_whenCalledSequentially_thenRunLoaderEveryTime() {
+        final var loads = new AtomicInteger();
+
+        singleFlight.execute("key", loads::incrementAndGet);
+        singleFlight.execute("key", loads::incrementAndGet);
+
+        assertEquals(2, loads.get());
+        assertEquals(0, registry.get("single.flight.coalesced").tag("name", "test").counter().count());
+    }
+
+    // Starts the leader, then the followers, and returns once all followers wait for the leader.
+    private ArrayList<Future<Object>> callConcurrently(final Supplier<Object> loader) {
+        final var futures = new ArrayList<Future<Object>>();
+        final var started = new CountDownLatch(1);
+        futures.add(executor.submit(() -> singleFlight.execute("key", () -> {
+            started.countDown();
+            return loader.get();
+        })));
+        awaitQuietly(started);
+        for (int i = 0; i < FOLLOWERS; i++) {
+            futures.add(executor.submit(() -> singleFlight.execute("key", loader)));
+        }
+        await().until(() -> registry.get("single.flight.coalesced").tag("name", "test").counter().count()
+            == FOLLOWERS);
+        return futures;
+    }
+
+    @SneakyThrows
+    private static void awaitQuietly(final CountDownLatch latch) {
+        latch.await();
+    }
+
+}
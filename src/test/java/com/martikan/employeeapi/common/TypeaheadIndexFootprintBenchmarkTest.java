@@ -0,0 +1,84 @@
+package com.martikan.employeeapi.common;
+
+import com.github.javafaker.Faker;
+import com.martikan.employeeapi.dto.EmployeeDTO;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.lang.ref.Reference;
+import java.util.ArrayList;
+import java.util.Locale;
+import java.util.Random;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Measures the heap retained per employee by the typeahead index, on top of the employees themselves.
+ * Names are drawn from realistic pools, so first and last names repeat like they do in a real directory,
+ * and every row gets its own string instances, like rows read through JDBC.
+ */
+@Slf4j
+@Tag("benchmark")
+class TypeaheadIndexFootprintBenchmarkTest {
+
+    private static final int EMPLOYEES = 200_000;
+
+    // Generous bound over the measured overhead, to catch a structural regression rather than noise.
+    private static final long MAX_INDEX_BYTES_PER_EMPLOYEE = 250;
+
+    @Test
+    void testFootprint_whenIndexLoaded_thenStayWithinBytesPerEmployee() {
+        final var faker = new Faker(Locale.ENGLISH, new Random(42));
+        final var firstNames = new String[2_000];
+        final var lastNames = new String[5_000];
+        for (int i = 0; i < firstNames.length; i++) {
+            firstNames[i] = faker.name().firstName();
+        }
+        for (int i = 0; i < lastNames.length; i++) {
+            lastNames[i] = faker.name().lastName();
+        }
+        final var random = new Random(42);
+
+        final var empty = usedHeap();
+        final var employees = new ArrayList<EmployeeDTO>(EMPLOYEES);
+        for (int i = 0; i < EMPLOYEES; i++) {
+            final var firstName = firstNames[random.nextInt(firstNames.length)];
+            final var lastName = lastNames[random.nextInt(lastNames.length)];
+            employees.add(EmployeeDTO.builder()
+                .id(UUID.randomUUID())
+                .email((firstName + "." + lastName + i + "@example.com").toLowerCase(Locale.ROOT))
+                .firstName(new String(firstName))
+                .lastName(new String(lastName))
+                .version(0L)
+                .build());
+        }
+        final var withEmployees = usedHeap();
+        final var index = TypeaheadIndex.of(employees.stream());
+        final var withIndex = usedHeap();
+
+        final var employeeBytes = (withEmployees - empty) / EMPLOYEES;
+        final var indexBytes = (withIndex - withEmployees) / EMPLOYEES;
+        log.info("typeahead index of {} employees - employees: {} B/employee, index: {} B/employee, total: {} MiB",
+            EMPLOYEES, employeeBytes, indexBytes, (withIndex - empty) >> 20);
+        assertEquals(EMPLOYEES, index.size());
+        assertTrue(indexBytes <= MAX_INDEX_BYTES_PER_EMPLOYEE,
+            "typeahead index takes " + indexBytes + " B per employee");
+        Reference.reachabilityFence(employees);
+        Reference.reachabilityFence(index);
+    }
+
+    private static long usedHeap() {
+        final var runtime = Runtime.getRuntime();
+        var used = Long.MAX_VALUE;
+        // Collects until the figure settles, a single System.gc() is only a hint.
+        for (int i = 0; i < 5; i++) {
+            System.gc();
+            used = Math.min(used, runtime.totalMemory() - runtime.freeMemory());
+        }
+        return used;
+    }
+
+}
@@ -0,0 +1,143 @@
+package com.martikan.employeeapi.common;
+
+import com.martikan.employeeapi.dto.EmployeeDTO;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class TypeaheadIndexTest {
+
+    private final TypeaheadIndex index = new TypeaheadIndex();
+
+    @Test
+    void testSuggest_whenPrefixGiven_thenMatchAnyFieldIgnoringCaseInTermOrder() {
+        final var john = employee("john.smith@acme.com", "John", "Smith");
+        final var mary = employee("mary@acme.com", "Mary", "Johnson");
+        final var jane = employee("jane@acme.com", "Jane", "Doe");
+        List.of(john, mary, jane).forEach(index::put);
+
+        assertEquals(List.of(john, mary), index.suggest("JOH", 10));
+        assertEquals(List.of(jane, john, mary), index.suggest("j", 10));
+        assertEquals(List.of(jane), index.suggest("j", 1));
+        assertEquals(List.of(), index.suggest("x", 10));
+        assertEquals(List.of(), index.suggest("  ", 10));
+    }
+
+    @Test
+    void testSuggest_whenSeveralWordsGiven_thenMatchEmployeesHavingAllOfThem() {
+        final var john = employee("john.smith@acme.com", "John", "Smith");
+        final var johnny = employee("johnny@acme.com", "Johnny", "Walker");
+        List.of(john, johnny).forEach(index::put);
+
+        assertEquals(List.of(john), index.suggest("jo smi", 10));
+        assertEquals(List.of(johnny), index.suggest(" w  JOHN ", 10));
+    }
+
+    @Test
+    void testSuggest_whenEmployeeMatchesByTwoTerms_thenReturnItOnce() {
+        final var john = employee("john@acme.com", "John", "Johnson");
+        index.put(john);
+
+        assertEquals(List.of(john), index.suggest("john", 10));
+    }
+
+    @Test
+    void testPut_whenEmployeeUpdated_thenReplaceItsTerms() {
+        final var id = UUID.randomUUID();
+        index.put(employee(id, "john@acme.com", "John", "Smith"));
+        final var renamed = employee(id, "jack@acme.com", "Jack", "Smith");
+
+        index.put(renamed);
+
+        assertEquals(List.of(), index.suggest("john", 10));
+        assertEquals(List.of(renamed), index.suggest("jack", 10));
+        assertEquals(List.of(renamed), index.suggest("smith", 10));
+        assertEquals(1, index.size());
+    }
+
+    @Test
+    void testPut_whenOlderVersionGiven_thenKeepNewerOne() {
+        final var id = UUID.randomUUID();
+        final var renamed = employee(id, "jack@acme.com", "Jack", "Smith");
+        renamed.setVersion(1L);
+        index.put(renamed);
+        final var original = employee(id, "john@acme.com", "John", "Smith");
+        original.setVersion(0L);
+
+        index.put(original);
+
+        assertEquals(List.of(), index.suggest("john", 10));
+        assertEquals(List.of(renamed), index.suggest("jack", 10));
+    }
+
+    @Test
+    void testRemove_whenEmployeeSharesTermWithOthers_thenKeepTheOthers() {
+        final var john = employee("john.smith@acme.com", "John", "Smith");
+        final var other = employee("john.doe@acme.com", "John", "Doe");
+        List.of(john, other).forEach(index::put);
+
+        index.remove(john.getId());
+
+        assertEquals(List.of(other), index.suggest("john", 10));
+        assertEquals(List.of(), index.suggest("smith", 10));
+        assertEquals(1, index.size());
+    }
+
+    @Test
+    void testOf_whenEmployeesGiven_thenIndexThemLikePutAndAcceptLaterWrites() {
+        final var john = employee("john.smith@acme.com", "John", "Smith");
+        final var mary = employee("mary@acme.com", "Mary", "Smith");
+        final var jane = employee("jane@acme.com", "Jane", "Doe");
+        final var built = TypeaheadIndex.of(Stream.of(john, mary, jane));
+        List.of(john, mary, jane).forEach(index::put);
+
+        assertEquals(3, built.size());
+        for (final var query : List.of("j", "smith", "mary s", "doe")) {
+            assertEquals(index.suggest(query, 10), built.suggest(query, 10));
+        }
+
+        final var renamed = employee(mary.getId(), "mary@acme.com", "Mary", "Jones");
+        built.put(renamed);
+        built.remove(john.getId());
+
+        assertEquals(List.of(), built.suggest("smith", 10));
+        assertEquals(List.of(renamed), built.suggest("jones", 10));
+        assertEquals(2, built.size());
+    }
+
+    @Test
+    void testSuggest_whenSeveralWordsGiven_thenScanTheNarrowestRange() {
+        IntStream.range(0, 100).forEach(i -> index.put(employee("a" + i + "@acme.com", "Anna", "Smith")));
+        final var zed = employee("zed@acme.com", "Anna", "Zed");
+        index.put(zed);
+
+        assertEquals(List.of(zed), index.suggest("anna zed", 1));
+    }
+
+    @Test
+    void testSuggest_whenEveryRangeExceedsScanLimit_thenStopScanning() {
+        IntStream.range(0, TypeaheadIndex.MAX_SCANNED + 1)
+            .forEach(i -> index.put(employee("a" + i + "@acme.com", "Anna", "Smith")));
+        IntStream.range(0, TypeaheadIndex.MAX_SCANNED + 1)
+            .forEach(i -> index.put(employee("b" + i + "@acme.com", "Anna", "Jones")));
+
+        assertTrue(index.suggest("anna jones", 10).isEmpty());
+        assertEquals(10, index.suggest("jones anna", 10).size());
+    }
+
+    private static EmployeeDTO employee(final String email, final String firstName, final String lastName) {
+        return employee(UUID.randomUUID(), email, firstName, lastName);
+    }
+
+    private static EmployeeDTO employee(final UUID id, final String email, final String firstName,
+                                        final String lastName) {
+        return EmployeeDTO.builder().id(id).email(email).firstName(firstName).lastName(lastName).build();
+    }
+
+}
@@ -0,0 +1,37 @@
+package com.martikan.employeeapi.common;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashSet;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class UuidV7GeneratorTest {
+
+    @Test
+    void testGenerate_whenCalled_thenReturnVersion7WithCurrentTimestamp() {
+        final var before = System.currentTimeMillis();
+
+        final var uuid = UuidV7Generator.generate();
+
+        assertEquals(7, uuid.version());
+        assertEquals(2, uuid.variant());
+        final var timestamp = uuid.getMostSignificantBits() >>> 16;
+        assertTrue(timestamp >= before && timestamp <= System.currentTimeMillis() + 1);
+    }
+
+    @Test
+    void testGenerate_whenCalledManyTimesWithinSameMillisecond_thenStrictlyIncreaseAndNeverRepeat() {
+        final var seen = new HashSet<String>();
+        var previous = UuidV7Generator.generate();
+        for (int i = 0; i < 100_000; i++) {
+            final var next = UuidV7Generator.generate();
+            assertTrue(Long.compareUnsigned(next.getMostSignificantBits(), previous.getMostSignificantBits()) > 0,
+                next + " must sort after " + previous);
+            assertTrue(seen.add(next.toString()));
+            previous = next;
+        }
+    }
+
+}
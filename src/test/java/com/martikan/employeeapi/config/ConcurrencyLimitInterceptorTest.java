@@ -0,0 +1,70 @@
+package com.martikan.employeeapi.config;
+
+import com.martikan.employeeapi.common.AdaptiveConcurrencyLimit;
+import com.martikan.employeeapi.exception.GlobalExceptionHandler;
+import com.martikan.employeeapi.exception.ServiceUnavailableException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.DispatcherType;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ConcurrencyLimitInterceptorTest {
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+
+    private final AdaptiveConcurrencyLimit reads = new AdaptiveConcurrencyLimit("reads", 1, 1, 1, registry);
+
+    private final AdaptiveConcurrencyLimit writes = new AdaptiveConcurrencyLimit("writes", 1, 1, 1, registry);
+
+    private final ConcurrencyLimitInterceptor interceptor =
+        new ConcurrencyLimitInterceptor(reads, writes, Duration.ofMillis(1500));
+
+    private final MockHttpServletResponse response = new MockHttpServletResponse();
+
+    @Test
+    void testPreHandle_whenReadBudgetExhausted_thenRejectReadsButAdmitWrites() {
+        final var read = new MockHttpServletRequest("GET", "/api/v1/employees");
+        assertTrue(interceptor.preHandle(read, response, null));
+
+        final var e = assertThrows(ServiceUnavailableException.class,
+            () -> interceptor.preHandle(new MockHttpServletRequest("GET", "/api/v1/employees"), response, null));
+        assertTrue(interceptor.preHandle(new MockHttpServletRequest("PUT", "/api/v1/employees/1"), response, null));
+
+        final var rejection = new GlobalExceptionHandler().handleServiceUnavailableException(e);
+        assertEquals(HttpStatus.SERVICE_UNAVAILABLE, rejection.getStatusCode());
+        assertEquals("2", rejection.getHeaders().getFirst(HttpHeaders.RETRY_AFTER));
+    }
+
+    @Test
+    void testAfterCompletion_whenRequestCompleted_thenReleasePermitOnce() {
+        final var request = new MockHttpServletRequest("GET", "/api/v1/employees");
+        interceptor.preHandle(request, response, null);
+
+        interceptor.afterCompletion(request, response, null, null);
+        interceptor.afterCompletion(request, response, null, null);
+
+        assertEquals(0, reads.getInFlight());
+    }
+
+    @Test
+    void testPreHandle_whenAsyncDispatch_thenKeepPermitOfInitialDispatch() {
+        final var request = new MockHttpServletRequest("GET", "/api/v1/employees");
+        interceptor.preHandle(request, response, null);
+        request.setDispatcherType(DispatcherType.ASYNC);
+
+        assertTrue(interceptor.preHandle(request, response, null));
+        assertEquals(1, reads.getInFlight());
+        interceptor.afterCompletion(request, response, null, null);
+        assertEquals(0, reads.getInFlight());
+    }
+
+}
@@ -0,0 +1,114 @@
+package com.martikan.employeeapi.config;
+
+import com.martikan.employeeapi.Faker;
+import com.martikan.employeeapi.service.EmployeeService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import org.testcontainers.utility.DockerImageName;
+
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Two independent databases stand in for a primary and its replica, so every row tells where it has been read
+ * from or written to.
+ */
+@Testcontainers
+@DirtiesContext
+@SpringBootTest
+class ReadReplicaRoutingITest {
+
+    @Container
+    static PostgreSQLContainer<?> primary = new PostgreSQLContainer<>(DockerImageName.parse("postgres:16-bookworm"));
+
+    @Container
+    static PostgreSQLContainer<?> replica = new PostgreSQLContainer<>(DockerImageName.parse("postgres:16-bookworm"));
+
+    @Autowired
+    private EmployeeService employeeService;
+
+    @DynamicPropertySource
+    static void registerPostgresProperties(final DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", primary::getJdbcUrl);
+        registry.add("spring.datasource.username", primary::getUsername);
+        registry.add("spring.datasource.password", primary::getPassword);
+        registry.add("employee-api.datasource.replicas[0].url", replica::getJdbcUrl);
+        registry.add("employee-api.datasource.replicas[0].username", replica::getUsername);
+        registry.add("employee-api.datasource.replicas[0].password", replica::getPassword);
+    }
+
+    @BeforeAll
+    static void createReplicaSchema() {
+        jdbc(replica).execute("""
+            create table employees (
+                id uuid primary key,
+                email varchar(255) not null unique,
+                first_name varchar(50) not null,
+                last_name varchar(100) not null,
+                version bigint default 0 not null,
+                created_at timestamp(6) with time zone default current_timestamp not null,
+                updated_at timestamp(6) with time zone default current_timestamp not null
+            )""");
+    }
+
+    @AfterEach
+    void tearDown() {
+        jdbc(primary).execute("truncate table employees");
+        jdbc(replica).execute("truncate table employees");
+    }
+
+    @Test
+    void testGetEmployeesByIds_whenReadOnly_thenReadFromReplica() {
+        final var id = UUID.randomUUID();
+        jdbc(replica).update("insert into employees (id, email, first_name, last_name) values (?, ?, ?, ?)",
+            id, "replica@example.com", "Only", "OnReplica");
+
+        final var result = employeeService.getEmployeesByIds(List.of(id));
+
+        assertEquals(1, result.getFound().size());
+        assertEquals("replica@example.com", result.getFound().get(0).getEmail());
+    }
+
+    @Test
+    void testGetEmployeeById_whenCached_thenReadFromPrimary() {
+        final var id = UUID.randomUUID();
+        jdbc(primary).update("insert into employees (id, email, first_name, last_name) values (?, ?, ?, ?)",
+            id, "primary@example.com", "Only", "OnPrimary");
+
+        assertEquals("primary@example.com", employeeService.getEmployeeById(id).getEmail());
+    }
+
+    @Test
+    void testSaveEmployee_whenWriting_thenWriteToPrimary() {
+        final var dto = Faker.createRandomEmployeeDTO();
+        dto.setId(null);
+
+        employeeService.saveEmployee(dto);
+
+        assertEquals(1, count(primary, dto.getEmail()));
+        assertEquals(0, count(replica, dto.getEmail()));
+    }
+
+    private static int count(final PostgreSQLContainer<?> database, final String email) {
+        return jdbc(database).queryForObject("select count(*) from employees where email = ?", Integer.class, email);
+    }
+
+    private static JdbcTemplate jdbc(final PostgreSQLContainer<?> database) {
+        return new JdbcTemplate(new DriverManagerDataSource(
+            database.getJdbcUrl(), database.getUsername(), database.getPassword()));
+    }
+
+}
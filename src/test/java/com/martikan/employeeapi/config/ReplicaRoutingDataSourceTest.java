@@ -0,0 +1,101 @@
+package com.martikan.employeeapi.config;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Answers;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class ReplicaRoutingDataSourceTest {
+
+    @Mock
+    private DataSource primary;
+
+    @Mock
+    private DataSource replica;
+
+    @Mock
+    private Connection primaryConnection;
+
+    @Mock(answer = Answers.RETURNS_DEEP_STUBS)
+    private Connection replicaConnection;
+
+    @Mock
+    private ResultSet lag;
+
+    private ReplicaRoutingDataSource dataSource;
+
+    @BeforeEach
+    void setup() {
+        dataSource = new ReplicaRoutingDataSource(primary, Map.of("replica-0", replica), Duration.ofSeconds(10));
+        dataSource.afterPropertiesSet();
+    }
+
+    @AfterEach
+    void tearDown() {
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(false);
+    }
+
+    @Test
+    void testGetConnection_whenTransactionIsReadWrite_thenUsePrimary() throws SQLException {
+        when(primary.getConnection()).thenReturn(primaryConnection);
+
+        assertSame(primaryConnection, dataSource.getConnection());
+    }
+
+    @Test
+    void testGetConnection_whenTransactionIsReadOnly_thenUseReplica() throws SQLException {
+        when(replica.getConnection()).thenReturn(replicaConnection);
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+
+        assertSame(replicaConnection, dataSource.getConnection());
+    }
+
+    @Test
+    void testGetConnection_whenReplicaIsUnreachable_thenFallBackToPrimary() throws SQLException {
+        when(replica.getConnection()).thenThrow(new SQLException("Connection refused"));
+        when(primary.getConnection()).thenReturn(primaryConnection);
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+
+        assertSame(primaryConnection, dataSource.getConnection());
+        assertFalse(dataSource.isHealthy("replica-0"));
+    }
+
+    @Test
+    void testCheckReplicas_whenReplicaLagsTooMuch_thenFallBackToPrimaryUntilItCatchesUp() throws SQLException {
+        when(replica.getConnection()).thenReturn(replicaConnection);
+        when(primary.getConnection()).thenReturn(primaryConnection);
+        when(replicaConnection.createStatement().executeQuery(anyString())).thenReturn(lag);
+        when(lag.next()).thenReturn(true);
+        when(lag.getDouble(1)).thenReturn(30.0, 0.5);
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+
+        dataSource.checkReplicas();
+
+        assertFalse(dataSource.isHealthy("replica-0"));
+        assertSame(primaryConnection, dataSource.getConnection());
+
+        dataSource.checkReplicas();
+
+        assertTrue(dataSource.isHealthy("replica-0"));
+        assertSame(replicaConnection, dataSource.getConnection());
+    }
+
+}
@@ -0,0 +1,76 @@
+package com.martikan.employeeapi.controller;
+
+import com.martikan.employeeapi.EmployeeApiApplicationTests;
+import com.martikan.employeeapi.Routes;
+import com.martikan.employeeapi.dto.EmployeeDTO;
+import com.martikan.employeeapi.repository.EmployeeRepository;
+import lombok.SneakyThrows;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@Slf4j
+@Tag("benchmark")
+class EmployeeBulkInsertBenchmarkITest extends EmployeeApiApplicationTests {
+
+    private static final int SINGLE_ROWS = 1_000;
+
+    private static final int BULK_ROWS = 10_000;
+
+    @Autowired
+    private EmployeeRepository employeeRepository;
+
+    @AfterEach
+    void tearDown() {
+        employeeRepository.deleteAllInBatch();
+    }
+
+    @Test
+    @SneakyThrows
+    void testSaveEmployees_whenBulkGiven_thenInsertMoreRowsPerSecondThanSinglePath() {
+        final var singleStart = System.nanoTime();
+        for (final var dto : employees("single", SINGLE_ROWS)) {
+            mockMvc.perform(post(Routes.EMPLOYEE_ROUTE_V1)
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content(objectMapper.writeValueAsString(dto)))
+                .andExpect(status().isCreated());
+        }
+        final var singleRowsPerSecond = SINGLE_ROWS * 1e9 / (System.nanoTime() - singleStart);
+
+        final var bulkStart = System.nanoTime();
+        mockMvc.perform(post(Routes.EMPLOYEE_ROUTE_V1 + "/bulk")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(employees("bulk", BULK_ROWS))))
+            .andExpect(status().isOk());
+        final var bulkRowsPerSecond = BULK_ROWS * 1e9 / (System.nanoTime() - bulkStart);
+
+        log.info("insert throughput - single: {} rows/sec, bulk: {} rows/sec",
+            Math.round(singleRowsPerSecond), Math.round(bulkRowsPerSecond));
+        assertEquals(SINGLE_ROWS + BULK_ROWS, employeeRepository.count());
+        assertTrue(bulkRowsPerSecond > singleRowsPerSecond, "bulk path should insert more rows per second");
+    }
+
+    private static List<EmployeeDTO> employees(final String prefix, final int count) {
+        final var employees = new ArrayList<EmployeeDTO>(count);
+        for (int i = 0; i < count; i++) {
+            employees.add(EmployeeDTO.builder()
+                .email(prefix + i + "@example.com")
+                .firstName("First" + i)
+                .lastName("Last" + i)
+                .build());
+        }
+        return employees;
+    }
+
+}
@@ -1,5 +1,8 @@
 package com.martikan.employeeapi.controller;
 
+import com.fasterxml.jackson.dataformat.cbor.databind.CBORMapper;
+import com.fasterxml.jackson.dataformat.smile.databind.SmileMapper;
+import com.jayway.jsonpath.JsonPath;
 import com.martikan.employeeapi.EmployeeApiApplicationTests;
 import com.martikan.employeeapi.Faker;
 import com.martikan.employeeapi.Routes;
@@ -10,27 +13,47 @@ import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
+import org.springframework.test.context.TestPropertySource;
 
+import java.time.Duration;
+import java.util.List;
+import java.util.Set;
 import java.util.UUID;
+import java.util.stream.Collectors;
 
+import static org.awaitility.Awaitility.await;
 import static org.hamcrest.Matchers.everyItem;
 import static org.hamcrest.Matchers.hasSize;
 import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.notNullValue;
 import static org.hamcrest.Matchers.oneOf;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
+// A single instance without a broker, for the change feed
+@TestPropertySource(properties = "employee-api.change-feed.single-instance=true")
 class EmployeeControllerITest extends EmployeeApiApplicationTests {
 
     @Autowired
     private EmployeeRepository employeeRepository;
 
+    private static final MediaType CBOR = MediaType.parseMediaType("application/cbor");
+
+    private static final MediaType SMILE = MediaType.parseMediaType("application/x-jackson-smile");
+
     private final UUID notExistingId = UUID.randomUUID();
 
     private UUID existingId;
@@ -67,6 +90,178 @@ class EmployeeControllerITest extends EmployeeApiApplicationTests {
                 everyItem(oneOf(existingEmployee1.getEmail(), existingEmployee2.getEmail(), existingEmployee3.getEmail()))));
     }
 
+    @Test
+    @SneakyThrows
+    void testGetAllEmployees_whenCborAccepted_thenReturnCborEncodedEmployees() {
+        final var result = mockMvc.perform(get(Routes.EMPLOYEE_ROUTE_V1)
+                .accept(CBOR))
+            .andExpect(status().isOk())
+            .andExpect(content().contentType(CBOR))
+            .andReturn();
+
+        final var body = new CBORMapper().readTree(result.getResponse().getContentAsByteArray());
+        assertEquals(HttpStatus.OK.name(), body.get("status").asText());
+        assertEquals(Set.of(existingEmployee1.getEmail(), existingEmployee2.getEmail(), existingEmployee3.getEmail()),
+            body.get("message").findValuesAsText("email").stream().collect(Collectors.toSet()));
+    }
+
+    @Test
+    @SneakyThrows
+    void testSaveEmployee_whenSmileBodyGiven_thenCreateEmployee() {
+        final var dto = Faker.createRandomEmployeeDTO();
+        dto.setId(null);
+
+        mockMvc.perform(post(Routes.EMPLOYEE_ROUTE_V1)
+                .content(new SmileMapper().writeValueAsBytes(dto))
+                .contentType(SMILE))
+            .andExpect(status().isCreated());
+
+        assertTrue(employeeRepository.existsEmployeeByEmail(dto.getEmail()));
+    }
+
+    @Test
+    @SneakyThrows
+    void testGetAllEmployees_whenCursorGiven_thenReturnEmployeesPageByPage() {
+        final var firstPage = mockMvc.perform(get(Routes.EMPLOYEE_ROUTE_V1)
+                .param("cursor", "")
+                .param("size", "2")
+                .contentType(MediaType.APPLICATION_JSON))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.status", is(HttpStatus.OK.name())))
+            .andExpect(jsonPath("$.message", hasSize(2)))
+            .andExpect(jsonPath("$.next", notNullValue()))
+            .andReturn();
+        final var next = JsonPath.<String>read(firstPage.getResponse().getContentAsString(), "$.next");
+
+        mockMvc.perform(get(Routes.EMPLOYEE_ROUTE_V1)
+                .param("cursor", next)
+                .param("size", "2")
+                .contentType(MediaType.APPLICATION_JSON))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.message", hasSize(1)))
+            .andExpect(jsonPath("$.next").doesNotExist());
+    }
+
+    @Test
+    @SneakyThrows
+    void testGetAllEmployees_whenInvalidCursorGiven_thenThrowBadRequestException() {
+        mockMvc.perform(get(Routes.EMPLOYEE_ROUTE_V1)
+                .param("cursor", "not-a-cursor")
+                .contentType(MediaType.APPLICATION_JSON))
+            .andExpect(status().isBadRequest())
+            .andExpect(jsonPath("$.status", is(HttpStatus.BAD_REQUEST.name())))
+            .andExpect(jsonPath("$.message", is("Invalid cursor")));
+    }
+
+    @Test
+    @SneakyThrows
+    void testGetEmployeeChanges_whenChangedSinceIsOlderThanRetention_thenReturnGone() {
+        mockMvc.perform(get(Routes.EMPLOYEE_ROUTE_V1)
+                .param("changedSince", "2000-01-01T00:00:00Z")
+                .contentType(MediaType.APPLICATION_JSON))
+            .andExpect(status().isGone())
+            .andExpect(jsonPath("$.status", is(HttpStatus.GONE.name())));
+    }
+
+    @Test
+    @SneakyThrows
+    void testSearchEmployees_whenFilterGiven_thenReturnMatchingSlice() {
+        mockMvc.perform(get(Routes.EMPLOYEE_ROUTE_V1 + "/search")
+                .param("q", existingEmployee1.getEmail().toUpperCase())
+                .param("size", "1")
+                .contentType(MediaType.APPLICATION_JSON))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.status", is(HttpStatus.OK.name())))
+            .andExpect(jsonPath("$.message.items", hasSize(1)))
+            .andExpect(jsonPath("$.message.items[0].email", is(existingEmployee1.getEmail())))
+            .andExpect(jsonPath("$.message.hasNext", is(false)));
+    }
+
+    @Test
+    @SneakyThrows
+    void testAutocompleteEmployees_whenEmployeeCreated_thenSuggestItByPrefix() {
+        final var dto = Faker.createRandomEmployeeDTO();
+        dto.setId(null);
+        dto.setEmail("typeahead." + dto.getEmail());
+        mockMvc.perform(post(Routes.EMPLOYEE_ROUTE_V1)
+                .content(objectMapper.writeValueAsString(dto))
+                .contentType(MediaType.APPLICATION_JSON))
+            .andExpect(status().isCreated());
+
+        mockMvc.perform(get(Routes.EMPLOYEE_ROUTE_V1 + "/autocomplete")
+                .param("q", "TYPEAHEAD.")
+                .param("limit", "5")
+                .contentType(MediaType.APPLICATION_JSON))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.status", is(HttpStatus.OK.name())))
+            .andExpect(jsonPath("$.message", hasSize(1)))
+            .andExpect(jsonPath("$.message[0].email", is(dto.getEmail())));
+    }
+
+    @Test
+    @SneakyThrows
+    void testAutocompleteEmployees_whenLimitTooLarge_thenReturnBadRequest() {
+        mockMvc.perform(get(Routes.EMPLOYEE_ROUTE_V1 + "/autocomplete")
+                .param("q", "jo")
+                .param("limit", "51")
+                .contentType(MediaType.APPLICATION_JSON))
+            .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @SneakyThrows
+    void testGetEmployeeStats_whenCalled_thenReturnHeadcounts() {
+        mockMvc.perform(get(Routes.EMPLOYEE_ROUTE_V1 + "/stats")
+                .contentType(MediaType.APPLICATION_JSON))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.status", is(HttpStatus.OK.name())))
+            .andExpect(jsonPath("$.message.total").isNumber())
+            .andExpect(jsonPath("$.message.byEmailDomain").isMap())
+            .andExpect(jsonPath("$.message.byLastNameInitial").isMap());
+    }
+
+    @Test
+    @SneakyThrows
+    void testStreamChanges_whenEmployeeCreated_thenPushCreatedEvent() {
+        final var subscription = mockMvc.perform(get(Routes.EMPLOYEE_ROUTE_V1 + "/changes")
+                .accept(MediaType.TEXT_EVENT_STREAM))
+            .andExpect(request().asyncStarted())
+            .andReturn();
+        final var dto = Faker.createRandomEmployeeDTO();
+        dto.setId(null);
+
+        mockMvc.perform(post(Routes.EMPLOYEE_ROUTE_V1)
+                .content(objectMapper.writeValueAsString(dto))
+                .contentType(MediaType.APPLICATION_JSON))
+            .andExpect(status().isCreated());
+
+        await().atMost(Duration.ofSeconds(5)).untilAsserted(() -> {
+            final var body = subscription.getResponse().getContentAsString();
+            assertTrue(body.contains("event:created"));
+            assertTrue(body.contains(dto.getEmail()));
+        });
+    }
+
+    @Test
+    @SneakyThrows
+    void testExportEmployees_whenDataExists_thenStreamOneJsonLinePerEmployee() {
+        final var asyncResult = mockMvc.perform(get(Routes.EMPLOYEE_ROUTE_V1 + "/export"))
+            .andExpect(request().asyncStarted())
+            .andReturn();
+
+        final var body = mockMvc.perform(asyncDispatch(asyncResult))
+            .andExpect(status().isOk())
+            .andExpect(content().contentType(MediaType.APPLICATION_NDJSON))
+            .andReturn()
+            .getResponse()
+            .getContentAsString();
+
+        final var lines = body.lines().toList();
+        assertEquals(3, lines.size());
+        assertEquals(Set.of(existingEmployee1.getEmail(), existingEmployee2.getEmail(), existingEmployee3.getEmail()),
+            lines.stream().map(line -> JsonPath.<String>read(line, "$.email")).collect(Collectors.toSet()));
+    }
+
     @Test
     @SneakyThrows
     void testGetEmployeeById_whenValidIdGiven_thenReturnEmployee() {
@@ -80,6 +275,64 @@ class EmployeeControllerITest extends EmployeeApiApplicationTests {
             .andExpect(jsonPath("$.message.lastName", is(existingEmployee1.getLastName())));
     }
 
+    @Test
+    @SneakyThrows
+    void testGetEmployeeById_whenCurrentETagGiven_thenReturnNotModified() {
+        final var etag = mockMvc.perform(get(String.format("%s/%s", Routes.EMPLOYEE_ROUTE_V1, existingId)))
+            .andExpect(status().isOk())
+            .andExpect(header().exists(HttpHeaders.ETAG))
+            .andReturn()
+            .getResponse()
+            .getHeader(HttpHeaders.ETAG);
+
+        mockMvc.perform(get(String.format("%s/%s", Routes.EMPLOYEE_ROUTE_V1, existingId))
+                .header(HttpHeaders.IF_NONE_MATCH, etag))
+            .andExpect(status().isNotModified())
+            .andExpect(content().string(""));
+    }
+
+    @Test
+    @SneakyThrows
+    void testUpdateEmployee_whenStaleIfMatchGiven_thenThrowPreconditionFailedException() {
+        final var employeeForUpdate = Faker.createRandomEmployeeDTO();
+        final var etag = mockMvc.perform(get(String.format("%s/%s", Routes.EMPLOYEE_ROUTE_V1, existingId)))
+            .andReturn()
+            .getResponse()
+            .getHeader(HttpHeaders.ETAG);
+
+        mockMvc.perform(put(String.format("%s/%s", Routes.EMPLOYEE_ROUTE_V1, existingId))
+                .header(HttpHeaders.IF_MATCH, etag)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(employeeForUpdate)))
+            .andExpect(status().isNoContent())
+            .andExpect(header().exists(HttpHeaders.ETAG));
+
+        mockMvc.perform(put(String.format("%s/%s", Routes.EMPLOYEE_ROUTE_V1, existingId))
+                .header(HttpHeaders.IF_MATCH, etag)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(employeeForUpdate)))
+            .andExpect(status().isPreconditionFailed())
+            .andExpect(jsonPath("$.status", is(HttpStatus.PRECONDITION_FAILED.name())));
+
+        mockMvc.perform(delete(String.format("%s/%s", Routes.EMPLOYEE_ROUTE_V1, existingId))
+                .header(HttpHeaders.IF_MATCH, etag))
+            .andExpect(status().isPreconditionFailed());
+    }
+
+    @Test
+    @SneakyThrows
+    void testGetEmployeesByIds_whenIdsGiven_thenReturnFoundAndMissing() {
+        mockMvc.perform(post(Routes.EMPLOYEE_ROUTE_V1 + "/batch-get")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(List.of(existingId, notExistingId))))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.status", is(HttpStatus.OK.name())))
+            .andExpect(jsonPath("$.message.found", hasSize(1)))
+            .andExpect(jsonPath("$.message.found[0].id", is(existingId.toString())))
+            .andExpect(jsonPath("$.message.missing", hasSize(1)))
+            .andExpect(jsonPath("$.message.missing[0]", is(notExistingId.toString())));
+    }
+
     @Test
     @SneakyThrows
     void testGetEmployeeById_whenNotExistsIdGiven_thenThrowNotFoundException() {
@@ -159,6 +412,75 @@ class EmployeeControllerITest extends EmployeeApiApplicationTests {
             .andExpect(jsonPath("$.message", is("Email is already exist")));
     }
 
+    @Test
+    @SneakyThrows
+    void testSaveEmployees_whenBulkGiven_thenReturnResultPerItem() {
+        final var employeeForSave = Faker.createRandomEmployeeDTO();
+        employeeForSave.setId(null);
+        final var employeeWithExistingEmail = Faker.createRandomEmployeeDTO();
+        employeeWithExistingEmail.setId(null);
+        employeeWithExistingEmail.setEmail(existingEmployee1.getEmail());
+
+        mockMvc.perform(post(Routes.EMPLOYEE_ROUTE_V1 + "/bulk")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(List.of(employeeForSave, employeeWithExistingEmail))))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.status", is(HttpStatus.OK.name())))
+            .andExpect(jsonPath("$.message", hasSize(2)))
+            .andExpect(jsonPath("$.message[0].status", is("CREATED")))
+            .andExpect(jsonPath("$.message[0].id", notNullValue()))
+            .andExpect(jsonPath("$.message[1].status", is("REJECTED")))
+            .andExpect(jsonPath("$.message[1].message", is("Email is already exist")));
+        assertTrue(employeeRepository.existsEmployeeByEmail(employeeForSave.getEmail()));
+    }
+
+    @Test
+    @SneakyThrows
+    void testSaveEmployees_whenEmptyBulkGiven_thenThrowBadRequestException() {
+        mockMvc.perform(post(Routes.EMPLOYEE_ROUTE_V1 + "/bulk")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("[]"))
+            .andExpect(status().isBadRequest())
+            .andExpect(jsonPath("$.status", is(HttpStatus.BAD_REQUEST.name())));
+    }
+
+    @Test
+    @SneakyThrows
+    void testImportEmployees_whenCsvGiven_thenImportRowsAndReportProgress() {
+        final var employeeForImport = Faker.createRandomEmployeeDTO();
+        final var csv = String.format("email,firstName,lastName%n%s,%s,%s%n%s,Duplicate,Email%n",
+            employeeForImport.getEmail(), employeeForImport.getFirstName(), employeeForImport.getLastName(),
+            existingEmployee1.getEmail());
+
+        final var location = mockMvc.perform(post(Routes.EMPLOYEE_ROUTE_V1 + "/import")
+                .contentType("text/csv")
+                .content(csv))
+            .andExpect(status().isAccepted())
+            .andExpect(jsonPath("$.status", is(HttpStatus.ACCEPTED.name())))
+            .andExpect(jsonPath("$.message.id", notNullValue()))
+            .andReturn()
+            .getResponse()
+            .getHeader(HttpHeaders.LOCATION);
+
+        await().atMost(Duration.ofSeconds(10)).untilAsserted(() -> mockMvc.perform(get(location))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.message.status", is("COMPLETED")))
+            .andExpect(jsonPath("$.message.createdRows", is(1)))
+            .andExpect(jsonPath("$.message.rejectedRows", is(1)))
+            .andExpect(jsonPath("$.message.errors[0].row", is(2)))
+            .andExpect(jsonPath("$.message.errors[0].message", is("Email is already exist"))));
+        assertTrue(employeeRepository.existsEmployeeByEmail(employeeForImport.getEmail()));
+    }
+
+    @Test
+    @SneakyThrows
+    void testGetImportJob_whenJobIsNotExist_thenThrowNotFoundException() {
+        mockMvc.perform(get(String.format("%s/import/%s", Routes.EMPLOYEE_ROUTE_V1, notExistingId))
+                .contentType(MediaType.APPLICATION_JSON))
+            .andExpect(status().isNotFound())
+            .andExpect(jsonPath("$.status", is(HttpStatus.NOT_FOUND.name())));
+    }
+
     @Test
     @SneakyThrows
     void testDeleteEmployee_whenIdIsExist_thenDeleteEmployee() {
@@ -0,0 +1,395 @@
+package com.martikan.employeeapi.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.martikan.employeeapi.Routes;
+import com.martikan.employeeapi.dto.EmployeeDTO;
+import lombok.SneakyThrows;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.Callable;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Drives a mixed read/write workload over every endpoint through the real HTTP stack, against an in-memory H2
+ * database in PostgreSQL mode, and writes latency percentiles and throughput to a JSON file for comparing builds.
+ * <p>
+ * {@code ./mvnw -Pbenchmark test -Dtest=EmployeeControllerLoadBenchmarkTest -Dload.concurrency=64
+ * -Dload.duration=PT60S -Dload.result-file=target/load-test/before.json}
+ */
+@Slf4j
+@Tag("benchmark")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+    "spring.datasource.url=jdbc:h2:mem:load-test;MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;DEFAULT_NULL_ORDERING=HIGH",
+    "spring.datasource.username=sa",
+    "spring.datasource.password=",
+    "spring.jpa.hibernate.ddl-auto=create-drop",
+    "employee-api.change-feed.single-instance=true",
+    "logging.level.com.martikan.employeeapi=WARN"
+})
+class EmployeeControllerLoadBenchmarkTest {
+
+    private static final int CONCURRENCY = Integer.getInteger("load.concurrency", 32);
+
+    private static final Duration WARMUP = Duration.parse(System.getProperty("load.warmup", "PT10S"));
+
+    private static final Duration DURATION = Duration.parse(System.getProperty("load.duration", "PT30S"));
+
+    private static final int SEED_ROWS = Integer.getInteger("load.seed-rows", 10_000);
+
+    private static final Path RESULT_FILE = Path.of(System.getProperty("load.result-file",
+        "target/load-test/employee-controller.json"));
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private final HttpClient client = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+
+    private List<UUID> seededIds;
+
+    @BeforeEach
+    void setup() {
+        seededIds = IntStream.range(0, SEED_ROWS).mapToObj(i -> UUID.randomUUID()).toList();
+        jdbcTemplate.batchUpdate("insert into employees (id, email, first_name, last_name, version) values (?, ?, ?, ?, 0)",
+            IntStream.range(0, SEED_ROWS)
+                .mapToObj(i -> new Object[] {seededIds.get(i), "seed" + i + "@example.com", "First" + i, "Last" + i})
+                .toList());
+    }
+
+    @Test
+    @SneakyThrows
+    void testMixedWorkload_whenDrivenConcurrently_thenReportLatencyPercentilesAndThroughput() {
+        final var workers = IntStream.range(0, CONCURRENCY).mapToObj(i -> new Worker()).toList();
+        final var executor = Executors.newFixedThreadPool(CONCURRENCY);
+        final var measurementStart = System.nanoTime() + WARMUP.toNanos();
+        final var end = measurementStart + DURATION.toNanos();
+        try {
+            final var futures = executor.invokeAll(workers.stream()
+                .map(worker -> (Callable<Void>) () -> worker.run(measurementStart, end))
+                .toList(), WARMUP.plus(DURATION).toSeconds() + 60, TimeUnit.SECONDS);
+            for (final var future : futures) {
+                future.get();
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        final var report = report(workers, System.nanoTime() - measurementStart);
+        Files.createDirectories(RESULT_FILE.toAbsolutePath().getParent());
+        objectMapper.writerWithDefaultPrettyPrinter().writeValue(RESULT_FILE.toFile(), report);
+        log.info("load test result written to {}: {}", RESULT_FILE.toAbsolutePath(), report.get("overall"));
+
+        @SuppressWarnings("unchecked") final var overall = (Map<String, Object>) report.get("overall");
+        assertTrue((long) overall.get("requests") > 0, "no request has been measured");
+        assertEquals(0L, overall.get("errors"), "unexpected responses, see " + RESULT_FILE);
+    }
+
+    private Map<String, Object> report(final List<Worker> workers, final long measuredNanos) {
+        final var endpoints = new LinkedHashMap<String, Object>();
+        final var all = new Latencies();
+        for (final var operation : Operation.values()) {
+            final var merged = new Latencies();
+            workers.forEach(worker -> merged.addAll(worker.latencies.get(operation)));
+            all.addAll(merged);
+            endpoints.put(operation.name().toLowerCase(), merged.summary(measuredNanos));
+        }
+        final var report = new LinkedHashMap<String, Object>();
+        report.put("timestamp", Instant.now().toString());
+        report.put("concurrency", CONCURRENCY);
+        report.put("durationSeconds", DURATION.toSeconds());
+        report.put("seedRows", SEED_ROWS);
+        report.put("overall", all.summary(measuredNanos));
+        report.put("endpoints", endpoints);
+        return report;
+    }
+
+    private URI uri(final String path) {
+        return URI.create("http://localhost:" + port + Routes.EMPLOYEE_ROUTE_V1 + path);
+    }
+
+    @SneakyThrows
+    private HttpRequest.BodyPublisher json(final Object body) {
+        return HttpRequest.BodyPublishers.ofByteArray(objectMapper.writeValueAsBytes(body));
+    }
+
+    private static EmployeeDTO newEmployee() {
+        final var id = UUID.randomUUID();
+        return EmployeeDTO.builder()
+            .email("load-" + id + "@example.com")
+            .firstName("Load")
+            .lastName("Test")
+            .build();
+    }
+
+    /**
+     * Weights are per mille of the requests. Operations that need state a worker does not have yet, e.g. a
+     * delete before anything has been created, are skipped and another one is drawn.
+     */
+    private enum Operation {
+        LIST_PAGE(100, Set.of(200)),
+        LIST_CURSOR(100, Set.of(200)),
+        DELTA_SYNC(30, Set.of(200)),
+        SEARCH(40, Set.of(200)),
+        AUTOCOMPLETE(80, Set.of(200)),
+        STATS(20, Set.of(200)),
+        SUBSCRIBE_CHANGES(10, Set.of(200)),
+        GET_BY_ID(220, Set.of(200)),
+        GET_BY_ID_REVALIDATE(50, Set.of(200, 304)),
+        BATCH_GET(60, Set.of(200)),
+        CREATE(100, Set.of(201)),
+        UPDATE(80, Set.of(204)),
+        BULK_CREATE(40, Set.of(200)),
+        DELETE(40, Set.of(204)),
+        EXPORT(5, Set.of(200)),
+        IMPORT(15, Set.of(202)),
+        IMPORT_STATUS(10, Set.of(200));
+
+        private static final int TOTAL_WEIGHT = Arrays.stream(values()).mapToInt(o -> o.weight).sum();
+
+        private final int weight;
+
+        private final Set<Integer> expectedStatuses;
+
+        Operation(final int weight, final Set<Integer> expectedStatuses) {
+            this.weight = weight;
+            this.expectedStatuses = expectedStatuses;
+        }
+
+        static Operation pick(final ThreadLocalRandom random) {
+            var draw = random.nextInt(TOTAL_WEIGHT);
+            for (final var operation : values()) {
+                draw -= operation.weight;
+                if (draw < 0) {
+                    return operation;
+                }
+            }
+            throw new IllegalStateException();
+        }
+    }
+
+    private final class Worker {
+
+        private final Map<Operation, Latencies> latencies = new EnumMap<>(Operation.class);
+
+        private final ArrayDeque<UUID> createdIds = new ArrayDeque<>();
+
+        private String cursor = "";
+
+        private final Instant syncedSince = Instant.now();
+
+        private String changesCursor = "";
+
+        private String importLocation;
+
+        private Worker() {
+            Arrays.stream(Operation.values()).forEach(o -> latencies.put(o, new Latencies()));
+        }
+
+        private Void run(final long measurementStart, final long end) throws Exception {
+            final var random = ThreadLocalRandom.current();
+            while (System.nanoTime() < end) {
+                final var operation = Operation.pick(random);
+                final var request = request(operation, random);
+                if (request == null) {
+                    continue;
+                }
+                final var start = System.nanoTime();
+                if (operation == Operation.SUBSCRIBE_CHANGES) {
+                    // Only the subscription is timed, the stream is closed as soon as its headers have arrived.
+                    final var response = client.send(request, HttpResponse.BodyHandlers.ofInputStream());
+                    final var nanos = System.nanoTime() - start;
+                    response.body().close();
+                    if (start >= measurementStart) {
+                        latencies.get(operation).add(nanos, operation.expectedStatuses.contains(response.statusCode()));
+                    }
+                    continue;
+                }
+                final var response = client.send(request, HttpResponse.BodyHandlers.ofByteArray());
+                final var nanos = System.nanoTime() - start;
+                if (start >= measurementStart) {
+                    latencies.get(operation).add(nanos, operation.expectedStatuses.contains(response.statusCode()));
+                }
+                accept(operation, response);
+            }
+            return null;
+        }
+
+        private HttpRequest request(final Operation operation, final ThreadLocalRandom random) {
+            final var seededId = seededIds.get(random.nextInt(seededIds.size()));
+            return switch (operation) {
+                case LIST_PAGE -> get("?page=" + random.nextInt(SEED_ROWS / 20) + "&size=20");
+                case LIST_CURSOR -> get("?size=20&cursor=" + cursor);
+                case DELTA_SYNC -> get("?size=100&changedSince=" + syncedSince + "&cursor=" + changesCursor);
+                case SEARCH -> get("/search?lastName=Last" + random.nextInt(1_000) + "&size=20");
+                case AUTOCOMPLETE -> get("/autocomplete?q=first" + random.nextInt(1_000));
+                case STATS -> get("/stats");
+                case SUBSCRIBE_CHANGES -> HttpRequest.newBuilder(uri("/changes"))
+                    .header("Accept", "text/event-stream")
+                    .GET()
+                    .build();
+                case GET_BY_ID -> get("/" + seededId);
+                case GET_BY_ID_REVALIDATE -> HttpRequest.newBuilder(uri("/" + seededId))
+                    .header("If-None-Match", "\"0\"")
+                    .GET()
+                    .build();
+                case BATCH_GET -> post("/batch-get", json(IntStream.range(0, 50)
+                    .mapToObj(i -> seededIds.get(random.nextInt(seededIds.size())))
+                    .toList()));
+                case CREATE -> post("", json(newEmployee()));
+                case UPDATE -> HttpRequest.newBuilder(uri("/" + seededId))
+                    .header("Content-Type", "application/json")
+                    .PUT(json(EmployeeDTO.builder()
+                        .email("seed-updated-" + seededId + "@example.com")
+                        .firstName("Updated")
+                        .lastName("Last")
+                        .build()))
+                    .build();
+                case BULK_CREATE -> post("/bulk", json(IntStream.range(0, 5)
+                    .mapToObj(i -> newEmployee())
+                    .toList()));
+                case DELETE -> createdIds.isEmpty() ? null
+                    : HttpRequest.newBuilder(uri("/" + createdIds.poll())).DELETE().build();
+                case EXPORT -> get("/export");
+                case IMPORT -> HttpRequest.newBuilder(uri("/import"))
+                    .header("Content-Type", "text/csv")
+                    .POST(HttpRequest.BodyPublishers.ofString(csv()))
+                    .build();
+                case IMPORT_STATUS -> importLocation == null ? null
+                    : HttpRequest.newBuilder(URI.create("http://localhost:" + port + importLocation)).GET().build();
+            };
+        }
+
+        @SneakyThrows
+        private void accept(final Operation operation, final HttpResponse<byte[]> response) {
+            switch (operation) {
+                case LIST_CURSOR -> {
+                    final var next = objectMapper.readTree(response.body()).path("next");
+                    cursor = next.isMissingNode() ? "" : next.asText();
+                }
+                case DELTA_SYNC -> {
+                    final var next = objectMapper.readTree(response.body()).path("next");
+                    changesCursor = next.isMissingNode() || next.isNull() ? "" : next.asText();
+                }
+                case BULK_CREATE -> objectMapper.readTree(response.body()).path("message").forEach(item -> {
+                    if (item.hasNonNull("id")) {
+                        createdIds.add(UUID.fromString(item.get("id").asText()));
+                    }
+                });
+                case IMPORT -> importLocation = response.headers().firstValue("Location").orElse(null);
+                default -> {
+                    // nothing to remember
+                }
+            }
+        }
+
+        private HttpRequest get(final String path) {
+            return HttpRequest.newBuilder(uri(path)).GET().build();
+        }
+
+        private HttpRequest post(final String path, final HttpRequest.BodyPublisher body) {
+            return HttpRequest.newBuilder(uri(path))
+                .header("Content-Type", "application/json")
+                .POST(body)
+                .build();
+        }
+
+        private static String csv() {
+            final var csv = new StringBuilder("email,firstName,lastName\n");
+            for (int i = 0; i < 20; i++) {
+                csv.append("import-").append(UUID.randomUUID()).append("@example.com,Import,Test\n");
+            }
+            return csv.toString();
+        }
+    }
+
+    /**
+     * Latencies of one worker, or of all of them once merged, in nanoseconds.
+     */
+    private static final class Latencies {
+
+        private long[] values = new long[1024];
+
+        private int size;
+
+        private long errors;
+
+        void add(final long nanos, final boolean ok) {
+            if (size == values.length) {
+                values = Arrays.copyOf(values, size * 2);
+            }
+            values[size++] = nanos;
+            if (!ok) {
+                errors++;
+            }
+        }
+
+        void addAll(final Latencies other) {
+            if (size + other.size > values.length) {
+                values = Arrays.copyOf(values, Math.max(values.length * 2, size + other.size));
+            }
+            System.arraycopy(other.values, 0, values, size, other.size);
+            size += other.size;
+            errors += other.errors;
+        }
+
+        Map<String, Object> summary(final long measuredNanos) {
+            final var sorted = Arrays.copyOf(values, size);
+            Arrays.sort(sorted);
+            final var summary = new LinkedHashMap<String, Object>();
+            summary.put("requests", (long) size);
+            summary.put("errors", errors);
+            summary.put("requestsPerSecond", Math.round(size * 1e9 / measuredNanos * 10) / 10.0);
+            summary.put("p50Millis", percentile(sorted, 0.50));
+            summary.put("p99Millis", percentile(sorted, 0.99));
+            summary.put("p999Millis", percentile(sorted, 0.999));
+            summary.put("maxMillis", size == 0 ? 0.0 : millis(sorted[size - 1]));
+            return summary;
+        }
+
+        private static double percentile(final long[] sorted, final double quantile) {
+            if (sorted.length == 0) {
+                return 0.0;
+            }
+            return millis(sorted[(int) Math.min(sorted.length - 1, Math.ceil(quantile * sorted.length) - 1)]);
+        }
+
+        private static double millis(final long nanos) {
+            return Math.round(nanos / 1_000.0) / 1_000.0;
+        }
+    }
+
+}
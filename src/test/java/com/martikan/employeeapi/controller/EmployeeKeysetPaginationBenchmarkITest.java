@@ -0,0 +1,86 @@
+package com.martikan.employeeapi.controller;
+
+import com.martikan.employeeapi.EmployeeApiApplicationTests;
+import com.martikan.employeeapi.Routes;
+import com.martikan.employeeapi.common.KeysetCursor;
+import lombok.SneakyThrows;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.UUID;
+
+import static org.hamcrest.Matchers.hasSize;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@Slf4j
+@Tag("benchmark")
+class EmployeeKeysetPaginationBenchmarkITest extends EmployeeApiApplicationTests {
+
+    private static final int PAGE_SIZE = 10;
+
+    private static final int DEEPEST_PAGE = 10_000;
+
+    private static final int ROUNDS = 50;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void setup() {
+        final var rows = new ArrayList<Object[]>(PAGE_SIZE * DEEPEST_PAGE);
+        for (int i = 0; i < PAGE_SIZE * DEEPEST_PAGE; i++) {
+            rows.add(new Object[] {UUID.randomUUID(), "employee" + i + "@example.com", "First" + i, "Last" + i});
+        }
+        jdbcTemplate.batchUpdate("insert into employees (id, email, first_name, last_name) values (?, ?, ?, ?)", rows);
+        jdbcTemplate.execute("analyze employees");
+    }
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.execute("truncate table employees");
+    }
+
+    @Test
+    void testGetAllEmployees_whenCursorGiven_thenLatencyIsFlatFromFirstToDeepestPage() {
+        final var deepCursor = KeysetCursor.encode(jdbcTemplate.queryForObject(
+            "select id from employees order by id offset ? limit 1", UUID.class, PAGE_SIZE * (DEEPEST_PAGE - 1) - 1));
+
+        final var firstPageNanos = medianNanos("");
+        final var deepestPageNanos = medianNanos(deepCursor);
+
+        log.info("keyset pagination median latency - page 1: {} us, page {}: {} us",
+            firstPageNanos / 1_000, DEEPEST_PAGE, deepestPageNanos / 1_000);
+        // Generous bound to absorb noise, an offset scan over 100k rows is orders of magnitude slower.
+        assertTrue(deepestPageNanos < firstPageNanos * 3 + 5_000_000,
+            "page " + DEEPEST_PAGE + " should cost about the same as page 1");
+    }
+
+    @SneakyThrows
+    private long medianNanos(final String cursor) {
+        final var samples = new long[ROUNDS];
+        for (int i = 0; i < ROUNDS; i++) {
+            final var start = System.nanoTime();
+            mockMvc.perform(get(Routes.EMPLOYEE_ROUTE_V1)
+                    .param("cursor", cursor)
+                    .param("size", String.valueOf(PAGE_SIZE))
+                    .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.message", hasSize(PAGE_SIZE)));
+            samples[i] = System.nanoTime() - start;
+        }
+        Arrays.sort(samples);
+        return samples[ROUNDS / 2];
+    }
+
+}
@@ -0,0 +1,73 @@
+package com.martikan.employeeapi.repository;
+
+import com.martikan.employeeapi.EmployeeApiApplicationTests;
+import com.martikan.employeeapi.common.UuidV7Generator;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.ArrayList;
+import java.util.UUID;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Loads the same rows into two copies of the employees table, one keyed by random UUIDs and one by UUIDv7,
+ * and compares insert throughput and the size of the primary key index.
+ */
+@Slf4j
+@Tag("benchmark")
+class EmployeeIdStrategyBenchmarkITest extends EmployeeApiApplicationTests {
+
+    private static final int ROWS = 500_000;
+
+    private static final int BATCH_SIZE = 1_000;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.execute("drop table if exists employees_random");
+        jdbcTemplate.execute("drop table if exists employees_v7");
+    }
+
+    @Test
+    void testInsert_whenTimeOrderedIdsUsed_thenPrimaryKeyIndexStaysCompact() {
+        final var randomRowsPerSecond = load("employees_random", UUID::randomUUID);
+        final var v7RowsPerSecond = load("employees_v7", UuidV7Generator::generate);
+        final var randomIndexBytes = primaryKeyIndexSize("employees_random");
+        final var v7IndexBytes = primaryKeyIndexSize("employees_v7");
+
+        log.info("{} inserts - random: {} rows/sec, pkey {} MB; v7: {} rows/sec, pkey {} MB", ROWS,
+            Math.round(randomRowsPerSecond), randomIndexBytes / (1 << 20),
+            Math.round(v7RowsPerSecond), v7IndexBytes / (1 << 20));
+        // Random keys split leaf pages half full, right-edge appends leave them packed.
+        assertTrue(v7IndexBytes * 1.2 < randomIndexBytes, "the v7 primary key index should be clearly smaller");
+    }
+
+    private double load(final String table, final Supplier<UUID> ids) {
+        jdbcTemplate.execute("create table " + table + " (like employees including all)");
+        final var start = System.nanoTime();
+        for (int offset = 0; offset < ROWS; offset += BATCH_SIZE) {
+            final var rows = new ArrayList<Object[]>(BATCH_SIZE);
+            for (int i = offset; i < offset + BATCH_SIZE; i++) {
+                rows.add(new Object[] {ids.get(), "employee" + i + "@example.com", "First" + i, "Last" + i});
+            }
+            jdbcTemplate.batchUpdate("insert into " + table + " (id, email, first_name, last_name) values (?, ?, ?, ?)",
+                rows);
+        }
+        return ROWS * 1e9 / (System.nanoTime() - start);
+    }
+
+    private long primaryKeyIndexSize(final String table) {
+        return jdbcTemplate.queryForObject(
+            "select pg_relation_size(i.indexrelid) from pg_index i where i.indrelid = ?::regclass and i.indisprimary",
+            Long.class, table);
+    }
+
+}
@@ -0,0 +1,155 @@
+package com.martikan.employeeapi.repository;
+
+import com.martikan.employeeapi.Faker;
+import com.martikan.employeeapi.domain.Employee;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Instant;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE, properties = {
+    "spring.datasource.url=jdbc:h2:mem:repository-cache;MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE",
+    "spring.datasource.username=sa",
+    "spring.datasource.password=",
+    "spring.jpa.hibernate.ddl-auto=create-drop"
+})
+class EmployeeRepositoryCacheTest {
+
+    @Autowired
+    private EmployeeRepository repository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private TransactionTemplate transaction;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setup() {
+        transaction = new TransactionTemplate(transactionManager);
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @AfterEach
+    void tearDown() {
+        transaction.executeWithoutResult(status -> repository.deleteAllInBatch());
+    }
+
+    @Test
+    void testFindById_whenLoadedAgain_thenLoadFromDatabase() {
+        final var id = transaction.execute(status -> repository.save(newEmployee()).getId());
+
+        transaction.executeWithoutResult(status -> repository.findById(id).orElseThrow());
+        transaction.executeWithoutResult(status -> repository.findById(id).orElseThrow());
+
+        assertEquals(2, statistics.getEntityLoadCount());
+        assertEquals(0, statistics.getSecondLevelCachePutCount());
+    }
+
+    @Test
+    void testFindById_whenUpdatedThroughRepository_thenLoadNewValues() {
+        final var employee = transaction.execute(status -> repository.save(newEmployee()));
+        transaction.executeWithoutResult(status -> repository.findById(employee.getId()).orElseThrow());
+
+        final var previous = transaction.execute(status -> repository.updateEmployee(
+            employee.getId(), 0L, employee.getEmail(), "Updated", employee.getLastName(), Instant.now()));
+        final var reloaded = transaction.execute(status -> repository.findById(employee.getId()).orElseThrow());
+
+        assertEquals(employee.getFirstName(), previous.orElseThrow().getFirstName());
+        assertEquals("Updated", reloaded.getFirstName());
+        assertEquals(1, reloaded.getVersion());
+    }
+
+    @Test
+    void testUpdateEmployee_whenStaleVersionGiven_thenMatchNoRow() {
+        final var employee = transaction.execute(status -> repository.save(newEmployee()));
+
+        final var previous = transaction.execute(status -> repository.updateEmployee(
+            employee.getId(), 1L, employee.getEmail(), "Updated", employee.getLastName(), Instant.now()));
+
+        final var version = transaction.execute(status -> repository.findById(employee.getId())
+            .map(Employee::getVersion));
+
+        assertTrue(previous.isEmpty());
+        assertEquals(Optional.of(0L), version);
+    }
+
+    @Test
+    void testDeleteEmployeeById_whenDeleted_thenReturnPreviousStateAndDropCachedPages() {
+        final var employee = transaction.execute(status -> repository.save(newEmployee()));
+        final var page = PageRequest.of(0, 20);
+        transaction.executeWithoutResult(status -> repository.findAllEmployeeDTO(page));
+
+        final var previous = transaction.execute(status -> repository.deleteEmployeeById(employee.getId(), 0L));
+        final var afterDelete = transaction.execute(status -> repository.findAllEmployeeDTO(page));
+
+        assertEquals(employee.getEmail(), previous.orElseThrow().getEmail());
+        assertEquals(0L, previous.orElseThrow().getVersion());
+        assertTrue(afterDelete.isEmpty());
+        assertEquals(0, statistics.getQueryCacheHitCount());
+    }
+
+    @Test
+    void testFindEmployeeDTOsAfter_whenPageRequestedAgain_thenServeFromQueryCache() {
+        final var first = transaction.execute(status -> repository.save(newEmployee()));
+        transaction.executeWithoutResult(status -> repository.save(newEmployee()));
+
+        transaction.executeWithoutResult(status -> repository.findEmployeeDTOsAfter(first.getId(), Limit.of(20)));
+        transaction.executeWithoutResult(status -> repository.findEmployeeDTOsAfter(first.getId(), Limit.of(20)));
+
+        assertEquals(1, statistics.getQueryCacheHitCount());
+        assertTrue(meterRegistry.get("hibernate.cache.query.requests")
+            .tags("result", "hit")
+            .functionCounter()
+            .count() >= 1);
+    }
+
+    @Test
+    void testFindAllEmployeeDTO_whenPageRequestedAgain_thenServeFromQueryCacheUntilNextWrite() {
+        transaction.executeWithoutResult(status -> repository.save(newEmployee()));
+        final var page = PageRequest.of(0, 20);
+
+        transaction.executeWithoutResult(status -> repository.findAllEmployeeDTO(page));
+        transaction.executeWithoutResult(status -> repository.findAllEmployeeDTO(page));
+
+        assertEquals(1, statistics.getQueryCacheHitCount());
+        // Not the execution count, which includes the queries of the startup tasks running in the background
+        assertEquals(1, statistics.getQueryCachePutCount());
+
+        transaction.executeWithoutResult(status -> repository.save(newEmployee()));
+        final var afterWrite = transaction.execute(status -> repository.findAllEmployeeDTO(page));
+
+        assertEquals(2, afterWrite.size());
+        assertEquals(1, statistics.getQueryCacheHitCount());
+    }
+
+    private static Employee newEmployee() {
+        final var employee = Faker.createRandomEmployee();
+        employee.setId(null);
+        return employee;
+    }
+
+}
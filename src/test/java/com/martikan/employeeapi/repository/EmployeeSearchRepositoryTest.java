@@ -0,0 +1,111 @@
+package com.martikan.employeeapi.repository;
+
+import com.martikan.employeeapi.domain.Employee;
+import com.martikan.employeeapi.dto.EmployeeDTO;
+import com.martikan.employeeapi.dto.EmployeeSearchDTO;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE, properties = {
+    "spring.datasource.url=jdbc:h2:mem:repository-cache;MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE",
+    "spring.datasource.username=sa",
+    "spring.datasource.password=",
+    "spring.jpa.hibernate.ddl-auto=create-drop"
+})
+class EmployeeSearchRepositoryTest {
+
+    @Autowired
+    private EmployeeRepository repository;
+
+    @BeforeEach
+    void setup() {
+        repository.saveAll(List.of(
+            employee("john.smith@acme.com", "John", "Smith"),
+            employee("jo_doe@example.com", "Johanna", "Doe"),
+            employee("mary@acme.com", "Mary", "Johnson"),
+            employee("bojdan@example.com", "Bojdan", "Nowak")));
+    }
+
+    @AfterEach
+    void tearDown() {
+        repository.deleteAllInBatch();
+    }
+
+    @Test
+    void testSearchEmployees_whenFirstNamePrefixGiven_thenMatchCaseInsensitively() {
+        final var result = search(EmployeeSearchDTO.builder().firstNamePrefix("JOH").build());
+
+        assertEquals(List.of("jo_doe@example.com", "john.smith@acme.com"), emails(result.getContent()));
+    }
+
+    @Test
+    void testSearchEmployees_whenLastNamePrefixGiven_thenMatchLastNameOnly() {
+        final var result = search(EmployeeSearchDTO.builder().lastNamePrefix("john").build());
+
+        assertEquals(List.of("mary@acme.com"), emails(result.getContent()));
+    }
+
+    @Test
+    void testSearchEmployees_whenEmailDomainGiven_thenMatchDomainOnly() {
+        final var result = search(EmployeeSearchDTO.builder().emailDomain("ACME.com").build());
+
+        assertEquals(List.of("john.smith@acme.com", "mary@acme.com"), emails(result.getContent()));
+    }
+
+    @Test
+    void testSearchEmployees_whenContainsHasWildcards_thenMatchThemLiterally() {
+        final var result = search(EmployeeSearchDTO.builder().contains("o_d").build());
+
+        assertEquals(List.of("jo_doe@example.com"), emails(result.getContent()));
+    }
+
+    @Test
+    void testSearchEmployees_whenFiltersCombined_thenMatchAll() {
+        final var result = search(EmployeeSearchDTO.builder().firstNamePrefix("jo").emailDomain("acme.com").build());
+
+        assertEquals(List.of("john.smith@acme.com"), emails(result.getContent()));
+    }
+
+    @Test
+    void testSearchEmployees_whenMoreMatchesThanPageSize_thenTellWhetherNextSliceExists() {
+        final var search = EmployeeSearchDTO.builder().firstNamePrefix("jo").build();
+
+        final var first = repository.searchEmployees(search, PageRequest.of(0, 1));
+        final var second = repository.searchEmployees(search, PageRequest.of(1, 1));
+
+        assertEquals(1, first.getNumberOfElements());
+        assertTrue(first.hasNext());
+        assertEquals(1, second.getNumberOfElements());
+        assertFalse(second.hasNext());
+        assertNotEquals(first.getContent().get(0).getId(), second.getContent().get(0).getId());
+    }
+
+    private Slice<EmployeeDTO> search(final EmployeeSearchDTO search) {
+        return repository.searchEmployees(search, PageRequest.of(0, 20));
+    }
+
+    private static List<String> emails(final List<EmployeeDTO> employees) {
+        return employees.stream().map(EmployeeDTO::getEmail).sorted().toList();
+    }
+
+    private static Employee employee(final String email, final String firstName, final String lastName) {
+        final var employee = new Employee();
+        employee.setEmail(email);
+        employee.setFirstName(firstName);
+        employee.setLastName(lastName);
+        return employee;
+    }
+
+}
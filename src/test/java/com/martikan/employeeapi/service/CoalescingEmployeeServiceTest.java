@@ -0,0 +1,106 @@
+package com.martikan.employeeapi.service;
+
+import com.martikan.employeeapi.Faker;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import lombok.SneakyThrows;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Pageable;
+
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+
+import static org.awaitility.Awaitility.await;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class CoalescingEmployeeServiceTest {
+
+    @Mock
+    private EmployeeService delegate;
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+
+    @Test
+    @SneakyThrows
+    void testGetEmployeeById_whenRequestedConcurrently_thenQueryDelegateOnce() {
+        final var service = new CoalescingEmployeeService(delegate, registry);
+        final var employee = Faker.createRandomEmployeeDTO();
+        final var release = new CountDownLatch(1);
+        when(delegate.getEmployeeById(employee.getId())).thenAnswer(invocation -> {
+            release.await();
+            return employee;
+        });
+
+        final var executor = Executors.newFixedThreadPool(4);
+        try {
+            final var futures = List.of(
+                executor.submit(() -> service.getEmployeeById(employee.getId())),
+                executor.submit(() -> service.getEmployeeById(employee.getId())),
+                executor.submit(() -> service.getEmployeeById(employee.getId())),
+                executor.submit(() -> service.getEmployeeById(employee.getId())));
+            await().until(() -> registry.get("single.flight.coalesced").tag("name", "employee-by-id").counter()
+                .count() == 3);
+            release.countDown();
+
+            for (final var future : futures) {
+                assertSame(employee, future.get());
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        verify(delegate, times(1)).getEmployeeById(employee.getId());
+    }
+
+    @Test
+    @SneakyThrows
+    void testGetEmployeeById_whenUpdatedWhileReadInFlight_thenLaterReadQueriesAgain() {
+        final var service = new CoalescingEmployeeService(delegate, registry);
+        final var employee = Faker.createRandomEmployeeDTO();
+        final var updated = Faker.createRandomEmployeeDTO();
+        updated.setId(employee.getId());
+        final var started = new CountDownLatch(1);
+        final var release = new CountDownLatch(1);
+        when(delegate.getEmployeeById(employee.getId())).thenAnswer(invocation -> {
+            started.countDown();
+            release.await();
+            return employee;
+        }).thenReturn(updated);
+
+        final var executor = Executors.newSingleThreadExecutor();
+        try {
+            final var before = executor.submit(() -> service.getEmployeeById(employee.getId()));
+            started.await();
+            service.updateEmployee(updated);
+
+            assertSame(updated, service.getEmployeeById(employee.getId()));
+            release.countDown();
+            assertSame(employee, before.get());
+        } finally {
+            executor.shutdownNow();
+        }
+        verify(delegate, times(2)).getEmployeeById(employee.getId());
+    }
+
+    @Test
+    void testGetAllEmployees_whenDifferentPagesRequested_thenQueryDelegateForEach() {
+        final var service = new CoalescingEmployeeService(delegate, registry);
+        final var first = Pageable.ofSize(20);
+        final var second = first.next();
+        when(delegate.getAllEmployees(first)).thenReturn(List.of(Faker.createRandomEmployeeDTO()));
+        when(delegate.getAllEmployees(second)).thenReturn(List.of());
+
+        assertEquals(1, service.getAllEmployees(first).size());
+        assertEquals(0, service.getAllEmployees(second).size());
+        verify(delegate, times(1)).getAllEmployees(first);
+        verify(delegate, times(1)).getAllEmployees(second);
+    }
+
+}
@@ -0,0 +1,104 @@
+package com.martikan.employeeapi.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.martikan.employeeapi.Faker;
+import com.martikan.employeeapi.config.OutboxProperties;
+import com.martikan.employeeapi.dto.EmployeeDTO;
+import lombok.SneakyThrows;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class EmployeeChangeConsumerTest {
+
+    private static final String TOPIC = "employee-changes";
+
+    private final ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+
+    private final List<EmployeeChangedEvent> received = new ArrayList<>();
+
+    private final EmployeeChangeConsumer consumer =
+        new EmployeeChangeConsumer(objectMapper, List.of(received::add), new OutboxProperties());
+
+    @Test
+    void testOnRecord_whenEventsRelayed_thenPassThemOnInOrder() {
+        final var employee = Faker.createRandomEmployeeDTO();
+        final var created = EmployeeChangedEvent.created(employee, Instant.now());
+        final var deleted = EmployeeChangedEvent.deleted(employee, Instant.now());
+
+        consumer.onRecord(record(0, 1, created));
+        consumer.onRecord(record(0, 2, deleted));
+
+        assertEquals(List.of(created, deleted), received);
+    }
+
+    @Test
+    void testOnRecord_whenEventSentAgainOrTombstoneOrSnapshot_thenSkipIt() {
+        final var employee = Faker.createRandomEmployeeDTO();
+        employee.setVersion(0L);
+        final var created = EmployeeChangedEvent.created(employee, Instant.now());
+        final var deleted = EmployeeChangedEvent.deleted(employee, Instant.now());
+
+        consumer.onRecord(record(0, 1, created));
+        consumer.onRecord(record(0, 2, deleted));
+        // The relay sends a batch again when Kafka did not acknowledge all of it.
+        consumer.onRecord(record(0, 1, created));
+        consumer.onRecord(record(0, 2, deleted));
+        consumer.onRecord(new ConsumerRecord<>(TOPIC, 0, 4, employee.getId().toString(), null));
+        consumer.onRecord(record(1, 5, EmployeeChangedEvent.snapshot(Faker.createRandomEmployeeDTO(), Instant.now())));
+
+        assertEquals(List.of(created, deleted), received);
+    }
+
+    @Test
+    void testOnRecord_whenEventsCommittedOutOfIdOrder_thenPassOnBoth() {
+        final var first = Faker.createRandomEmployeeDTO();
+        first.setVersion(3L);
+        final var second = Faker.createRandomEmployeeDTO();
+        second.setVersion(0L);
+        final var updated = EmployeeChangedEvent.updated(first, first, Instant.now());
+        final var created = EmployeeChangedEvent.created(second, Instant.now());
+
+        // The transaction that got id 8 committed before the one that got id 7, so the relay sent 8 first.
+        consumer.onRecord(record(0, 8, created));
+        consumer.onRecord(record(0, 7, updated));
+
+        assertEquals(List.of(created, updated), received);
+    }
+
+    @Test
+    void testOnRecord_whenOlderVersionOfEmployeeGiven_thenSkipIt() {
+        final var employee = Faker.createRandomEmployeeDTO();
+        employee.setVersion(1L);
+        final var previous = EmployeeDTO.builder()
+            .id(employee.getId())
+            .email(employee.getEmail())
+            .firstName(employee.getFirstName())
+            .lastName(employee.getLastName())
+            .version(0L)
+            .build();
+        final var updated = EmployeeChangedEvent.updated(employee, previous, Instant.now());
+
+        consumer.onRecord(record(0, 2, updated));
+        consumer.onRecord(record(0, 1, EmployeeChangedEvent.created(previous, Instant.now())));
+
+        assertEquals(List.of(updated), received);
+    }
+
+    @SneakyThrows
+    private ConsumerRecord<String, byte[]> record(final int partition, final long eventId,
+                                                  final EmployeeChangedEvent event) {
+        final var record = new ConsumerRecord<>(TOPIC, partition, eventId, event.id().toString(),
+            objectMapper.writeValueAsBytes(event));
+        record.headers().add(EmployeeOutboxRelay.EVENT_ID_HEADER,
+            Long.toString(eventId).getBytes(StandardCharsets.UTF_8));
+        return record;
+    }
+
+}
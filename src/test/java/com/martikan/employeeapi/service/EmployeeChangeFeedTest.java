@@ -0,0 +1,279 @@
+package com.martikan.employeeapi.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.martikan.employeeapi.Faker;
+import com.martikan.employeeapi.config.ChangeFeedProperties;
+import com.martikan.employeeapi.dto.CursorPage;
+import com.martikan.employeeapi.dto.EmployeeChangeDTO;
+import com.martikan.employeeapi.exception.GoneException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+import static org.awaitility.Awaitility.await;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTimeoutPreemptively;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+class EmployeeChangeFeedTest {
+
+    private static final Pattern EVENT_ID = Pattern.compile("id:(\\S+)");
+
+    private final ChangeFeedProperties properties = new ChangeFeedProperties();
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private final ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+
+    private final EmployeeDeltaSync deltaSync = mock(EmployeeDeltaSync.class);
+
+    private Instant time = Instant.parse("2024-01-01T00:00:00Z");
+
+    @Test
+    void testOnEmployeeChanged_whenSubscribed_thenPushEventOnce() {
+        final var feed = feed(Runnable::run);
+        final var emitter = (RecordingEmitter) feed.subscribe(null);
+        final var employee = Faker.createRandomEmployeeDTO();
+
+        feed.onEmployeeChanged(EmployeeChangedEvent.created(employee, tick()));
+
+        assertEquals(1, emitter.sent.size());
+        assertTrue(emitter.sent.get(0).contains("event:created\n"));
+        assertTrue(emitter.sent.get(0).contains("\"email\":\"" + employee.getEmail() + "\""));
+    }
+
+    @Test
+    void testSubscribe_whenLastEventIdGiven_thenReplayMissedEventsBeforeNewOnes() {
+        final var feed = feed(Runnable::run);
+        final var first = (RecordingEmitter) feed.subscribe(null);
+        final var employee = Faker.createRandomEmployeeDTO();
+        feed.onEmployeeChanged(EmployeeChangedEvent.created(employee, tick()));
+        feed.onEmployeeChanged(EmployeeChangedEvent.updated(employee, employee, tick()));
+        feed.onEmployeeChanged(EmployeeChangedEvent.deleted(employee, tick()));
+
+        final var resumed = (RecordingEmitter) feed.subscribe(eventId(first.sent.get(0)));
+
+        assertEquals(List.of(eventId(first.sent.get(1)), eventId(first.sent.get(2))),
+            resumed.sent.stream().map(EmployeeChangeFeedTest::eventId).toList());
+        assertTrue(resumed.sent.get(1).contains("event:deleted\n"));
+    }
+
+    @Test
+    void testSubscribe_whenLastEventIdFromAnotherInstance_thenReplayFromOwnHistory() {
+        final var other = feed(Runnable::run);
+        final var feed = feed(Runnable::run);
+        final var first = (RecordingEmitter) other.subscribe(null);
+        for (int i = 0; i < 3; i++) {
+            final var event = EmployeeChangedEvent.created(Faker.createRandomEmployeeDTO(), tick());
+            other.onEmployeeChanged(event);
+            feed.onEmployeeChanged(event);
+        }
+
+        final var resumed = (RecordingEmitter) feed.subscribe(eventId(first.sent.get(0)));
+
+        assertEquals(List.of(eventId(first.sent.get(1)), eventId(first.sent.get(2))),
+            resumed.sent.stream().map(EmployeeChangeFeedTest::eventId).toList());
+        verifyNoInteractions(deltaSync);
+    }
+
+    @Test
+    void testSubscribe_whenLastEventIdEvicted_thenReplayChangesFromDatabaseThenNewerEvents() {
+        properties.setHistory(2);
+        final var feed = feed(Runnable::run);
+        final var first = (RecordingEmitter) feed.subscribe(null);
+        final var events = new ArrayList<EmployeeChangedEvent>();
+        for (int i = 0; i < 4; i++) {
+            events.add(EmployeeChangedEvent.created(Faker.createRandomEmployeeDTO(), tick()));
+            feed.onEmployeeChanged(events.get(i));
+        }
+        // The latest change is not settled yet, it is only in the history, the one before is in both.
+        when(deltaSync.getChanges(null, eventId(first.sent.get(0)), 2)).thenReturn(new CursorPage<>(List.of(
+            changeOf(events.get(1)), changeOf(events.get(2))), null));
+
+        final var resumed = (RecordingEmitter) feed.subscribe(eventId(first.sent.get(0)));
+
+        assertEquals(first.sent.subList(1, 4).stream().map(EmployeeChangeFeedTest::eventId).toList(),
+            resumed.sent.stream().map(EmployeeChangeFeedTest::eventId).toList());
+        assertTrue(resumed.sent.get(0).contains("event:updated\n"));
+        assertTrue(resumed.sent.get(2).contains("event:created\n"));
+    }
+
+    @Test
+    void testSubscribe_whenLastEventIdMalformedOrChangesGoneOrTooMany_thenSendReset() {
+        properties.setHistory(2);
+        final var feed = feed(Runnable::run);
+        final var first = (RecordingEmitter) feed.subscribe(null);
+        for (int i = 0; i < 4; i++) {
+            feed.onEmployeeChanged(EmployeeChangedEvent.created(Faker.createRandomEmployeeDTO(), tick()));
+        }
+        when(deltaSync.getChanges(null, eventId(first.sent.get(0)), 2)).thenThrow(new GoneException("gone"));
+        when(deltaSync.getChanges(null, eventId(first.sent.get(1)), 2)).thenReturn(new CursorPage<>(List.of(), "next"));
+
+        final var gone = (RecordingEmitter) feed.subscribe(eventId(first.sent.get(0)));
+        final var tooMany = (RecordingEmitter) feed.subscribe(eventId(first.sent.get(1)));
+        final var malformed = (RecordingEmitter) feed.subscribe("other-1");
+
+        for (final var emitter : List.of(gone, tooMany, malformed)) {
+            assertEquals(1, emitter.sent.size());
+            assertTrue(emitter.sent.get(0).contains("event:" + EmployeeChangeFeed.RESET_EVENT + "\n"));
+            assertEquals(eventId(first.sent.get(3)), eventId(emitter.sent.get(0)));
+        }
+    }
+
+    @Test
+    void testOnEmployeeChanged_whenSubscriberFallsBehind_thenDisconnectOnlyIt() {
+        properties.setSubscriberBuffer(2);
+        // Tasks are never run, as if the client had stopped reading.
+        final var stalled = new ArrayList<Runnable>();
+        final var feed = feed(stalled::add);
+        final var slow = (RecordingEmitter) feed.subscribe(null);
+
+        for (int i = 0; i < 3; i++) {
+            feed.onEmployeeChanged(EmployeeChangedEvent.created(Faker.createRandomEmployeeDTO(), tick()));
+        }
+
+        assertTrue(slow.completed);
+        assertEquals(0, feed.getSubscriberCount());
+        assertEquals(1.0, meterRegistry.get("employee.changes.disconnected").counter().count());
+        assertEquals(1, stalled.size());
+    }
+
+    @Test
+    void testHeartbeat_whenWriteStalledBeyondTimeout_thenDisconnectWithoutWaitingForIt() throws Exception {
+        properties.setWriteTimeout(Duration.ofMillis(1));
+        final var writing = new CountDownLatch(1);
+        final var release = new CountDownLatch(1);
+        final RecordingEmitter stalled = new RecordingEmitter() {
+            @Override
+            public synchronized void send(final Set<DataWithMediaType> items) {
+                writing.countDown();
+                // Holds the emitter like a write to a client that stopped reading.
+                awaitUninterruptibly(release);
+                super.send(items);
+            }
+        };
+        final var feed = feed(runnable -> new Thread(runnable).start(), stalled);
+        feed.subscribe(null);
+        feed.onEmployeeChanged(EmployeeChangedEvent.created(Faker.createRandomEmployeeDTO(), tick()));
+        assertTrue(writing.await(5, TimeUnit.SECONDS));
+        Thread.sleep(5);
+
+        assertTimeoutPreemptively(Duration.ofSeconds(5), feed::heartbeat);
+
+        assertEquals(0, feed.getSubscriberCount());
+        assertEquals(1.0, meterRegistry.get("employee.changes.disconnected").counter().count());
+        release.countDown();
+        await().atMost(Duration.ofSeconds(5)).until(stalled::isCompleted);
+        assertEquals(1, stalled.sent.size());
+    }
+
+    @Test
+    void testOnEmployeeChanged_whenExecutorRejectsWrite_thenDisconnectSubscriber() {
+        final var feed = feed(runnable -> {
+            throw new RejectedExecutionException("saturated");
+        });
+        final var emitter = (RecordingEmitter) feed.subscribe(null);
+
+        feed.onEmployeeChanged(EmployeeChangedEvent.created(Faker.createRandomEmployeeDTO(), tick()));
+
+        assertTrue(emitter.completed);
+        assertEquals(0, feed.getSubscriberCount());
+        assertEquals(1.0, meterRegistry.get("employee.changes.disconnected").counter().count());
+    }
+
+    @Test
+    void testHeartbeat_whenSubscribed_thenSendComment() {
+        final var feed = feed(Runnable::run);
+        final var emitter = (RecordingEmitter) feed.subscribe(null);
+
+        feed.heartbeat();
+
+        assertEquals(List.of(":heartbeat\n\n"), emitter.sent);
+        assertFalse(emitter.completed);
+    }
+
+    private EmployeeChangeFeed feed(final Executor executor) {
+        return new EmployeeChangeFeed(objectMapper, deltaSync, executor, properties, meterRegistry) {
+            @Override
+            SseEmitter createEmitter() {
+                return new RecordingEmitter();
+            }
+        };
+    }
+
+    private EmployeeChangeFeed feed(final Executor executor, final SseEmitter emitter) {
+        return new EmployeeChangeFeed(objectMapper, deltaSync, executor, properties, meterRegistry) {
+            @Override
+            SseEmitter createEmitter() {
+                return emitter;
+            }
+        };
+    }
+
+    private Instant tick() {
+        time = time.plusSeconds(1);
+        return time;
+    }
+
+    private static EmployeeChangeDTO changeOf(final EmployeeChangedEvent event) {
+        return EmployeeChangeDTO.builder()
+            .id(event.id())
+            .employee(event.employee())
+            .changedAt(event.changedAt())
+            .build();
+    }
+
+    private static void awaitUninterruptibly(final CountDownLatch latch) {
+        while (true) {
+            try {
+                latch.await();
+                return;
+            } catch (InterruptedException e) {
+                // Keeps blocking like a socket write.
+            }
+        }
+    }
+
+    private static String eventId(final String event) {
+        final var matcher = EVENT_ID.matcher(event);
+        return matcher.find() ? matcher.group(1) : null;
+    }
+
+    private static class RecordingEmitter extends SseEmitter {
+
+        private final List<String> sent = new ArrayList<>();
+
+        private boolean completed;
+
+        @Override
+        public synchronized void send(final Set<DataWithMediaType> items) {
+            sent.add(items.stream().map(item -> item.getData().toString()).collect(Collectors.joining()));
+        }
+
+        @Override
+        public synchronized void complete() {
+            completed = true;
+        }
+
+        synchronized boolean isCompleted() {
+            return completed;
+        }
+    }
+
+}
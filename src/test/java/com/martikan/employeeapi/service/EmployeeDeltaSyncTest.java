@@ -0,0 +1,143 @@
+package com.martikan.employeeapi.service;
+
+import com.martikan.employeeapi.domain.EmployeeTombstone;
+import com.martikan.employeeapi.dto.EmployeeChangeDTO;
+import com.martikan.employeeapi.dto.EmployeeDTO;
+import com.martikan.employeeapi.exception.GoneException;
+import com.martikan.employeeapi.repository.EmployeeRepository;
+import com.martikan.employeeapi.repository.EmployeeTombstoneRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE, properties = {
+    "spring.datasource.url=jdbc:h2:mem:delta-sync;MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE",
+    "spring.datasource.username=sa",
+    "spring.datasource.password=",
+    "spring.jpa.hibernate.ddl-auto=create-drop",
+    "employee-api.delta-sync.settle-time=PT0S",
+    "employee-api.delta-sync.purge-interval=PT1H"
+})
+class EmployeeDeltaSyncTest {
+
+    @Autowired
+    private EmployeeService employeeService;
+
+    @Autowired
+    private EmployeeRepository employeeRepository;
+
+    @Autowired
+    private EmployeeTombstoneRepository tombstoneRepository;
+
+    @Autowired
+    private EmployeeDeltaSync deltaSync;
+
+    @AfterEach
+    void tearDown() {
+        employeeRepository.deleteAllInBatch();
+        tombstoneRepository.deleteAllInBatch();
+    }
+
+    @Test
+    void testGetChanges_whenEmployeesWrittenAndDeleted_thenReturnLatestStatesAndTombstonesInOrder() {
+        final var since = Instant.now();
+        final var kept = save("kept@example.com");
+        final var deleted = save("deleted@example.com");
+        employeeService.updateEmployee(EmployeeDTO.builder()
+            .id(kept).email("kept@example.com").firstName("Kept").lastName("Renamed").build());
+        employeeService.deleteEmployeeById(deleted);
+
+        final var page = deltaSync.getChanges(since, null, 10);
+
+        assertNull(page.getNext());
+        assertEquals(2, page.getItems().size());
+        final var update = page.getItems().get(0);
+        assertEquals(kept, update.getId());
+        assertEquals("Renamed", update.getEmployee().getLastName());
+        assertEquals(1L, update.getEmployee().getVersion());
+        final var tombstone = page.getItems().get(1);
+        assertEquals(deleted, tombstone.getId());
+        assertNull(tombstone.getEmployee());
+        assertTrue(!tombstone.getChangedAt().isBefore(update.getChangedAt()));
+    }
+
+    @Test
+    void testGetChanges_whenMoreChangesThanPageSize_thenWalkAllPagesWithCursor() {
+        final var since = Instant.now();
+        final var ids = new ArrayList<UUID>();
+        for (int i = 0; i < 5; i++) {
+            ids.add(save("employee" + i + "@example.com"));
+        }
+        employeeService.deleteEmployeeById(ids.get(1));
+
+        final var seen = new ArrayList<EmployeeChangeDTO>();
+        var page = deltaSync.getChanges(since, null, 2);
+        seen.addAll(page.getItems());
+        while (page.getNext() != null) {
+            page = deltaSync.getChanges(since, page.getNext(), 2);
+            seen.addAll(page.getItems());
+        }
+
+        assertEquals(5, seen.size());
+        assertEquals(5, seen.stream().map(EmployeeChangeDTO::getId).distinct().count());
+        assertNull(seen.stream().filter(c -> c.getId().equals(ids.get(1))).findFirst().orElseThrow().getEmployee());
+        for (int i = 1; i < seen.size(); i++) {
+            assertTrue(!seen.get(i).getChangedAt().isBefore(seen.get(i - 1).getChangedAt()));
+        }
+    }
+
+    @Test
+    void testGetChanges_whenNothingChangedSince_thenReturnEmptyPage() {
+        save("before@example.com");
+
+        final var page = deltaSync.getChanges(Instant.now().plusSeconds(1), null, 10);
+
+        assertTrue(page.getItems().isEmpty());
+        assertNull(page.getNext());
+    }
+
+    @Test
+    void testGetChanges_whenChangedSinceIsOlderThanTombstoneRetention_thenThrowGoneException() {
+        final var since = Instant.now().minus(Duration.ofDays(31));
+
+        assertThrows(GoneException.class, () -> deltaSync.getChanges(since, null, 10));
+    }
+
+    @Test
+    void testPurgeTombstones_whenOlderThanRetention_thenDeleteOnlyThem() {
+        final var expired = new EmployeeTombstone();
+        expired.setId(UUID.randomUUID());
+        expired.setDeletedAt(Instant.now().minus(Duration.ofDays(31)));
+        final var recent = new EmployeeTombstone();
+        recent.setId(UUID.randomUUID());
+        recent.setDeletedAt(Instant.now());
+        tombstoneRepository.save(expired);
+        tombstoneRepository.save(recent);
+
+        deltaSync.purgeTombstones();
+
+        assertEquals(1, tombstoneRepository.count());
+        assertNotNull(tombstoneRepository.findById(recent.getId()).orElse(null));
+    }
+
+    private UUID save(final String email) {
+        employeeService.saveEmployee(EmployeeDTO.builder().email(email).firstName("First").lastName("Last").build());
+        return employeeRepository.findAll().stream()
+            .filter(e -> e.getEmail().equals(email))
+            .findFirst()
+            .orElseThrow()
+            .getId();
+    }
+}
@@ -0,0 +1,170 @@
+package com.martikan.employeeapi.service;
+
+import com.martikan.employeeapi.dto.BulkItemResultDTO;
+import com.martikan.employeeapi.dto.EmployeeDTO;
+import com.martikan.employeeapi.dto.ImportJobDTO;
+import com.martikan.employeeapi.exception.NotFoundException;
+import com.martikan.employeeapi.exception.ServiceUnavailableException;
+import lombok.SneakyThrows;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.core.task.support.TaskExecutorAdapter;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class EmployeeImportServiceTest {
+
+    @Mock
+    private EmployeeService employeeService;
+
+    @Spy
+    private AsyncTaskExecutor taskExecutor = new TaskExecutorAdapter(Runnable::run);
+
+    @InjectMocks
+    private EmployeeImportServiceImpl service;
+
+    @Test
+    void testStartImport_whenMixedRowsGiven_thenCommitValidRowsAndReportRejectedOnes() {
+        final var csv = """
+            email,firstName,lastName
+            john@example.com,John,Doe
+            broken@example.com,Broken
+            jane@example.com,Jane,Doe
+            """;
+        final var john = EmployeeDTO.builder().email("john@example.com").firstName("John").lastName("Doe").build();
+        final var jane = EmployeeDTO.builder().email("jane@example.com").firstName("Jane").lastName("Doe").build();
+        when(employeeService.saveEmployees(List.of(john, jane))).thenReturn(List.of(
+            BulkItemResultDTO.builder().index(0).id(UUID.randomUUID()).status(BulkItemResultDTO.Status.CREATED).build(),
+            BulkItemResultDTO.builder().index(1).status(BulkItemResultDTO.Status.REJECTED)
+                .message("Email is already exist").build()));
+
+        final var jobId = service.startImport(stream(csv)).getId();
+        final var job = service.getImportJob(jobId);
+
+        assertEquals(ImportJobDTO.Status.COMPLETED, job.getStatus());
+        assertEquals(3, job.getProcessedRows());
+        assertEquals(1, job.getCreatedRows());
+        assertEquals(2, job.getRejectedRows());
+        assertEquals(2, job.getErrors().size());
+        assertEquals(2, job.getErrors().get(0).getRow());
+        assertEquals("Expected 3 columns but found 2", job.getErrors().get(0).getMessage());
+        assertEquals(3, job.getErrors().get(1).getRow());
+        assertEquals("Email is already exist", job.getErrors().get(1).getMessage());
+    }
+
+    @Test
+    void testStartImport_whenMoreRowsThanChunkSizeGiven_thenCommitInChunks() {
+        final var csv = new StringBuilder("email,first_name,last_name\n");
+        IntStream.range(0, EmployeeImportServiceImpl.CHUNK_SIZE + 1)
+            .forEach(i -> csv.append("employee").append(i).append("@example.com,First,Last\n"));
+        when(employeeService.saveEmployees(anyList())).thenAnswer(invocation -> {
+            final List<EmployeeDTO> chunk = invocation.getArgument(0);
+            return IntStream.range(0, chunk.size())
+                .mapToObj(i -> BulkItemResultDTO.builder().index(i).status(BulkItemResultDTO.Status.CREATED).build())
+                .toList();
+        });
+
+        final var job = service.getImportJob(service.startImport(stream(csv.toString())).getId());
+
+        assertEquals(ImportJobDTO.Status.COMPLETED, job.getStatus());
+        assertEquals(EmployeeImportServiceImpl.CHUNK_SIZE + 1, job.getCreatedRows());
+        verify(employeeService, times(2)).saveEmployees(anyList());
+    }
+
+    @Test
+    void testStartImport_whenChunkRollsBack_thenRejectChunkRowsAndContinue() {
+        final var csv = """
+            email,firstName,lastName
+            john@example.com,John,Doe
+            """;
+        when(employeeService.saveEmployees(anyList())).thenThrow(new IllegalStateException("duplicate key"));
+
+        final var job = service.getImportJob(service.startImport(stream(csv)).getId());
+
+        assertEquals(ImportJobDTO.Status.COMPLETED, job.getStatus());
+        assertEquals(1, job.getRejectedRows());
+        assertEquals("Chunk has been rolled back: duplicate key", job.getErrors().get(0).getMessage());
+    }
+
+    @Test
+    void testStartImport_whenHeaderIsMissingColumns_thenFailJob() {
+        final var job = service.getImportJob(service.startImport(stream("email,name\njohn@example.com,John\n")).getId());
+
+        assertEquals(ImportJobDTO.Status.FAILED, job.getStatus());
+        assertEquals("The header must contain email, firstName and lastName columns", job.getMessage());
+        verifyNoInteractions(employeeService);
+    }
+
+    @Test
+    void testStartImport_whenTooManyJobsRunning_thenRejectUntilOneFinishes() {
+        final var queued = new ArrayList<Runnable>();
+        doAnswer(invocation -> queued.add(invocation.getArgument(0))).when(taskExecutor).execute(any(Runnable.class));
+        for (int i = 0; i < EmployeeImportServiceImpl.MAX_RETAINED_JOBS; i++) {
+            service.startImport(stream("email,firstName,lastName\n"));
+        }
+
+        assertThrows(ServiceUnavailableException.class,
+            () -> service.startImport(stream("email,firstName,lastName\n")));
+
+        queued.forEach(Runnable::run);
+        assertNotNull(service.startImport(stream("email,firstName,lastName\n")).getId());
+        queued.get(queued.size() - 1).run();
+    }
+
+    @Test
+    @SneakyThrows
+    void testStartImport_whenExecutorRejectsJob_thenDropJobAndDeleteFile() {
+        doThrow(new RejectedExecutionException("shutting down")).when(taskExecutor).execute(any(Runnable.class));
+        final var spooledBefore = countSpooledFiles();
+
+        assertThrows(RejectedExecutionException.class,
+            () -> service.startImport(stream("email,firstName,lastName\n")));
+
+        assertEquals(spooledBefore, countSpooledFiles());
+    }
+
+    @Test
+    void testGetImportJob_whenJobIsNotExist_thenThrowNotFoundException() {
+        final var jobId = UUID.randomUUID();
+
+        assertThrows(NotFoundException.class, () -> service.getImportJob(jobId));
+    }
+
+    private static ByteArrayInputStream stream(final String csv) {
+        return new ByteArrayInputStream(csv.getBytes(StandardCharsets.UTF_8));
+    }
+
+    @SneakyThrows
+    private static long countSpooledFiles() {
+        try (var files = Files.list(Path.of(System.getProperty("java.io.tmpdir")))) {
+            return files.filter(file -> file.getFileName().toString().startsWith("employee-import-")).count();
+        }
+    }
+
+}
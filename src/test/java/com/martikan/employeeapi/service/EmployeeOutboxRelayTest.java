@@ -0,0 +1,248 @@
+package com.martikan.employeeapi.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.martikan.employeeapi.EmployeeApiApplication;
+import com.martikan.employeeapi.config.OutboxProperties;
+import com.martikan.employeeapi.dto.EmployeeDTO;
+import com.martikan.employeeapi.mapper.EmployeeMapper;
+import com.martikan.employeeapi.repository.EmployeeRepository;
+import com.martikan.employeeapi.repository.OutboxEventRepository;
+import com.martikan.employeeapi.repository.OutboxSnapshotRepository;
+import lombok.SneakyThrows;
+import org.apache.kafka.clients.consumer.Consumer;
+import org.apache.kafka.common.serialization.StringDeserializer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.core.task.SyncTaskExecutor;
+import org.springframework.kafka.core.DefaultKafkaConsumerFactory;
+import org.springframework.kafka.test.EmbeddedKafkaBroker;
+import org.springframework.kafka.test.context.EmbeddedKafka;
+import org.springframework.kafka.test.utils.KafkaTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.StreamSupport;
+
+import static org.awaitility.Awaitility.await;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// The broker address is a system property that outlives the broker, as spring.kafka.bootstrap-servers it would put
+// the test contexts created later on Kafka.
+@EmbeddedKafka(partitions = 3, topics = "employee-changes", bootstrapServersProperty = "spring.embedded.kafka.brokers")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE, properties = {
+    "spring.kafka.bootstrap-servers=${spring.embedded.kafka.brokers}",
+    "spring.datasource.url=jdbc:h2:mem:outbox-relay;MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE",
+    "spring.datasource.username=sa",
+    "spring.datasource.password=",
+    "spring.jpa.hibernate.ddl-auto=create-drop",
+    // The tests relay the outbox themselves
+    "employee-api.outbox.poll-interval=PT1H"
+})
+class EmployeeOutboxRelayTest {
+
+    @Autowired
+    private EmbeddedKafkaBroker broker;
+
+    @Autowired
+    private EmployeeService employeeService;
+
+    @Autowired
+    private OutboxEventRepository outboxEventRepository;
+
+    @Autowired
+    private EmployeeOutboxRelay relay;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private EmployeeSuggestionService suggestionService;
+
+    @Autowired
+    private EmployeeRepository employeeRepository;
+
+    @Autowired
+    private OutboxSnapshotRepository outboxSnapshotRepository;
+
+    @Autowired
+    private EmployeeOutboxWriter outboxWriter;
+
+    @Autowired
+    private EmployeeMapper mapper;
+
+    private Consumer<String, String> consumer;
+
+    @BeforeEach
+    void setup() {
+        final var props = KafkaTestUtils.consumerProps("outbox-relay-" + UUID.randomUUID(), "false", broker);
+        consumer = new DefaultKafkaConsumerFactory<>(props, new StringDeserializer(), new StringDeserializer())
+            .createConsumer();
+        broker.consumeFromAnEmbeddedTopic(consumer, "employee-changes");
+    }
+
+    @AfterEach
+    void tearDown() {
+        consumer.close();
+    }
+
+    @Test
+    void testRelay_whenEmployeeWrittenThroughService_thenSendEventsInOrderKeyedByEmployeeId() {
+        employeeService.saveEmployee(EmployeeDTO.builder()
+            .email("john@acme.com").firstName("John").lastName("Doe").build());
+        final var id = outboxEventRepository.findAll().get(0).getEmployeeId();
+        employeeService.updateEmployee(EmployeeDTO.builder()
+            .id(id).email("john@acme.com").firstName("Johnny").lastName("Doe").build());
+        employeeService.deleteEmployeeById(id);
+        assertEquals(3, outboxEventRepository.count());
+
+        relay.relay();
+
+        final var records = StreamSupport.stream(
+                KafkaTestUtils.getRecords(consumer, Duration.ofSeconds(10), 4).spliterator(), false)
+            .filter(record -> record.key().equals(id.toString()))
+            .toList();
+        assertEquals(4, records.size());
+        // The delete is followed by a tombstone, which compaction needs to drop the employee from the topic.
+        assertNull(records.get(3).value());
+        assertEquals(0, records.get(3).headers().toArray().length);
+        assertEquals(List.of("CREATED", "UPDATED", "DELETED"), records.subList(0, 3).stream()
+            .map(record -> new String(record.headers().lastHeader(EmployeeOutboxRelay.EVENT_TYPE_HEADER).value(),
+                StandardCharsets.UTF_8))
+            .toList());
+        assertTrue(records.get(1).value().contains("\"firstName\":\"Johnny\""));
+        assertEquals(0, outboxEventRepository.count());
+    }
+
+    @Test
+    void testRelay_whenEmployeeWrittenOnTwoInstances_thenSendEventsInCommitOrder() {
+        try (var other = startOtherInstance()) {
+            final var otherService = other.getBean(EmployeeService.class);
+            employeeService.saveEmployee(EmployeeDTO.builder()
+                .email("mary@acme.com").firstName("Mary").lastName("Doe").build());
+            final var id = outboxEventRepository.findAll().get(0).getEmployeeId();
+            // Each instance writes twice, so both hold a block of ids if they are pooled.
+            employeeService.updateEmployee(EmployeeDTO.builder()
+                .id(id).email("mary@acme.com").firstName("Marie").lastName("Doe").build());
+            otherService.updateEmployee(EmployeeDTO.builder()
+                .id(id).email("mary@acme.com").firstName("Maria").lastName("Doe").build());
+            otherService.updateEmployee(EmployeeDTO.builder()
+                .id(id).email("mary@acme.com").firstName("Mariam").lastName("Doe").build());
+            employeeService.updateEmployee(EmployeeDTO.builder()
+                .id(id).email("mary@acme.com").firstName("Marion").lastName("Doe").build());
+
+            relay.relay();
+
+            final var records = StreamSupport.stream(
+                    KafkaTestUtils.getRecords(consumer, Duration.ofSeconds(10), 5).spliterator(), false)
+                .filter(record -> record.key().equals(id.toString()))
+                .toList();
+            assertEquals(List.of("Mary", "Marie", "Maria", "Mariam", "Marion"), records.stream()
+                .map(record -> firstNameOf(record.value()))
+                .toList());
+        }
+    }
+
+    @Test
+    void testRelay_whenEmployeeWrittenOnOtherInstance_thenFollowItInTypeahead() {
+        try (var other = startOtherInstance()) {
+            other.getBean(EmployeeService.class).saveEmployee(EmployeeDTO.builder()
+                .email("zelda@acme.com").firstName("Zelda").lastName("Doe").build());
+
+            relay.relay();
+
+            await().atMost(Duration.ofSeconds(10)).untilAsserted(() -> assertEquals(List.of("zelda@acme.com"),
+                suggestionService.suggestEmployees("zel", 10).stream().map(EmployeeDTO::getEmail).toList()));
+        }
+    }
+
+    @Test
+    void testSnapshot_whenRunTwiceAndRelayed_thenSendEveryEmployeeOnceAndComplete() {
+        final var ids = List.of("ann@acme.com", "bob@acme.com", "cid@acme.com").stream()
+            .map(email -> {
+                employeeService.saveEmployee(EmployeeDTO.builder()
+                    .email(email).firstName("First").lastName("Last").build());
+                return employeeRepository.findAll().stream()
+                    .filter(employee -> employee.getEmail().equals(email))
+                    .findFirst().orElseThrow().getId().toString();
+            })
+            .toList();
+        relay.relay();
+        final var properties = new OutboxProperties();
+        // Smaller than the table, so the snapshot takes several batches.
+        properties.setBatchSize(2);
+        final var snapshot = new EmployeeViewSnapshot(employeeRepository, outboxEventRepository,
+            outboxSnapshotRepository, outboxWriter, mapper, transactionManager, new SyncTaskExecutor(), properties);
+
+        snapshot.run();
+        snapshot.run();
+
+        assertFalse(snapshot.isCompleted());
+        relay.relay();
+        assertTrue(snapshot.isCompleted());
+        final var snapshotted = new ArrayList<String>();
+        await().atMost(Duration.ofSeconds(10)).untilAsserted(() -> {
+            KafkaTestUtils.getRecords(consumer, Duration.ofMillis(500)).forEach(record -> {
+                if (record.value() != null && ids.contains(record.key()) && "SNAPSHOT".equals(new String(
+                    record.headers().lastHeader(EmployeeOutboxRelay.EVENT_TYPE_HEADER).value(),
+                    StandardCharsets.UTF_8))) {
+                    snapshotted.add(record.key());
+                }
+            });
+            assertEquals(ids.stream().sorted().toList(), snapshotted.stream().sorted().toList());
+        });
+    }
+
+    @Test
+    void testSaveEmployee_whenTransactionRolledBack_thenWriteNoEvent() {
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            employeeService.saveEmployee(EmployeeDTO.builder()
+                .email("jane@acme.com").firstName("Jane").lastName("Doe").build());
+            assertEquals(1, outboxEventRepository.count());
+            status.setRollbackOnly();
+        });
+
+        assertEquals(0, outboxEventRepository.count());
+    }
+
+    // A second instance on the same database and broker, with its own id generators.
+    private ConfigurableApplicationContext startOtherInstance() {
+        return new SpringApplicationBuilder(EmployeeApiApplication.class)
+            .web(WebApplicationType.NONE)
+            // Arguments, not default properties, which application.yml would override
+            .run(
+                "--spring.datasource.url=jdbc:h2:mem:outbox-relay;MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE",
+                "--spring.datasource.username=sa",
+                "--spring.datasource.password=",
+                "--spring.jpa.hibernate.ddl-auto=none",
+                // The JCache regions of Hibernate are shared by the JVM, closing them would break this instance
+                "--spring.jpa.properties.hibernate.cache.use_second_level_cache=false",
+                "--spring.jpa.properties.hibernate.cache.use_query_cache=false",
+                "--spring.jpa.properties.hibernate.cache.region.factory_class="
+                    + "org.hibernate.cache.internal.NoCachingRegionFactory",
+                "--spring.kafka.bootstrap-servers=" + broker.getBrokersAsString(),
+                "--employee-api.outbox.poll-interval=PT1H");
+    }
+
+    @SneakyThrows
+    private String firstNameOf(final String payload) {
+        return objectMapper.readTree(payload).get("employee").get("firstName").asText();
+    }
+
+}
@@ -0,0 +1,109 @@
+package com.martikan.employeeapi.service;
+
+import com.martikan.employeeapi.Faker;
+import com.martikan.employeeapi.config.CacheConfig;
+import com.martikan.employeeapi.dto.EmployeeDTO;
+import com.martikan.employeeapi.mapper.EmployeeMapper;
+import com.martikan.employeeapi.repository.EmployeeRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.EntityManager;
+import jakarta.validation.Validator;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.actuate.autoconfigure.metrics.CompositeMeterRegistryAutoConfiguration;
+import org.springframework.boot.actuate.autoconfigure.metrics.MetricsAutoConfiguration;
+import org.springframework.boot.actuate.autoconfigure.metrics.cache.CacheMetricsAutoConfiguration;
+import org.springframework.boot.actuate.autoconfigure.metrics.export.simple.SimpleMetricsExportAutoConfiguration;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.test.annotation.DirtiesContext;
+
+import java.time.Instant;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@DirtiesContext
+@ImportAutoConfiguration({
+    MetricsAutoConfiguration.class,
+    CompositeMeterRegistryAutoConfiguration.class,
+    SimpleMetricsExportAutoConfiguration.class,
+    CacheMetricsAutoConfiguration.class
+})
+@SpringBootTest(classes = {CacheConfig.class, EmployeeServiceImpl.class})
+class EmployeeServiceCacheTest {
+
+    @MockBean
+    private EmployeeRepository repository;
+
+    @MockBean
+    private EmployeeMapper mapper;
+
+    @MockBean
+    private EntityManager entityManager;
+
+    @MockBean
+    private Validator validator;
+
+    @Autowired
+    private EmployeeService service;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Test
+    void testGetEmployeeById_whenCalledTwice_thenHitDatabaseOnceAndRecordHit() {
+        final var employee = Faker.createRandomEmployee();
+        final var employeeDTO = EmployeeDTO.builder().id(employee.getId()).build();
+        when(repository.findEmployeeDTOById(employee.getId())).thenReturn(Optional.of(employeeDTO));
+
+        assertEquals(employeeDTO, service.getEmployeeById(employee.getId()));
+        assertEquals(employeeDTO, service.getEmployeeById(employee.getId()));
+
+        verify(repository, times(1)).findEmployeeDTOById(employee.getId());
+        assertEquals(1.0, meterRegistry.get("cache.gets")
+            .tags("cache", CacheConfig.EMPLOYEES_CACHE, "result", "hit")
+            .functionCounter()
+            .count());
+    }
+
+    @Test
+    void testGetEmployeeById_whenDeletedInBetween_thenHitDatabaseAgain() {
+        final var employee = Faker.createRandomEmployee();
+        final var employeeDTO = EmployeeDTO.builder().id(employee.getId()).build();
+        when(repository.findEmployeeDTOById(employee.getId())).thenReturn(Optional.of(employeeDTO));
+
+        when(repository.deleteEmployeeById(employee.getId(), null))
+            .thenReturn(Optional.of(EmployeeDTO.builder().id(employee.getId()).version(0L).build()));
+
+        service.getEmployeeById(employee.getId());
+        service.deleteEmployeeById(employee.getId());
+        service.getEmployeeById(employee.getId());
+
+        verify(repository, times(2)).findEmployeeDTOById(employee.getId());
+    }
+
+    @Test
+    void testGetEmployeeById_whenUpdatedInBetween_thenHitDatabaseAgain() {
+        final var employee = Faker.createRandomEmployee();
+        final var employeeDTO = EmployeeDTO.builder().id(employee.getId()).build();
+        when(repository.findEmployeeDTOById(employee.getId())).thenReturn(Optional.of(employeeDTO));
+
+        when(repository.updateEmployee(eq(employee.getId()), isNull(), any(), any(), any(), any(Instant.class)))
+            .thenReturn(Optional.of(EmployeeDTO.builder().id(employee.getId()).version(0L).build()));
+
+        service.getEmployeeById(employee.getId());
+        service.updateEmployee(employeeDTO);
+        service.getEmployeeById(employee.getId());
+
+        verify(repository, times(2)).findEmployeeDTOById(employee.getId());
+    }
+
+}
@@ -1,28 +1,48 @@
 package com.martikan.employeeapi.service;
 
 import com.martikan.employeeapi.Faker;
+import com.martikan.employeeapi.common.KeysetCursor;
 import com.martikan.employeeapi.domain.Employee;
+import com.martikan.employeeapi.dto.BulkItemResultDTO;
 import com.martikan.employeeapi.dto.EmployeeDTO;
+import com.martikan.employeeapi.dto.EmployeeSearchDTO;
 import com.martikan.employeeapi.exception.BadRequestException;
 import com.martikan.employeeapi.exception.NotFoundException;
+import com.martikan.employeeapi.exception.PreconditionFailedException;
 import com.martikan.employeeapi.mapper.EmployeeMapper;
 import com.martikan.employeeapi.repository.EmployeeRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.validation.Validation;
+import jakarta.validation.Validator;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.SliceImpl;
 
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
 import java.util.stream.Stream;
 
 import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
 import static org.mockito.Mockito.doNothing;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
@@ -40,30 +60,24 @@ class EmployeeServiceTest {
     @Mock
     private EmployeeMapper mapper;
 
+    @Mock
+    private EntityManager entityManager;
+
+    @Spy
+    private Validator validator = Validation.buildDefaultValidatorFactory().getValidator();
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
     @InjectMocks
     private EmployeeServiceImpl service;
 
     @Test
     void testGetAllEmployees_whenPageableGiven_thenReturnListOfDTOs() {
         final var pageable = Pageable.ofSize(20);
-        final var emp1 = Faker.createRandomEmployee();
-        final var emp2 = Faker.createRandomEmployee();
-        final var empDTO1 = EmployeeDTO.builder()
-            .id(emp1.getId())
-            .email(emp1.getEmail())
-            .firstName(emp1.getFirstName())
-            .lastName(emp1.getLastName())
-            .build();
-        final var empDTO2 = EmployeeDTO.builder()
-            .id(emp2.getId())
-            .email(emp2.getEmail())
-            .firstName(emp2.getFirstName())
-            .lastName(emp2.getLastName())
-            .build();
-        final var employees = Stream.of(emp1, emp2);
-        when(repository.findAllEmployee(any(Pageable.class))).thenReturn(employees);
-        when(mapper.toDTO(emp1)).thenReturn(empDTO1);
-        when(mapper.toDTO(emp2)).thenReturn(empDTO2);
+        final var empDTO1 = Faker.createRandomEmployeeDTO();
+        final var empDTO2 = Faker.createRandomEmployeeDTO();
+        when(repository.findAllEmployeeDTO(pageable)).thenReturn(List.of(empDTO1, empDTO2));
 
         final var actualDTOs = service.getAllEmployees(pageable);
 
@@ -71,59 +85,121 @@ class EmployeeServiceTest {
         assertEquals(2, actualDTOs.size());
         assertEquals(empDTO1, actualDTOs.get(0));
         assertEquals(empDTO2, actualDTOs.get(1));
-        verify(repository, times(1)).findAllEmployee(any(Pageable.class));
-        verify(mapper, times(2)).toDTO(any(Employee.class));
+        verify(repository, times(1)).findAllEmployeeDTO(pageable);
         verifyNoMoreInteractions(repository);
-        verifyNoMoreInteractions(mapper);
+        verifyNoInteractions(mapper);
     }
 
     @Test
     void testGetAllEmployees_whenNoData_thenReturnEmptyList() {
         final var pageable = Pageable.ofSize(20);
-        when(repository.findAllEmployee(any(Pageable.class))).thenReturn(Stream.empty());
+        when(repository.findAllEmployeeDTO(pageable)).thenReturn(List.of());
 
         final var actualDTOs = service.getAllEmployees(pageable);
 
         assertNotNull(actualDTOs);
         assertEquals(0, actualDTOs.size());
-        verify(repository, times(1)).findAllEmployee(any(Pageable.class));
+        verify(repository, times(1)).findAllEmployeeDTO(pageable);
         verifyNoInteractions(mapper);
         verifyNoMoreInteractions(repository);
     }
 
     @Test
-    void testGetEmployeeById_whenIdGiven_thenReturnDTO() {
+    void testGetAllEmployeesByCursor_whenEmptyCursorAndMoreDataGiven_thenReturnFirstPageWithNextCursor() {
+        final var empDTO1 = Faker.createRandomEmployeeDTO();
+        final var empDTO2 = Faker.createRandomEmployeeDTO();
+        when(repository.findFirstEmployeeDTOs(Limit.of(2))).thenReturn(List.of(empDTO1, empDTO2));
+
+        final var actualPage = service.getAllEmployees("", 1);
+
+        assertNotNull(actualPage);
+        assertEquals(1, actualPage.getItems().size());
+        assertEquals(empDTO1, actualPage.getItems().get(0));
+        assertEquals(KeysetCursor.encode(empDTO1.getId()), actualPage.getNext());
+        verify(repository, times(1)).findFirstEmployeeDTOs(Limit.of(2));
+        verifyNoMoreInteractions(repository);
+    }
+
+    @Test
+    void testGetAllEmployeesByCursor_whenCursorGivenOnLastPage_thenReturnPageWithoutNextCursor() {
+        final var after = UUID.randomUUID();
+        final var empDTO1 = Faker.createRandomEmployeeDTO();
+        when(repository.findEmployeeDTOsAfter(after, Limit.of(3))).thenReturn(List.of(empDTO1));
+
+        final var actualPage = service.getAllEmployees(KeysetCursor.encode(after), 2);
+
+        assertNotNull(actualPage);
+        assertEquals(1, actualPage.getItems().size());
+        assertNull(actualPage.getNext());
+        verify(repository, times(1)).findEmployeeDTOsAfter(after, Limit.of(3));
+        verifyNoMoreInteractions(repository);
+    }
+
+    @Test
+    void testSearchEmployees_whenSearchGiven_thenReturnSliceOfRepository() {
+        final var search = EmployeeSearchDTO.builder().firstNamePrefix("jo").build();
+        final var pageable = Pageable.ofSize(20);
+        final var slice = new SliceImpl<>(List.of(Faker.createRandomEmployeeDTO()), pageable, true);
+        when(repository.searchEmployees(search, pageable)).thenReturn(slice);
+
+        final var actualSlice = service.searchEmployees(search, pageable);
+
+        assertEquals(slice, actualSlice);
+        verify(repository, times(1)).searchEmployees(search, pageable);
+        verifyNoMoreInteractions(repository);
+    }
+
+    @Test
+    void testGetAllEmployeesByCursor_whenInvalidCursorGiven_thenThrowBadRequestException() {
+        assertThrows(BadRequestException.class, () -> service.getAllEmployees("not-a-cursor", 20));
+        verifyNoInteractions(repository);
+        verifyNoInteractions(mapper);
+    }
+
+    @Test
+    void testExportEmployees_whenDataGiven_thenStreamDTOsAndDetachEntities() {
         final var emp1 = Faker.createRandomEmployee();
-        final var id = emp1.getId();
-        final var empDTO1 = EmployeeDTO.builder()
-            .id(id)
-            .email(emp1.getEmail())
-            .firstName(emp1.getFirstName())
-            .lastName(emp1.getLastName())
-            .build();
-        when(repository.findById(emp1.getId())).thenReturn(Optional.of(emp1));
+        final var emp2 = Faker.createRandomEmployee();
+        final var empDTO1 = EmployeeDTO.builder().id(emp1.getId()).build();
+        final var empDTO2 = EmployeeDTO.builder().id(emp2.getId()).build();
+        when(repository.findAllEmployee(Pageable.unpaged())).thenReturn(Stream.of(emp1, emp2));
         when(mapper.toDTO(emp1)).thenReturn(empDTO1);
+        when(mapper.toDTO(emp2)).thenReturn(empDTO2);
+        final var exported = new ArrayList<EmployeeDTO>();
+
+        service.exportEmployees(exported::add);
+
+        assertEquals(2, exported.size());
+        assertEquals(empDTO1, exported.get(0));
+        assertEquals(empDTO2, exported.get(1));
+        verify(entityManager, times(1)).detach(emp1);
+        verify(entityManager, times(1)).detach(emp2);
+        verify(repository, times(1)).findAllEmployee(Pageable.unpaged());
+        verifyNoMoreInteractions(repository);
+    }
+
+    @Test
+    void testGetEmployeeById_whenIdGiven_thenReturnDTO() {
+        final var empDTO1 = Faker.createRandomEmployeeDTO();
+        final var id = empDTO1.getId();
+        when(repository.findEmployeeDTOById(id)).thenReturn(Optional.of(empDTO1));
 
         final var actualDTO = service.getEmployeeById(id);
 
         assertNotNull(actualDTO);
-        assertEquals(emp1.getId(), actualDTO.getId());
-        assertEquals(emp1.getEmail(), actualDTO.getEmail());
-        assertEquals(emp1.getFirstName(), actualDTO.getFirstName());
-        assertEquals(emp1.getLastName(), actualDTO.getLastName());
-        verify(repository, times(1)).findById(id);
-        verify(mapper, times(1)).toDTO(emp1);
+        assertEquals(empDTO1, actualDTO);
+        verify(repository, times(1)).findEmployeeDTOById(id);
         verifyNoMoreInteractions(repository);
-        verifyNoMoreInteractions(mapper);
+        verifyNoInteractions(mapper);
     }
 
     @Test
     void testGetEmployeeById_whenIdIsNotExist_thenThrowNotFoundException() {
         final var id = UUID.randomUUID();
-        when(repository.findById(id)).thenReturn(Optional.empty());
+        when(repository.findEmployeeDTOById(id)).thenReturn(Optional.empty());
 
         assertThrows(NotFoundException.class, () -> service.getEmployeeById(id));
-        verify(repository, times(1)).findById(id);
+        verify(repository, times(1)).findEmployeeDTOById(id);
         verifyNoInteractions(mapper);
         verifyNoMoreInteractions(repository);
     }
@@ -131,34 +207,95 @@ class EmployeeServiceTest {
     @Test
     void testUpdateEmployee_whenValidDTOAndIdGiven_thenExecuteUpdate() {
         final var employeeDTOForUpdate = Faker.createRandomEmployeeDTO();
-        final var employeeForUpdate = new Employee();
-        employeeForUpdate.setId(employeeDTOForUpdate.getId());
-        employeeForUpdate.setEmail(employeeDTOForUpdate.getEmail());
-        employeeForUpdate.setFirstName(employeeDTOForUpdate.getFirstName());
-        employeeForUpdate.setLastName(employeeDTOForUpdate.getLastName());
-        when(mapper.updateEntity(employeeDTOForUpdate, employeeForUpdate)).thenReturn(employeeForUpdate);
-        when(repository.findById(employeeDTOForUpdate.getId())).thenReturn(Optional.of(employeeForUpdate));
-        when(repository.save(employeeForUpdate)).thenReturn(employeeForUpdate);
+        final var previous = previousOf(employeeDTOForUpdate.getId(), 2L);
+        when(repository.updateEmployee(eq(employeeDTOForUpdate.getId()), isNull(), eq(employeeDTOForUpdate.getEmail()),
+            eq(employeeDTOForUpdate.getFirstName()), eq(employeeDTOForUpdate.getLastName()), any(Instant.class))).thenReturn(Optional.of(previous));
 
         assertDoesNotThrow(() -> service.updateEmployee(employeeDTOForUpdate));
-        verify(mapper, times(1)).updateEntity(employeeDTOForUpdate, employeeForUpdate);
-        verify(repository, times(1)).findById(employeeDTOForUpdate.getId());
-        verify(repository, times(1)).save(employeeForUpdate);
+        verify(repository, times(1)).updateEmployee(eq(employeeDTOForUpdate.getId()), isNull(), eq(employeeDTOForUpdate.getEmail()),
+            eq(employeeDTOForUpdate.getFirstName()), eq(employeeDTOForUpdate.getLastName()), any(Instant.class));
+        employeeDTOForUpdate.setVersion(3L);
+        verify(eventPublisher, times(1)).publishEvent(changeOf(EmployeeChangedEvent.updated(employeeDTOForUpdate, previous,
+            null)));
         verifyNoMoreInteractions(repository);
-        verifyNoMoreInteractions(mapper);
+        verifyNoInteractions(mapper);
     }
 
     @Test
     void testUpdateEmployee_whenIdIsNotExist_thenThrowNotFoundException() {
         final var employeeDTOForUpdate = Faker.createRandomEmployeeDTO();
-        when(repository.findById(employeeDTOForUpdate.getId())).thenReturn(Optional.empty());
+        when(repository.updateEmployee(eq(employeeDTOForUpdate.getId()), isNull(), eq(employeeDTOForUpdate.getEmail()),
+            eq(employeeDTOForUpdate.getFirstName()), eq(employeeDTOForUpdate.getLastName()), any(Instant.class))).thenReturn(Optional.empty());
 
         assertThrows(NotFoundException.class, () -> service.updateEmployee(employeeDTOForUpdate));
-        verify(repository, times(1)).findById(employeeDTOForUpdate.getId());
+        verify(repository, times(1)).updateEmployee(eq(employeeDTOForUpdate.getId()), isNull(), eq(employeeDTOForUpdate.getEmail()),
+            eq(employeeDTOForUpdate.getFirstName()), eq(employeeDTOForUpdate.getLastName()), any(Instant.class));
         verifyNoInteractions(mapper);
+        verifyNoInteractions(eventPublisher);
         verifyNoMoreInteractions(repository);
     }
 
+    @Test
+    void testGetEmployeesByIds_whenIdsGiven_thenReturnFoundInRequestedOrderAndMissing() {
+        final var emp1 = Faker.createRandomEmployee();
+        final var emp2 = Faker.createRandomEmployee();
+        final var missingId = UUID.randomUUID();
+        final var empDTO1 = EmployeeDTO.builder().id(emp1.getId()).build();
+        final var empDTO2 = EmployeeDTO.builder().id(emp2.getId()).build();
+        when(repository.findAllById(List.of(emp2.getId(), missingId, emp1.getId()))).thenReturn(List.of(emp1, emp2));
+        when(mapper.toDTO(emp1)).thenReturn(empDTO1);
+        when(mapper.toDTO(emp2)).thenReturn(empDTO2);
+
+        final var result = service.getEmployeesByIds(List.of(emp2.getId(), missingId, emp1.getId(), emp2.getId()));
+
+        assertEquals(List.of(empDTO2, empDTO1), result.getFound());
+        assertEquals(List.of(missingId), result.getMissing());
+        verify(repository, times(1)).findAllById(anyList());
+        verifyNoMoreInteractions(repository);
+    }
+
+    @Test
+    void testUpdateEmployee_whenMatchingVersionGiven_thenExecuteUpdate() {
+        final var employeeDTOForUpdate = Faker.createRandomEmployeeDTO();
+        employeeDTOForUpdate.setVersion(2L);
+        final var previous = previousOf(employeeDTOForUpdate.getId(), 2L);
+        when(repository.updateEmployee(eq(employeeDTOForUpdate.getId()), eq(2L), eq(employeeDTOForUpdate.getEmail()),
+            eq(employeeDTOForUpdate.getFirstName()), eq(employeeDTOForUpdate.getLastName()), any(Instant.class))).thenReturn(Optional.of(previous));
+
+        assertDoesNotThrow(() -> service.updateEmployee(employeeDTOForUpdate));
+        verify(eventPublisher, times(1)).publishEvent(changeOf(EmployeeChangedEvent.updated(EmployeeDTO.builder()
+            .id(employeeDTOForUpdate.getId())
+            .email(employeeDTOForUpdate.getEmail())
+            .firstName(employeeDTOForUpdate.getFirstName())
+            .lastName(employeeDTOForUpdate.getLastName())
+            .version(3L)
+            .build(), previous, null)));
+    }
+
+    @Test
+    void testUpdateEmployee_whenStaleVersionGiven_thenThrowPreconditionFailedException() {
+        final var employeeDTOForUpdate = Faker.createRandomEmployeeDTO();
+        employeeDTOForUpdate.setVersion(1L);
+        when(repository.updateEmployee(eq(employeeDTOForUpdate.getId()), eq(1L), eq(employeeDTOForUpdate.getEmail()),
+            eq(employeeDTOForUpdate.getFirstName()), eq(employeeDTOForUpdate.getLastName()), any(Instant.class))).thenReturn(Optional.empty());
+        when(repository.existsById(employeeDTOForUpdate.getId())).thenReturn(true);
+
+        assertThrows(PreconditionFailedException.class, () -> service.updateEmployee(employeeDTOForUpdate));
+        verifyNoInteractions(eventPublisher);
+    }
+
+    @Test
+    void testUpdateEmployee_whenVersionGivenAndIdIsNotExist_thenThrowNotFoundException() {
+        final var employeeDTOForUpdate = Faker.createRandomEmployeeDTO();
+        employeeDTOForUpdate.setVersion(1L);
+        when(repository.updateEmployee(eq(employeeDTOForUpdate.getId()), eq(1L), eq(employeeDTOForUpdate.getEmail()),
+            eq(employeeDTOForUpdate.getFirstName()), eq(employeeDTOForUpdate.getLastName()), any(Instant.class))).thenReturn(Optional.empty());
+        when(repository.existsById(employeeDTOForUpdate.getId())).thenReturn(false);
+
+        assertThrows(NotFoundException.class, () -> service.updateEmployee(employeeDTOForUpdate));
+        verifyNoInteractions(eventPublisher);
+    }
+
     @Test
     void testSaveEmployee_whenValidDTOGiven_thenExecuteInsert() {
         final var employeeDTOForSave = Faker.createRandomEmployeeDTO();
@@ -175,11 +312,15 @@ class EmployeeServiceTest {
         when(mapper.toEntity(employeeDTOForSave)).thenReturn(employeeForSave);
         when(repository.existsEmployeeByEmail(employeeDTOForSave.getEmail())).thenReturn(false);
         when(repository.save(employeeForSave)).thenReturn(savedEmployee);
+        final var savedEmployeeDTO = EmployeeDTO.builder().id(savedEmployee.getId()).build();
+        when(mapper.toDTO(savedEmployee)).thenReturn(savedEmployeeDTO);
 
         assertDoesNotThrow(() -> service.saveEmployee(employeeDTOForSave));
         verify(repository, times(1)).existsEmployeeByEmail(employeeDTOForSave.getEmail());
         verify(repository, times(1)).save(employeeForSave);
         verify(mapper, times(1)).toEntity(employeeDTOForSave);
+        verify(mapper, times(1)).toDTO(savedEmployee);
+        verify(eventPublisher, times(1)).publishEvent(changeOf(EmployeeChangedEvent.created(savedEmployeeDTO, null)));
         verifyNoMoreInteractions(repository);
         verifyNoMoreInteractions(mapper);
     }
@@ -206,19 +347,84 @@ class EmployeeServiceTest {
         assertThrows(BadRequestException.class, () -> service.saveEmployee(employeeDTOForSave));
         verify(repository, times(1)).existsEmployeeByEmail(employeeDTOForSave.getEmail());
         verifyNoInteractions(mapper);
+        verifyNoInteractions(eventPublisher);
+        verifyNoMoreInteractions(repository);
+    }
+
+    @Test
+    void testSaveEmployees_whenMixedItemsGiven_thenInsertValidOnesAndRejectTheRest() {
+        final var valid = Faker.createRandomEmployeeDTO();
+        valid.setId(null);
+        final var withId = Faker.createRandomEmployeeDTO();
+        final var invalid = Faker.createRandomEmployeeDTO();
+        invalid.setId(null);
+        invalid.setEmail("not-an-email");
+        final var duplicateInRequest = Faker.createRandomEmployeeDTO();
+        duplicateInRequest.setId(null);
+        duplicateInRequest.setEmail(valid.getEmail());
+        final var existing = Faker.createRandomEmployeeDTO();
+        existing.setId(null);
+        final var employee = new Employee();
+        when(repository.findExistingEmails(List.of(valid.getEmail(), existing.getEmail())))
+            .thenReturn(Set.of(existing.getEmail()));
+        when(mapper.toEntity(valid)).thenReturn(employee);
+        when(repository.saveAll(anyList())).thenAnswer(invocation -> {
+            employee.setId(UUID.randomUUID());
+            return invocation.getArgument(0);
+        });
+        final var employeeDTO = EmployeeDTO.builder().email(valid.getEmail()).build();
+        when(mapper.toDTO(employee)).thenAnswer(invocation -> {
+            employeeDTO.setId(employee.getId());
+            return employeeDTO;
+        });
+
+        final var results = service.saveEmployees(List.of(valid, withId, invalid, duplicateInRequest, existing));
+
+        assertEquals(5, results.size());
+        assertEquals(BulkItemResultDTO.Status.CREATED, results.get(0).getStatus());
+        assertEquals(employee.getId(), results.get(0).getId());
+        assertEquals("Employee Id must be null for saving", results.get(1).getMessage());
+        assertEquals("email: must be a well-formed email address", results.get(2).getMessage());
+        assertEquals("Email is duplicated in the request", results.get(3).getMessage());
+        assertEquals("Email is already exist", results.get(4).getMessage());
+        for (int i = 1; i < results.size(); i++) {
+            assertEquals(i, results.get(i).getIndex());
+            assertEquals(BulkItemResultDTO.Status.REJECTED, results.get(i).getStatus());
+            assertNull(results.get(i).getId());
+        }
+        verify(repository, times(1)).findExistingEmails(anyList());
+        verify(repository, times(1)).saveAll(List.of(employee));
+        verify(entityManager, times(1)).flush();
+        verify(entityManager, times(1)).clear();
+        verify(eventPublisher, times(1)).publishEvent(changeOf(EmployeeChangedEvent.created(employeeDTO, null)));
+        verifyNoMoreInteractions(eventPublisher);
         verifyNoMoreInteractions(repository);
     }
 
+    @Test
+    void testSaveEmployees_whenAllItemsRejected_thenDoNotInsert() {
+        final var withId = Faker.createRandomEmployeeDTO();
+
+        final var results = service.saveEmployees(List.of(withId));
+
+        assertEquals(1, results.size());
+        assertEquals(BulkItemResultDTO.Status.REJECTED, results.get(0).getStatus());
+        verify(repository, never()).saveAll(anyList());
+        verifyNoInteractions(mapper);
+        verifyNoInteractions(entityManager);
+        verifyNoInteractions(eventPublisher);
+    }
+
     @Test
     void testDeleteEmployeeById_whenIdGiven_thenExecuteDelete() {
-        final var emp1 = Faker.createRandomEmployee();
-        final var id = emp1.getId();
-        when(repository.findById(id)).thenReturn(Optional.of(emp1));
-        doNothing().when(repository).deleteById(id);
+        final var id = UUID.randomUUID();
+        final var previous = previousOf(id, 0L);
+        when(repository.deleteEmployeeById(id, null)).thenReturn(Optional.of(previous));
 
         service.deleteEmployeeById(id);
 
-        verify(repository, times(1)).deleteById(id);
+        verify(repository, times(1)).deleteEmployeeById(id, null);
+        verify(eventPublisher, times(1)).publishEvent(changeOf(EmployeeChangedEvent.deleted(previous, null)));
         verifyNoInteractions(mapper);
         verifyNoMoreInteractions(repository);
     }
@@ -226,12 +432,35 @@ class EmployeeServiceTest {
     @Test
     void testDeleteEmployeeById_whenIdIsNotFound_thenThrowNotFoundException() {
         final var id = UUID.randomUUID();
-        when(repository.findById(id)).thenReturn(Optional.empty());
+        when(repository.deleteEmployeeById(id, null)).thenReturn(Optional.empty());
 
         assertThrows(NotFoundException.class, () -> service.deleteEmployeeById(id));
-        verify(repository, times(1)).findById(id);
-        verify(repository, never()).deleteById(id);
+        verify(repository, times(1)).deleteEmployeeById(id, null);
+        verifyNoInteractions(eventPublisher);
         verifyNoInteractions(mapper);
         verifyNoMoreInteractions(repository);
     }
-}
\ No newline at end of file
+
+    @Test
+    void testDeleteEmployeeByIdAndVersion_whenStaleVersionGiven_thenThrowPreconditionFailedException() {
+        final var id = UUID.randomUUID();
+        when(repository.deleteEmployeeById(id, 1L)).thenReturn(Optional.empty());
+        when(repository.existsById(id)).thenReturn(true);
+
+        assertThrows(PreconditionFailedException.class, () -> service.deleteEmployeeById(id, 1L));
+        verifyNoInteractions(eventPublisher);
+    }
+
+    // Matches the event whatever the time of the change, which the service takes itself.
+    private static EmployeeChangedEvent changeOf(final EmployeeChangedEvent expected) {
+        return argThat(event -> expected.equals(new EmployeeChangedEvent(event.type(), event.id(), event.employee(),
+            event.previous(), expected.changedAt())));
+    }
+
+    private static EmployeeDTO previousOf(final UUID id, final long version) {
+        final var previous = Faker.createRandomEmployeeDTO();
+        previous.setId(id);
+        previous.setVersion(version);
+        return previous;
+    }
+}
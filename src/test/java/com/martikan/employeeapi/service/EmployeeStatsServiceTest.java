@@ -0,0 +1,92 @@
+package com.martikan.employeeapi.service;
+
+import com.martikan.employeeapi.domain.Employee;
+import com.martikan.employeeapi.dto.EmployeeDTO;
+import com.martikan.employeeapi.repository.EmployeeRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE, properties = {
+    "spring.datasource.url=jdbc:h2:mem:repository-cache;MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE",
+    "spring.datasource.username=sa",
+    "spring.datasource.password=",
+    "spring.jpa.hibernate.ddl-auto=create-drop"
+})
+class EmployeeStatsServiceTest {
+
+    @Autowired
+    private EmployeeRepository repository;
+
+    @Autowired
+    private EmployeeService employeeService;
+
+    @Autowired
+    private EmployeeStatsServiceImpl statsService;
+
+    private Employee existing;
+
+    @BeforeEach
+    void setup() {
+        existing = new Employee();
+        existing.setEmail("john.smith@acme.com");
+        existing.setFirstName("John");
+        existing.setLastName("Smith");
+        existing = repository.save(existing);
+        statsService.reconcile();
+    }
+
+    @AfterEach
+    void tearDown() {
+        repository.deleteAllInBatch();
+        statsService.reconcile();
+    }
+
+    @Test
+    void testGetStats_whenEmployeesWrittenThroughService_thenMoveThemBetweenGroups() {
+        employeeService.saveEmployee(EmployeeDTO.builder()
+            .email("jane@Example.org").firstName("Jane").lastName("doe").build());
+        employeeService.updateEmployee(EmployeeDTO.builder()
+            .id(existing.getId()).email("john@example.org").firstName("John").lastName("Adams").build());
+
+        var stats = statsService.getStats();
+
+        assertEquals(2, stats.getTotal());
+        assertEquals(Map.of("example.org", 2L), stats.getByEmailDomain());
+        assertEquals(Map.of("A", 1L, "D", 1L), stats.getByLastNameInitial());
+
+        employeeService.deleteEmployeeById(existing.getId());
+        stats = statsService.getStats();
+
+        assertEquals(1, stats.getTotal());
+        assertEquals(Map.of("example.org", 1L), stats.getByEmailDomain());
+        assertEquals(Map.of("D", 1L), stats.getByLastNameInitial());
+    }
+
+    @Test
+    void testReconcile_whenTableChangedBehindService_thenRepairCountsFromDatabase() {
+        final var other = new Employee();
+        other.setEmail("jane.smith@acme.com");
+        other.setFirstName("Jane");
+        other.setLastName("Smith");
+        repository.save(other);
+
+        assertEquals(1, statsService.getStats().getTotal());
+
+        statsService.reconcile();
+        final var stats = statsService.getStats();
+
+        assertEquals(2, stats.getTotal());
+        assertEquals(Map.of("acme.com", 2L), stats.getByEmailDomain());
+        assertEquals(Map.of("S", 2L), stats.getByLastNameInitial());
+        assertNotNull(stats.getReconciledAt());
+    }
+
+}
@@ -0,0 +1,76 @@
+package com.martikan.employeeapi.service;
+
+import com.martikan.employeeapi.domain.Employee;
+import com.martikan.employeeapi.dto.EmployeeDTO;
+import com.martikan.employeeapi.repository.EmployeeRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE, properties = {
+    "spring.datasource.url=jdbc:h2:mem:repository-cache;MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE",
+    "spring.datasource.username=sa",
+    "spring.datasource.password=",
+    "spring.jpa.hibernate.ddl-auto=create-drop"
+})
+class EmployeeSuggestionServiceTest {
+
+    @Autowired
+    private EmployeeRepository repository;
+
+    @Autowired
+    private EmployeeService employeeService;
+
+    @Autowired
+    private EmployeeSuggestionServiceImpl suggestionService;
+
+    private Employee existing;
+
+    @BeforeEach
+    void setup() {
+        existing = new Employee();
+        existing.setEmail("john.smith@acme.com");
+        existing.setFirstName("John");
+        existing.setLastName("Smith");
+        existing = repository.save(existing);
+        suggestionService.reload();
+    }
+
+    @AfterEach
+    void tearDown() {
+        repository.deleteAllInBatch();
+        suggestionService.reload();
+    }
+
+    @Test
+    void testSuggestEmployees_whenIndexLoaded_thenServeExistingEmployees() {
+        final var suggestions = suggestionService.suggestEmployees("joh", 10);
+
+        assertEquals(List.of(existing.getId()), suggestions.stream().map(EmployeeDTO::getId).toList());
+    }
+
+    @Test
+    void testSuggestEmployees_whenEmployeesWrittenThroughService_thenFollowCommittedWrites() {
+        employeeService.saveEmployee(EmployeeDTO.builder()
+            .email("johanna@acme.com").firstName("Johanna").lastName("Doe").build());
+        employeeService.updateEmployee(EmployeeDTO.builder()
+            .id(existing.getId()).email("jack.smith@acme.com").firstName("Jack").lastName("Smith").build());
+
+        assertEquals(List.of("johanna@acme.com"),
+            suggestionService.suggestEmployees("joh", 10).stream().map(EmployeeDTO::getEmail).toList());
+        assertEquals(List.of("jack.smith@acme.com"),
+            suggestionService.suggestEmployees("jack", 10).stream().map(EmployeeDTO::getEmail).toList());
+
+        employeeService.deleteEmployeeById(existing.getId());
+
+        assertTrue(suggestionService.suggestEmployees("jack", 10).isEmpty());
+    }
+
+}
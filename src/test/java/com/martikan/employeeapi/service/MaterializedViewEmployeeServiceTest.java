@@ -0,0 +1,203 @@
+package com.martikan.employeeapi.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.martikan.employeeapi.common.KeysetCursor;
+import com.martikan.employeeapi.dto.EmployeeDTO;
+import org.apache.kafka.common.serialization.StringSerializer;
+import org.apache.kafka.streams.StreamsBuilder;
+import org.apache.kafka.streams.StreamsConfig;
+import org.apache.kafka.streams.TestInputTopic;
+import org.apache.kafka.streams.TopologyTestDriver;
+import org.apache.kafka.streams.state.ReadOnlyKeyValueStore;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.List;
+import java.util.Properties;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class MaterializedViewEmployeeServiceTest {
+
+    private static final String TOPIC = "employee-changes";
+
+    private final ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+
+    @Mock
+    private EmployeeService delegate;
+
+    @TempDir
+    private Path stateDir;
+
+    private TopologyTestDriver driver;
+
+    private TestInputTopic<String, String> changes;
+
+    private MaterializedViewEmployeeService service;
+
+    @BeforeEach
+    void setup() {
+        final var builder = new StreamsBuilder();
+        EmployeeViewTopology.addTo(builder, TOPIC, objectMapper);
+        final var props = new Properties();
+        props.put(StreamsConfig.APPLICATION_ID_CONFIG, "employee-view-test");
+        props.put(StreamsConfig.BOOTSTRAP_SERVERS_CONFIG, "localhost:9092");
+        props.put(StreamsConfig.STATE_DIR_CONFIG, stateDir.toString());
+        driver = new TopologyTestDriver(builder.build(), props);
+        changes = driver.createInputTopic(TOPIC, new StringSerializer(), new StringSerializer());
+        service = new MaterializedViewEmployeeService(delegate,
+            () -> driver.getKeyValueStore(EmployeeViewTopology.STORE), () -> true);
+    }
+
+    @AfterEach
+    void tearDown() {
+        driver.close();
+    }
+
+    @Test
+    void testGetEmployeeById_whenEmployeeChangedOnTopic_thenServeLatestStateFromStore() {
+        final var employee = employee(1, 0L);
+        publish(EmployeeChangedEvent.created(employee, Instant.now()));
+        final var updated = employee(1, 1L);
+        updated.setFirstName("Johnny");
+        publish(EmployeeChangedEvent.updated(updated, employee, Instant.now()));
+
+        assertEquals(updated, service.getEmployeeById(employee.getId()));
+        verifyNoInteractions(delegate);
+    }
+
+    @Test
+    void testGetEmployeeById_whenEmployeeDeletedOrMissingOrVersionless_thenDelegate() {
+        final var deleted = employee(1, 0L);
+        publish(EmployeeChangedEvent.created(deleted, Instant.now()));
+        publish(EmployeeChangedEvent.deleted(deleted, Instant.now()));
+        final var versionless = employee(2, null);
+        publish(EmployeeChangedEvent.updated(versionless, employee(2, 0L), Instant.now()));
+        final var missing = UUID.randomUUID();
+
+        service.getEmployeeById(deleted.getId());
+        service.getEmployeeById(missing);
+        final var fromDatabase = employee(2, 3L);
+        when(delegate.getEmployeeById(versionless.getId())).thenReturn(fromDatabase);
+
+        assertSame(fromDatabase, service.getEmployeeById(versionless.getId()));
+        verify(delegate).getEmployeeById(deleted.getId());
+        verify(delegate).getEmployeeById(missing);
+    }
+
+    @Test
+    void testGetAllEmployees_whenCursorGiven_thenPageInIdOrderSkippingDeletes() {
+        final var employees = List.of(employee(1, 0L), employee(2, 0L), employee(3, 0L), employee(4, 0L));
+        // Published out of order, the store sorts by id
+        publish(EmployeeChangedEvent.created(employees.get(3), Instant.now()));
+        publish(EmployeeChangedEvent.created(employees.get(1), Instant.now()));
+        publish(EmployeeChangedEvent.created(employees.get(0), Instant.now()));
+        publish(EmployeeChangedEvent.created(employees.get(2), Instant.now()));
+        publish(EmployeeChangedEvent.deleted(employees.get(1), Instant.now()));
+
+        final var first = service.getAllEmployees(null, 2);
+        final var second = service.getAllEmployees(first.getNext(), 2);
+
+        assertEquals(List.of(employees.get(0), employees.get(2)), first.getItems());
+        assertEquals(KeysetCursor.encode(employees.get(2).getId()), first.getNext());
+        assertEquals(List.of(employees.get(3)), second.getItems());
+        assertNull(second.getNext());
+        verifyNoInteractions(delegate);
+    }
+
+    @Test
+    void testGetAllEmployees_whenPageRequested_thenServeUnsortedPagesFromStoreAndDelegateSortedOnes() {
+        final var employees = List.of(employee(1, 0L), employee(2, 0L), employee(3, 0L));
+        employees.forEach(employee -> publish(EmployeeChangedEvent.created(employee, Instant.now())));
+        final var sorted = PageRequest.of(0, 2, Sort.by("email"));
+
+        assertEquals(List.of(employees.get(2)), service.getAllEmployees(PageRequest.of(1, 2)));
+        service.getAllEmployees(sorted);
+
+        verify(delegate).getAllEmployees(sorted);
+    }
+
+    @Test
+    void testGetAllEmployees_whenSnapshotNotCompleted_thenDelegate() {
+        final var employee = employee(1, 0L);
+        publish(EmployeeChangedEvent.snapshot(employee, Instant.now()));
+        service = new MaterializedViewEmployeeService(delegate,
+            () -> driver.getKeyValueStore(EmployeeViewTopology.STORE), () -> false);
+        final var page = PageRequest.of(0, 10);
+
+        service.getAllEmployees(page);
+        service.getAllEmployees("", 10);
+
+        assertEquals(employee, service.getEmployeeById(employee.getId()));
+        verify(delegate).getAllEmployees(page);
+        verify(delegate).getAllEmployees("", 10);
+    }
+
+    @Test
+    void testStore_whenDeleteFollowedByTombstone_thenRemoveEmployee() {
+        final var employee = employee(1, 0L);
+        publish(EmployeeChangedEvent.created(employee, Instant.now()));
+        publish(EmployeeChangedEvent.deleted(employee, Instant.now()));
+        final ReadOnlyKeyValueStore<String, EmployeeChangedEvent> store =
+            driver.getKeyValueStore(EmployeeViewTopology.STORE);
+
+        assertEquals(EmployeeChangedEvent.Type.DELETED, store.get(employee.getId().toString()).type());
+
+        changes.pipeInput(employee.getId().toString(), (String) null);
+
+        assertNull(store.get(employee.getId().toString()));
+        try (final var all = store.all()) {
+            assertFalse(all.hasNext());
+        }
+    }
+
+    @Test
+    void testGetEmployeeById_whenStoreNotQueryable_thenDelegate() {
+        final var id = UUID.randomUUID();
+        service = new MaterializedViewEmployeeService(delegate, () -> null, () -> true);
+
+        service.getEmployeeById(id);
+        service.getAllEmployees("", 10);
+
+        verify(delegate).getEmployeeById(id);
+        verify(delegate).getAllEmployees("", 10);
+    }
+
+    private void publish(final EmployeeChangedEvent event) {
+        try {
+            changes.pipeInput(event.id().toString(), objectMapper.writeValueAsString(event));
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    // Ids share a prefix and differ in the last digit, so their order is known.
+    private static EmployeeDTO employee(final int n, final Long version) {
+        return EmployeeDTO.builder()
+            .id(UUID.fromString("018f0000-0000-7000-8000-00000000000" + n))
+            .email("employee" + n + "@acme.com")
+            .firstName("First" + n)
+            .lastName("Last" + n)
+            .version(version)
+            .build();
+    }
+
+}